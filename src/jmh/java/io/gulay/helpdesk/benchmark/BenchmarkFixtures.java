@@ -0,0 +1,55 @@
+package io.gulay.helpdesk.benchmark;
+
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// Deterministic pages shaped like production rows: every other request is solved, so both the data and the
+// null branches of the nullable wrappers are exercised.
+final class BenchmarkFixtures {
+    private static final long CREATED = 1_700_000_000_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<IssueRequestModel> issueRequestModels(int count) {
+        val requester = IssueRequesterModel.builder().id(1).build();
+        val models = new ArrayList<IssueRequestModel>(count);
+        for (int i = 0; i < count; i++) {
+            models.add(IssueRequestModel
+                    .builder()
+                    .id(i + 1)
+                    .requester(requester)
+                    .body("Printer on floor " + i + " keeps jamming after the latest driver update.")
+                    .isSolved(i % 2 == 0)
+                    .created(new Date(CREATED + i))
+                    .solved(i % 2 == 0 ? new Date(CREATED + i + 60_000) : null)
+                    .build());
+        }
+
+        return models;
+    }
+
+    static List<IssueRequestRow> issueRequestRows(int count) {
+        return issueRequestModels(count)
+                .stream()
+                .map(IssueRequestRow::of)
+                .toList();
+    }
+
+    static GenericPagedModel<IssueRequestRow> pagedIssueRequestRows(int count) {
+        return GenericPagedModel.<IssueRequestRow>builder()
+                .totalElements(count * 10L)
+                .totalPages(10)
+                .numberOfElements(count)
+                .content(issueRequestRows(count))
+                .hasNext(true)
+                .build();
+    }
+}
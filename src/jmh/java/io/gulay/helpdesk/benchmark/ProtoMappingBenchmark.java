@@ -0,0 +1,64 @@
+package io.gulay.helpdesk.benchmark;
+
+import io.gulay.helpdesk.controller.util.ProtoMappers;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.protoGen.IssueRequest;
+import io.gulay.helpdesk.protoGen.IssueRequests;
+import io.gulay.helpdesk.protoGen.PagedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity/row -> protobuf mapping and PagedData assembly, as done by the controllers and gRPC services per page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtoMappingBenchmark {
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private List<IssueRequestModel> models;
+    private List<IssueRequestRow> rows;
+    private GenericPagedModel<IssueRequestRow> page;
+
+    @Setup
+    public void setup() {
+        models = BenchmarkFixtures.issueRequestModels(pageSize);
+        rows = BenchmarkFixtures.issueRequestRows(pageSize);
+        page = BenchmarkFixtures.pagedIssueRequestRows(pageSize);
+    }
+
+    @Benchmark
+    public List<IssueRequest> mapEntities() {
+        return models
+                .stream()
+                .map(ProtoMappers::mapIssueRequest)
+                .toList();
+    }
+
+    @Benchmark
+    public IssueRequests mapRows() {
+        return ProtoMappers.mapIssueRequests(rows);
+    }
+
+    @Benchmark
+    public PagedData assemblePagedData() {
+        return ProtoMappers.mapPagedIssueRequests(page);
+    }
+}
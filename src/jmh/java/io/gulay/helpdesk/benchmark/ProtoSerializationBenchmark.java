@@ -0,0 +1,101 @@
+package io.gulay.helpdesk.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.gulay.helpdesk.controller.util.ProtoMappers;
+import io.gulay.helpdesk.controller.util.ProtobufJsonSerializer;
+import io.gulay.helpdesk.protoGen.PagedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.exc.StreamWriteException;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Wire cost of one PagedData page: the binary Protobuf path against JSON printing, both bare and through the
+// Jackson serializer the HTTP layer registers for JSON responses. Run with -prof gc (the profile default) and
+// compare gc.alloc.rate.norm of the two Jackson variants for the allocation per response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtoSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private PagedData page;
+    private byte[] binary;
+    private JsonMapper jsonMapper;
+    private JsonMapper stringRenderingJsonMapper;
+
+    // The previous serializer, kept as the baseline: a new printer per message, the message rendered to a String
+    // and then copied into the generator with writeRawValue.
+    static class StringRenderingSerializer extends ValueSerializer<Message> {
+        @Override
+        public void serialize(Message message, JsonGenerator gen, SerializationContext context)
+                throws JacksonException {
+            try {
+                gen.writeRawValue(JsonFormat.printer().print(message));
+            } catch (InvalidProtocolBufferException ex) {
+                throw new StreamWriteException(gen, "Could not serialize Protobuf message", ex);
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        page = ProtoMappers.mapPagedIssueRequests(BenchmarkFixtures.pagedIssueRequestRows(pageSize));
+        binary = page.toByteArray();
+        jsonMapper = JsonMapper.builder()
+                .addModule(new SimpleModule().addSerializer(Message.class, new ProtobufJsonSerializer()))
+                .build();
+        stringRenderingJsonMapper = JsonMapper.builder()
+                .addModule(new SimpleModule().addSerializer(Message.class, new StringRenderingSerializer()))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeBinary() {
+        return page.toByteArray();
+    }
+
+    @Benchmark
+    public PagedData parseBinary() throws InvalidProtocolBufferException {
+        return PagedData.parseFrom(binary);
+    }
+
+    @Benchmark
+    public String printJson() throws InvalidProtocolBufferException {
+        return JsonFormat.printer().print(page);
+    }
+
+    // Both Jackson variants write to a discarding stream, as a response body would, so only the serializer's
+    // own buffers are measured.
+    @Benchmark
+    public void writeJsonThroughJackson() {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public void writeJsonThroughJacksonRenderingStrings() {
+        stringRenderingJsonMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
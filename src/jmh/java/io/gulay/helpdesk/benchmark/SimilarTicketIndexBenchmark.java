@@ -0,0 +1,129 @@
+package io.gulay.helpdesk.benchmark;
+
+import io.gulay.helpdesk.mcp.similar.HnswIndex;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// One similar-ticket lookup against n indexed tickets: the HNSW search at ef-search against the exact scan it
+// replaces. Vectors are random, which is the hard case for a graph index; real embeddings cluster by topic and
+// reach a higher recall at the same ef. The recall@10 of each configuration is printed during setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarTicketIndexBenchmark {
+    private static final int K = 10;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"64", "200"})
+    public int efSearch;
+
+    @Param({"256"})
+    public int dimensions;
+
+    private List<float[]> vectors;
+    private List<float[]> queries;
+    private HnswIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        val random = new Random(7);
+        vectors = randomVectors(random, size);
+        queries = randomVectors(random, 100);
+
+        index = new HnswIndex(dimensions, 16, 200);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add(i, vectors.get(i));
+        }
+
+        int found = 0;
+        for (val query : queries) {
+            val exact = new HashSet<>(exactSearch(query));
+            for (val hit : index.search(query, K, efSearch)) {
+                if (exact.contains(hit.label())) {
+                    found++;
+                }
+            }
+        }
+        System.out.printf("%nrecall@%d at size %d, ef-search %d: %.3f%n", K, size, efSearch,
+                (double) found / (queries.size() * K));
+    }
+
+    @Benchmark
+    public List<HnswIndex.Hit> hnswSearch() {
+        return index.search(nextQuery(), K, efSearch);
+    }
+
+    @Benchmark
+    public List<Integer> exactSearch() {
+        return exactSearch(nextQuery());
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % queries.size();
+        return queries.get(next);
+    }
+
+    private List<Integer> exactSearch(float[] query) {
+        val scores = new float[vectors.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = cosine(query, vectors.get(i));
+        }
+
+        return IntStream.range(0, scores.length)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -scores[i]))
+                .limit(K)
+                .toList();
+    }
+
+    private List<float[]> randomVectors(Random random, int count) {
+        val result = new ArrayList<float[]>(count);
+        for (int i = 0; i < count; i++) {
+            val vector = new float[dimensions];
+            for (int j = 0; j < dimensions; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            result.add(vector);
+        }
+
+        return result;
+    }
+
+    private static float cosine(float[] left, float[] right) {
+        float dot = 0;
+        float leftNorm = 0;
+        float rightNorm = 0;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+            leftNorm += left[i] * left[i];
+            rightNorm += right[i] * right[i];
+        }
+
+        return (float) (dot / Math.sqrt(leftNorm * rightNorm));
+    }
+}
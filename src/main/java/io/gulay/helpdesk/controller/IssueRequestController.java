@@ -1,40 +1,63 @@
 package io.gulay.helpdesk.controller;
 
-import com.google.protobuf.NullValue;
+import com.google.protobuf.util.JsonFormat;
 import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequestService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
-import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.protoGen.*;
 import io.gulay.helpdesk.data.util.SortDirection;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Collection;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Objects;
 
 import static io.gulay.helpdesk.controller.util.Parsers.*;
-import static java.util.stream.Collectors.toList;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.*;
+import static io.gulay.helpdesk.controller.util.Validators.expectedVersion;
+import static io.gulay.helpdesk.controller.util.Validators.okWithETag;
 
 @RestController
 @Slf4j
 public class IssueRequestController {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final JsonFormat.Printer EXPORT_PRINTER = JsonFormat.printer().omittingInsignificantWhitespace();
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     final IssueRequestService issueRequestService;
 
     final IssueRequesterService issueRequesterService;
 
+    final BulkWriteService bulkWriteService;
+
     @Autowired
     public IssueRequestController(IssueRequestService issueRequestService,
-                                  IssueRequesterService issueRequesterService) {
+                                  IssueRequesterService issueRequesterService,
+                                  BulkWriteService bulkWriteService) {
         this.issueRequestService = issueRequestService;
         this.issueRequesterService = issueRequesterService;
+        this.bulkWriteService = bulkWriteService;
     }
 
     @RequestMapping(value = {"/api/v1/issue-requests/{id}", "/v1/issue_requests/{id}"}, method = RequestMethod.GET)
@@ -48,7 +71,20 @@ public class IssueRequestController {
                 : issueRequestService.findById(tryParseInteger(id, "id")
                 , tryParseBoolean(issueRequestIsSolved, "issueRequestIsSolved"));
 
-        return ResponseEntity.ok(mapIssueRequest(issueRequest));
+        return okWithETag(mapIssueRequest(issueRequest), issueRequest.version());
+    }
+
+    // Full-text search over request and response bodies, best match first.
+    @RequestMapping(value = "/api/v1/issue-requests/search", method = RequestMethod.GET)
+    private ResponseEntity<PagedData> searchIssueRequests(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "true") boolean withTotals,
+            @RequestParam(defaultValue = "10") int pageSize) {
+        log.info("Calling: searchIssueRequests >> Query: {}", query);
+
+        return ResponseEntity.ok(mapPagedTicketSearchHits(
+                issueRequestService.searchTickets(query, pageNo, pageSize, withTotals)));
     }
 
     @RequestMapping(value = "/v1/issue_requests/find_all/{requesterId}", method = RequestMethod.GET)
@@ -57,6 +93,8 @@ public class IssueRequestController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -65,22 +103,32 @@ public class IssueRequestController {
                     .concat(" | Created Before: ").concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueRequestService
+            val result = Objects.isNull(cursor)
+                    ? issueRequestService
                     .findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requesterId, "requesterId"),
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequestService
+                    .scrollAllByRequesterIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requesterId, "requesterId"),
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequests(result));
         }
 
         log.info("Calling: getAllIssueRequestsByRequesterId >> Requester Id: ".concat(requesterId));
 
-        val result = issueRequestService
+        val result = Objects.isNull(cursor)
+                ? issueRequestService
                 .findAllByRequesterId(tryParseInteger(requesterId, "requesterId"), pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueRequestService
+                .scrollAllByRequesterId(tryParseInteger(requesterId, "requesterId"), cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequests(result));
     }
 
     @RequestMapping(value = {"/api/v1/issue-requests", "/v1/issue_requests/find_all"}, method = RequestMethod.GET)
@@ -88,6 +136,8 @@ public class IssueRequestController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -95,20 +145,78 @@ public class IssueRequestController {
             log.info("Calling: getAllIssueRequestsByCreatedBeforeAndCreatedAfter >> Created Before: ".concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueRequestService
+            val result = Objects.isNull(cursor)
+                    ? issueRequestService
                     .findAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequestService
+                    .scrollAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequests(result));
         }
 
         log.info("Calling: getAllIssueRequestsByCreatedBeforeAndCreatedAfter");
 
-        val result = issueRequestService
-                .findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val result = Objects.isNull(cursor)
+                ? issueRequestService
+                .findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : issueRequestService
+                .scrollAll(cursor, pageSize, sortBy, SortDirection.of(sortDir));
+
+        return ResponseEntity.ok(mapPagedIssueRequests(result));
+    }
+
+    // Writes straight to the servlet output stream on the request thread: an export can outlive the async request
+    // timeout, and rows are flushed as the buffer fills instead of being collected first.
+    // Accept: application/x-protobuf yields length-delimited IssueRequest messages, anything else NDJSON.
+    @RequestMapping(value = "/api/v1/issue-requests/export", method = RequestMethod.GET)
+    private void exportIssueRequests(
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "") String accept,
+            HttpServletResponse response) throws IOException {
+        log.info("Calling: exportIssueRequests >> Created Before: ".concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        val filtered = StringUtils.isNotBlank(createdBefore) && StringUtils.isNotBlank(createdAfter);
+        val before = filtered ? new Date(tryParseLong(createdBefore, "createdBefore")) : null;
+        val after = filtered ? new Date(tryParseLong(createdAfter, "createdAfter")) : null;
+        val protobuf = MediaType.parseMediaTypes(accept).stream().anyMatch(APPLICATION_PROTOBUF::isCompatibleWith);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType((protobuf ? APPLICATION_PROTOBUF : APPLICATION_NDJSON).toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        long exported;
+        if (protobuf) {
+            try (BufferedOutputStream output =
+                         new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)) {
+                exported = issueRequestService.exportAll(before, after, row -> {
+                    try {
+                        mapIssueRequest(row).writeDelimitedTo(output);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        } else {
+            try (BufferedWriter writer = new BufferedWriter(
+                    new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE)) {
+                exported = issueRequestService.exportAll(before, after, row -> {
+                    try {
+                        EXPORT_PRINTER.appendTo(mapIssueRequest(row), writer);
+                        writer.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        }
 
-        return ResponseEntity.ok(mapPaged(result));
+        log.info("Exported {} issue requests", exported);
     }
 
     @RequestMapping(value = "/v1/issue_requests/find_all_solved/{isSolved}", method = RequestMethod.GET)
@@ -117,6 +225,8 @@ public class IssueRequestController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -125,14 +235,21 @@ public class IssueRequestController {
                 .concat(" | Created After: ").concat(createdAfter)
                 .concat(" | Is Solved: ").concat(isSolved));
 
-        val result = issueRequestService
+        val result = Objects.isNull(cursor)
+                ? issueRequestService
                 .findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
                         new Date(tryParseLong(createdBefore, "createdBefore")),
                         new Date(tryParseLong(createdAfter, "createdAfter")),
                         tryParseBoolean(isSolved, "isSolved"),
-                        pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                        pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : issueRequestService
+                .scrollAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+                        new Date(tryParseLong(createdBefore, "createdBefore")),
+                        new Date(tryParseLong(createdAfter, "createdAfter")),
+                        tryParseBoolean(isSolved, "isSolved"),
+                        cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequests(result));
     }
 
     @RequestMapping(value = "/v1/issue_requests/find_all_solved", method = RequestMethod.GET)
@@ -140,19 +257,27 @@ public class IssueRequestController {
             @RequestParam(defaultValue = "") String solvedBefore,
             @RequestParam(defaultValue = "") String solvedAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "solved") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
         log.info("Calling: getAllIssueRequestsBySolvedBeforeAndSolvedAfter >> Solved Before: ".concat(solvedBefore)
                 .concat(" | Solved After: ").concat(solvedAfter));
 
-        val result = issueRequestService
+        val result = Objects.isNull(cursor)
+                ? issueRequestService
                 .findAllBySolvedBeforeAndSolvedAfter(
                         new Date(tryParseLong(solvedBefore, "solvedBefore")),
                         new Date(tryParseLong(solvedAfter, "solvedAfter")),
-                        pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                        pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : issueRequestService
+                .scrollAllBySolvedBeforeAndSolvedAfter(
+                        new Date(tryParseLong(solvedBefore, "solvedBefore")),
+                        new Date(tryParseLong(solvedAfter, "solvedAfter")),
+                        cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequests(result));
     }
 
     @RequestMapping(value = {"/api/v1/issue-requests/{id}/resolution", "/v1/issue_requests/solve/{id}"}, method = RequestMethod.PUT)
@@ -175,7 +300,9 @@ public class IssueRequestController {
 
 
     @RequestMapping(value = {"/api/v1/issue-requests", "/v1/issue_requests/save"}, method = RequestMethod.POST)
-    private ResponseEntity<IssueRequest> saveIssueRequestV1(@RequestBody IssueRequest issueRequest) {
+    private ResponseEntity<IssueRequest> saveIssueRequestV1(
+            @RequestBody IssueRequest issueRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Saving issue request id={} requesterId={}", issueRequest.getId(), issueRequest.getRequesterId());
 
         if (!issueRequesterService.isExistsAndActive(issueRequest.getRequesterId(), true)) {
@@ -184,53 +311,58 @@ public class IssueRequestController {
                             .concat(",isActive:true"));
         }
 
-        val requester = issueRequesterService.findById(issueRequest.getRequesterId(), true);
-
         val saved = issueRequestService.save(IssueRequestModel
                 .builder()
                 .id(issueRequest.getId())
+                .version(expectedVersion(fromNullableLong(issueRequest.getVersion()), ifMatch))
                 .isSolved(issueRequest.getIsSolved().getData())
-                .requester(requester)
+                .requester(IssueRequesterModel.builder().id(issueRequest.getRequesterId()).build())
                 .body(issueRequest.getBody())
                 .build());
 
         return ResponseEntity.ok(mapIssueRequest(saved));
     }
 
-    private PagedData mapPaged(GenericPagedModel<IssueRequestModel> model) {
-        return PagedData.newBuilder()
-                .setTotalElements(model.getTotalElements())
-                .setNumberOfElements(model.getNumberOfElements())
-                .setTotalPages(model.getTotalPages())
-                .setIssueRequests(mapIssueRequests(model.getContent()))
-                .build();
+    // Creates and updates many requests in JDBC batches; each item reports its own status.
+    @RequestMapping(value = "/api/v1/issue-requests/bulk", method = RequestMethod.POST)
+    private ResponseEntity<BulkResult> saveIssueRequestsBulk(@RequestBody IssueRequests issueRequests) {
+        log.info("Bulk saving {} issue requests", issueRequests.getIssueRequestsCount());
+
+        val result = bulkWriteService.saveIssueRequests(issueRequests.getIssueRequestsList()
+                .stream()
+                .map(issueRequest -> IssueRequestModel
+                        .builder()
+                        .id(issueRequest.getId())
+                        .version(fromNullableLong(issueRequest.getVersion()))
+                        .isSolved(issueRequest.getIsSolved().getData())
+                        .requester(IssueRequesterModel.builder().id(issueRequest.getRequesterId()).build())
+                        .body(issueRequest.getBody())
+                        .build())
+                .toList());
+
+        return ResponseEntity.ok(mapBulkResult(result));
     }
 
-    private IssueRequests mapIssueRequests(Collection<IssueRequestModel> models) {
-        return IssueRequests.newBuilder()
-                .addAllIssueRequests(models
-                        .stream()
-                        .map(this::mapIssueRequest)
-                        .collect(toList()))
-                .build();
+    // Solves many requests with one UPDATE per chunk, selected by ids or by "created before and unsolved".
+    @RequestMapping(value = "/api/v1/issue-requests/bulk/resolution", method = RequestMethod.POST)
+    private ResponseEntity<BulkCount> solveIssueRequestsBulk(@RequestBody BulkSelection selection) {
+        log.info("Bulk solving issue requests ids={} dryRun={}", selection.getIdsCount(), selection.getDryRun());
+
+        val affected = bulkWriteService.solveIssueRequests(selection.getIdsList(),
+                fromNullableDate(selection.getCreatedBefore()), selection.getDryRun());
+
+        return ResponseEntity.ok(mapBulkCount(affected, selection.getDryRun()));
     }
 
-    private IssueRequest mapIssueRequest(IssueRequestModel model) {
-        return IssueRequest.newBuilder()
-                .setId(model.getId())
-                .setRequesterId(model.getRequester().getId())
-                .setBody(model.getBody())
-                .setIsSolved(Objects.nonNull(model.getIsSolved())
-                        ? NullableBoolean.newBuilder().setData(model.getIsSolved()).build()
-                        : NullableBoolean.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .setCreated(Objects.nonNull(model.getCreated())
-                        ? NullableInt64.newBuilder().setData(model.getCreated()
-                        .toInstant().toEpochMilli()).build()
-                        : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .setSolved(Objects.nonNull(model.getSolved())
-                        ? NullableInt64.newBuilder().setData(model.getSolved()
-                        .toInstant().toEpochMilli()).build()
-                        : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .build();
+    // Hard deletes many requests with one DELETE per chunk, selected by ids or by createdBefore and isSolved.
+    @RequestMapping(value = "/api/v1/issue-requests/bulk/deletion", method = RequestMethod.POST)
+    private ResponseEntity<BulkCount> deleteIssueRequestsBulk(@RequestBody BulkSelection selection) {
+        log.info("Bulk deleting issue requests ids={} dryRun={}", selection.getIdsCount(), selection.getDryRun());
+
+        val affected = bulkWriteService.deleteIssueRequests(selection.getIdsList(),
+                fromNullableDate(selection.getCreatedBefore()), fromNullableBoolean(selection.getIsSolved()),
+                selection.getDryRun());
+
+        return ResponseEntity.ok(mapBulkCount(affected, selection.getDryRun()));
     }
 }
@@ -1,33 +1,38 @@
 package io.gulay.helpdesk.controller;
 
-import com.google.protobuf.NullValue;
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
-import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.protoGen.*;
 import io.gulay.helpdesk.data.util.SortDirection;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
 
 import static io.gulay.helpdesk.controller.util.Parsers.*;
-import static java.util.stream.Collectors.toList;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.*;
+import static io.gulay.helpdesk.controller.util.Validators.expectedVersion;
+import static io.gulay.helpdesk.controller.util.Validators.okWithETag;
 
 @RestController
 @Slf4j
 public class IssueRequesterController {
     final IssueRequesterService issueRequesterService;
 
+    final BulkWriteService bulkWriteService;
+
     @Autowired
-    public IssueRequesterController(IssueRequesterService issueRequesterService) {
+    public IssueRequesterController(IssueRequesterService issueRequesterService,
+                                    BulkWriteService bulkWriteService) {
         this.issueRequesterService = issueRequesterService;
+        this.bulkWriteService = bulkWriteService;
     }
 
     @RequestMapping(value = {"/api/v1/issue-requesters/{id}", "/v1/issue_requesters/{id}"}, method = RequestMethod.GET)
@@ -41,7 +46,21 @@ public class IssueRequesterController {
                 : issueRequesterService.findById(tryParseInteger(id, "id")
                 , tryParseBoolean(issueRequestIsSolved, "issueRequestIsSolved"));
 
-        return ResponseEntity.ok(mapIssueRequester(issueRequester));
+        return okWithETag(mapIssueRequester(issueRequester), issueRequester.version());
+    }
+
+    // Typeahead: requesters whose name or email contains the query, prefix matches first. Not paged; limit caps it.
+    @RequestMapping(value = "/api/v1/issue-requesters/lookup", method = RequestMethod.GET)
+    private ResponseEntity<IssueRequesters> lookupIssueRequesters(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "") String isActive,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Calling: lookupIssueRequesters >> Query: {}", query);
+
+        val rows = issueRequesterService.lookup(query,
+                StringUtils.isBlank(isActive) ? null : tryParseBoolean(isActive, "isActive"), limit);
+
+        return ResponseEntity.ok(mapRequesterLookupRows(rows));
     }
 
     @RequestMapping(value = {"/api/v1/issue-requesters", "/v1/issue_requesters/find_all"}, method = RequestMethod.GET)
@@ -50,6 +69,8 @@ public class IssueRequesterController {
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "") String isActive,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -62,34 +83,50 @@ public class IssueRequesterController {
             log.info(logMessage
                     .concat(" | Is Active: ").concat(isActive));
 
-            val result = issueRequesterService
+            val result = Objects.isNull(cursor)
+                    ? issueRequesterService
                     .findAllByCreatedBeforeAndCreatedAfterAndIsActive(
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
                             tryParseBoolean(isActive, "isActive"),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequesterService
+                    .scrollAllByCreatedBeforeAndCreatedAfterAndIsActive(
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            tryParseBoolean(isActive, "isActive"),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequesters(result));
         }
 
         if (StringUtils.isNotBlank(createdBefore) && StringUtils.isNotBlank(createdAfter)) {
             log.info(logMessage);
 
-            val result = issueRequesterService
+            val result = Objects.isNull(cursor)
+                    ? issueRequesterService
                     .findAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequesterService
+                    .scrollAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequesters(result));
         }
 
         log.info("Calling: getAllIssueRequestersByCreatedBeforeAndCreatedAfter");
 
-        val result = issueRequesterService
+        val result = Objects.isNull(cursor)
+                ? issueRequesterService
                 .findAll(pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueRequesterService
+                .scrollAll(cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequesters(result));
     }
 
     @RequestMapping(value = "/v1/issue_requesters/find_all_by_full_name/{fullName}", method = RequestMethod.GET)
@@ -98,6 +135,8 @@ public class IssueRequesterController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -106,22 +145,32 @@ public class IssueRequesterController {
                     .concat(" | Created Before: ").concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueRequesterService
+            val result = Objects.isNull(cursor)
+                    ? issueRequesterService
                     .findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(fullName,
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequesterService
+                    .scrollAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(fullName,
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequesters(result));
         }
 
         log.info("Calling: getAllIssueRequestersByRequesterId >> Full Name: ".concat(fullName));
 
-        val result = issueRequesterService
+        val result = Objects.isNull(cursor)
+                ? issueRequesterService
                 .findAllByFullNameContainingIgnoreCase(fullName, pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueRequesterService
+                .scrollAllByFullNameContainingIgnoreCase(fullName, cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequesters(result));
     }
 
     @RequestMapping(value = "/v1/issue_requesters/find_all_by_email/{email}", method = RequestMethod.GET)
@@ -130,6 +179,8 @@ public class IssueRequesterController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -138,22 +189,32 @@ public class IssueRequesterController {
                     .concat(" | Created Before: ").concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueRequesterService
+            val result = Objects.isNull(cursor)
+                    ? issueRequesterService
                     .findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(email,
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueRequesterService
+                    .scrollAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(email,
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueRequesters(result));
         }
 
         log.info("Calling: getAllIssueRequestersByEmail >> E-mail: ".concat(email));
 
-        val result = issueRequesterService
+        val result = Objects.isNull(cursor)
+                ? issueRequesterService
                 .findAllByEmailContainingIgnoreCase(email, pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueRequesterService
+                .scrollAllByEmailContainingIgnoreCase(email, cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueRequesters(result));
     }
 
     @RequestMapping(value = {"/api/v1/issue-requesters/{id}/activation", "/v1/issue_requesters/toggle_activation/{id}"}, method = RequestMethod.PUT)
@@ -175,12 +236,15 @@ public class IssueRequesterController {
     }
 
     @RequestMapping(value = {"/api/v1/issue-requesters", "/v1/issue_requesters/save"}, method = RequestMethod.POST)
-    private ResponseEntity<IssueRequester> saveIssueRequesterV1(@RequestBody IssueRequester issueRequester) {
+    private ResponseEntity<IssueRequester> saveIssueRequesterV1(
+            @RequestBody IssueRequester issueRequester,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Saving issue requester id={}", issueRequester.getId());
 
         val saved = issueRequesterService.save(IssueRequesterModel
                 .builder()
                 .id(issueRequester.getId())
+                .version(expectedVersion(fromNullableLong(issueRequester.getVersion()), ifMatch))
                 .isActive(issueRequester.getIsActive().getData())
                 .fullName(issueRequester.getFullName())
                 .email(issueRequester.getEmail())
@@ -189,36 +253,23 @@ public class IssueRequesterController {
         return ResponseEntity.ok(mapIssueRequester(saved));
     }
 
-    private PagedData mapPaged(GenericPagedModel<IssueRequesterModel> model) {
-        return PagedData.newBuilder()
-                .setTotalElements(model.getTotalElements())
-                .setNumberOfElements(model.getNumberOfElements())
-                .setTotalPages(model.getTotalPages())
-                .setIssueRequesters(mapIssueRequesters(model.getContent()))
-                .build();
-    }
-
-    private IssueRequesters mapIssueRequesters(Collection<IssueRequesterModel> models) {
-        return IssueRequesters.newBuilder()
-                .addAllIssueRequesters(models
-                        .stream()
-                        .map(this::mapIssueRequester)
-                        .collect(toList()))
-                .build();
-    }
-
-    private IssueRequester mapIssueRequester(IssueRequesterModel model) {
-        return IssueRequester.newBuilder()
-                .setId(model.getId())
-                .setFullName(model.getFullName())
-                .setEmail(model.getEmail())
-                .setIsActive(Objects.nonNull(model.getIsActive())
-                        ? NullableBoolean.newBuilder().setData(model.getIsActive()).build()
-                        : NullableBoolean.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .setCreated(Objects.nonNull(model.getCreated())
-                        ? NullableInt64.newBuilder().setData(model.getCreated()
-                        .toInstant().toEpochMilli()).build()
-                        : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .build();
+    // Creates and updates many requesters in JDBC batches; each item reports its own status.
+    @RequestMapping(value = "/api/v1/issue-requesters/bulk", method = RequestMethod.POST)
+    private ResponseEntity<BulkResult> saveIssueRequestersBulk(@RequestBody IssueRequesters issueRequesters) {
+        log.info("Bulk saving {} issue requesters", issueRequesters.getIssueRequestersCount());
+
+        val result = bulkWriteService.saveIssueRequesters(issueRequesters.getIssueRequestersList()
+                .stream()
+                .map(issueRequester -> IssueRequesterModel
+                        .builder()
+                        .id(issueRequester.getId())
+                        .version(fromNullableLong(issueRequester.getVersion()))
+                        .isActive(issueRequester.getIsActive().getData())
+                        .fullName(issueRequester.getFullName())
+                        .email(issueRequester.getEmail())
+                        .build())
+                .toList());
+
+        return ResponseEntity.ok(mapBulkResult(result));
     }
 }
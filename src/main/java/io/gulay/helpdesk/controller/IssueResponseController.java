@@ -1,32 +1,38 @@
 package io.gulay.helpdesk.controller;
 
-import com.google.protobuf.NullValue;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
 import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequestService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
 import io.gulay.helpdesk.data.service.IssueResponseService;
-import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.protoGen.BulkResult;
 import io.gulay.helpdesk.protoGen.IssueResponse;
 import io.gulay.helpdesk.protoGen.IssueResponses;
-import io.gulay.helpdesk.protoGen.NullableInt64;
 import io.gulay.helpdesk.protoGen.PagedData;
 import io.gulay.helpdesk.data.util.SortDirection;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
 
 import static io.gulay.helpdesk.controller.util.Parsers.tryParseInteger;
 import static io.gulay.helpdesk.controller.util.Parsers.tryParseLong;
-import static java.util.stream.Collectors.toList;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.fromNullableLong;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapBulkResult;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapIssueResponse;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapPagedIssueResponses;
+import static io.gulay.helpdesk.controller.util.Validators.expectedVersion;
+import static io.gulay.helpdesk.controller.util.Validators.okWithETag;
 
 @RestController
 @Slf4j
@@ -37,13 +43,17 @@ public class IssueResponseController {
 
     final IssueRequestService issueRequestService;
 
+    final BulkWriteService bulkWriteService;
+
     @Autowired
     public IssueResponseController(IssueResponseService issueResponseService,
                                    IssueRequesterService issueRequesterService,
-                                   IssueRequestService issueRequestService) {
+                                   IssueRequestService issueRequestService,
+                                   BulkWriteService bulkWriteService) {
         this.issueResponseService = issueResponseService;
         this.issueRequesterService = issueRequesterService;
         this.issueRequestService = issueRequestService;
+        this.bulkWriteService = bulkWriteService;
     }
 
     @RequestMapping(value = {"/api/v1/issue-responses/{id}", "/v1/issue_responses/{id}"}, method = RequestMethod.GET)
@@ -52,7 +62,7 @@ public class IssueResponseController {
 
         val issueResponse = issueResponseService.findById(tryParseInteger(id, "id"));
 
-        return ResponseEntity.ok(mapIssueResponse(issueResponse));
+        return okWithETag(mapIssueResponse(issueResponse), issueResponse.version());
     }
 
     @RequestMapping(value = {"/api/v1/issue-responses", "/v1/issue_responses/find_all"}, method = RequestMethod.GET)
@@ -60,6 +70,8 @@ public class IssueResponseController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -68,21 +80,30 @@ public class IssueResponseController {
                     .concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueResponseService
+            val result = Objects.isNull(cursor)
+                    ? issueResponseService
                     .findAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueResponseService
+                    .scrollAllByCreatedBeforeAndCreatedAfter(new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueResponses(result));
         }
 
         log.info("Calling: getAllIssueRequestersByCreatedBeforeAndCreatedAfter");
 
-        val result = issueResponseService
+        val result = Objects.isNull(cursor)
+                ? issueResponseService
                 .findAll(pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueResponseService
+                .scrollAll(cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueResponses(result));
     }
 
     @RequestMapping(value = "/v1/issue_responses/find_all_by_requester/{requesterId}", method = RequestMethod.GET)
@@ -91,6 +112,8 @@ public class IssueResponseController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -100,23 +123,33 @@ public class IssueResponseController {
                     .concat(" | Created Before: ").concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueResponseService
+            val result = Objects.isNull(cursor)
+                    ? issueResponseService
                     .findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requesterId, "requesterId"),
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueResponseService
+                    .scrollAllByRequesterIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requesterId, "requesterId"),
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueResponses(result));
         }
 
         log.info("Calling: getAllIssueResponsesByRequesterIdAndCreatedBeforeAndCreatedAfter >> Requester Id: "
                 .concat(requesterId));
 
-        val result = issueResponseService
+        val result = Objects.isNull(cursor)
+                ? issueResponseService
                 .findAllByRequesterId(tryParseInteger(requesterId, "requesterId"), pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueResponseService
+                .scrollAllByRequesterId(tryParseInteger(requesterId, "requesterId"), cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueResponses(result));
     }
 
     @RequestMapping(value = "/v1/issue_responses/find_all_by_request/{requestId}", method = RequestMethod.GET)
@@ -125,6 +158,8 @@ public class IssueResponseController {
             @RequestParam(defaultValue = "") String createdBefore,
             @RequestParam(defaultValue = "") String createdAfter,
             @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withTotals,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "created") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
@@ -134,23 +169,33 @@ public class IssueResponseController {
                     .concat(" | Created Before: ").concat(createdBefore)
                     .concat(" | Created After: ").concat(createdAfter));
 
-            val result = issueResponseService
+            val result = Objects.isNull(cursor)
+                    ? issueResponseService
                     .findAllByRequestIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requestId, "requestId"),
                             new Date(tryParseLong(createdBefore, "createdBefore")),
                             new Date(tryParseLong(createdAfter, "createdAfter")),
-                            pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                            pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                    : issueResponseService
+                    .scrollAllByRequestIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(requestId, "requestId"),
+                            new Date(tryParseLong(createdBefore, "createdBefore")),
+                            new Date(tryParseLong(createdAfter, "createdAfter")),
+                            cursor, pageSize, sortBy, SortDirection.of(sortDir));
 
-            return ResponseEntity.ok(mapPaged(result));
+            return ResponseEntity.ok(mapPagedIssueResponses(result));
         }
 
         log.info("Calling: getAllIssueResponsesByRequestIdAndCreatedBeforeAndCreatedAfter >> Requester Id: "
                 .concat(requestId));
 
-        val result = issueResponseService
+        val result = Objects.isNull(cursor)
+                ? issueResponseService
                 .findAllByRequestId(tryParseInteger(requestId, "requestId"), pageNo, pageSize, sortBy
+                        , SortDirection.of(sortDir), withTotals)
+                : issueResponseService
+                .scrollAllByRequestId(tryParseInteger(requestId, "requestId"), cursor, pageSize, sortBy
                         , SortDirection.of(sortDir));
 
-        return ResponseEntity.ok(mapPaged(result));
+        return ResponseEntity.ok(mapPagedIssueResponses(result));
     }
 
     @RequestMapping(value = {"/api/v1/issue-responses/{id}", "/v1/issue_responses/delete/{id}"}, method = RequestMethod.DELETE)
@@ -164,7 +209,9 @@ public class IssueResponseController {
 
 
     @RequestMapping(value = {"/api/v1/issue-responses", "/v1/issue_responses/save"}, method = RequestMethod.POST)
-    private ResponseEntity<IssueResponse> saveIssueResponseV1(@RequestBody IssueResponse issueResponse) {
+    private ResponseEntity<IssueResponse> saveIssueResponseV1(
+            @RequestBody IssueResponse issueResponse,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Saving issue response id={} requestId={} requesterId={}",
                 issueResponse.getId(), issueResponse.getRequestId(), issueResponse.getRequesterId());
 
@@ -179,48 +226,35 @@ public class IssueResponseController {
                     "requestId:".concat(String.valueOf(issueResponse.getRequestId())));
         }
 
-        val requester = issueRequesterService.findById(issueResponse.getRequesterId(), true);
-        val request = issueRequestService.findById(issueResponse.getRequestId());
-
         val saved = issueResponseService.save(IssueResponseModel
                 .builder()
                 .id(issueResponse.getId())
-                .requester(requester)
-                .request(request)
+                .version(expectedVersion(fromNullableLong(issueResponse.getVersion()), ifMatch))
+                .requester(IssueRequesterModel.builder().id(issueResponse.getRequesterId()).build())
+                .request(IssueRequestModel.builder().id(issueResponse.getRequestId()).build())
                 .body(issueResponse.getBody())
                 .build());
 
         return ResponseEntity.ok(mapIssueResponse(saved));
     }
 
-    private PagedData mapPaged(GenericPagedModel<IssueResponseModel> model) {
-        return PagedData.newBuilder()
-                .setTotalElements(model.getTotalElements())
-                .setNumberOfElements(model.getNumberOfElements())
-                .setTotalPages(model.getTotalPages())
-                .setIssueResponses(mapIssueResponses(model.getContent()))
-                .build();
-    }
-
-    private IssueResponses mapIssueResponses(Collection<IssueResponseModel> models) {
-        return IssueResponses.newBuilder()
-                .addAllIssueResponses(models
-                        .stream()
-                        .map(this::mapIssueResponse)
-                        .collect(toList()))
-                .build();
-    }
-
-    private IssueResponse mapIssueResponse(IssueResponseModel model) {
-        return IssueResponse.newBuilder()
-                .setId(model.getId())
-                .setRequesterId(model.getRequester().getId())
-                .setRequestId(model.getRequest().getId())
-                .setBody(model.getBody())
-                .setCreated(Objects.nonNull(model.getCreated())
-                        ? NullableInt64.newBuilder().setData(model.getCreated()
-                        .toInstant().toEpochMilli()).build()
-                        : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build())
-                .build();
+    // Creates and updates many responses in JDBC batches; each item reports its own status.
+    @RequestMapping(value = "/api/v1/issue-responses/bulk", method = RequestMethod.POST)
+    private ResponseEntity<BulkResult> saveIssueResponsesBulk(@RequestBody IssueResponses issueResponses) {
+        log.info("Bulk saving {} issue responses", issueResponses.getIssueResponsesCount());
+
+        val result = bulkWriteService.saveIssueResponses(issueResponses.getIssueResponsesList()
+                .stream()
+                .map(issueResponse -> IssueResponseModel
+                        .builder()
+                        .id(issueResponse.getId())
+                        .version(fromNullableLong(issueResponse.getVersion()))
+                        .requester(IssueRequesterModel.builder().id(issueResponse.getRequesterId()).build())
+                        .request(IssueRequestModel.builder().id(issueResponse.getRequestId()).build())
+                        .body(issueResponse.getBody())
+                        .build())
+                .toList());
+
+        return ResponseEntity.ok(mapBulkResult(result));
     }
 }
@@ -0,0 +1,247 @@
+package io.gulay.helpdesk.controller.util;
+
+import com.google.protobuf.NullValue;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.projection.IssueRequesterRow;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
+import io.gulay.helpdesk.data.projection.RequesterLookupRow;
+import io.gulay.helpdesk.data.projection.TicketSearchRow;
+import io.gulay.helpdesk.data.util.BulkItemResult;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.protoGen.*;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.stream.Collectors.toList;
+
+// Model-to-protobuf mapping shared by the HTTP controllers and the gRPC services.
+public class ProtoMappers {
+    public static PagedData mapPagedIssueRequesters(GenericPagedModel<IssueRequesterModel> model) {
+        return pagedBuilder(model)
+                .setIssueRequesters(mapIssueRequesters(model.getContent()))
+                .build();
+    }
+
+    public static PagedData mapPagedIssueRequests(GenericPagedModel<IssueRequestRow> model) {
+        return pagedBuilder(model)
+                .setIssueRequests(mapIssueRequests(model.getContent()))
+                .build();
+    }
+
+    public static PagedData mapPagedIssueResponses(GenericPagedModel<IssueResponseRow> model) {
+        return pagedBuilder(model)
+                .setIssueResponses(mapIssueResponses(model.getContent()))
+                .build();
+    }
+
+    public static PagedData mapPagedTicketSearchHits(GenericPagedModel<TicketSearchRow> model) {
+        return pagedBuilder(model)
+                .setTicketSearchHits(TicketSearchHits.newBuilder()
+                        .addAllTicketSearchHits(model.getContent()
+                                .stream()
+                                .map(ProtoMappers::mapTicketSearchHit)
+                                .collect(toList())))
+                .build();
+    }
+
+    public static IssueRequesters mapIssueRequesters(Collection<IssueRequesterModel> models) {
+        return IssueRequesters.newBuilder()
+                .addAllIssueRequesters(models
+                        .stream()
+                        .map(ProtoMappers::mapIssueRequester)
+                        .collect(toList()))
+                .build();
+    }
+
+    // Lookup rows carry no created date or version; both are sent as null.
+    public static IssueRequesters mapRequesterLookupRows(Collection<RequesterLookupRow> rows) {
+        return IssueRequesters.newBuilder()
+                .addAllIssueRequesters(rows
+                        .stream()
+                        .map(row -> IssueRequester.newBuilder()
+                                .setId(row.id())
+                                .setFullName(row.fullName())
+                                .setEmail(row.email())
+                                .setIsActive(mapNullableBoolean(row.isActive()))
+                                .setCreated(mapNullableDate(null))
+                                .setVersion(mapNullableLong(null))
+                                .build())
+                        .collect(toList()))
+                .build();
+    }
+
+    public static IssueRequests mapIssueRequests(Collection<IssueRequestRow> rows) {
+        return IssueRequests.newBuilder()
+                .addAllIssueRequests(rows
+                        .stream()
+                        .map(ProtoMappers::mapIssueRequest)
+                        .collect(toList()))
+                .build();
+    }
+
+    public static IssueResponses mapIssueResponses(Collection<IssueResponseRow> rows) {
+        return IssueResponses.newBuilder()
+                .addAllIssueResponses(rows
+                        .stream()
+                        .map(ProtoMappers::mapIssueResponse)
+                        .collect(toList()))
+                .build();
+    }
+
+    public static IssueRequester mapIssueRequester(IssueRequesterModel model) {
+        return IssueRequester.newBuilder()
+                .setId(model.getId())
+                .setFullName(model.getFullName())
+                .setEmail(model.getEmail())
+                .setIsActive(mapNullableBoolean(model.getIsActive()))
+                .setCreated(mapNullableDate(model.getCreated()))
+                .setVersion(mapNullableLong(model.getVersion()))
+                .build();
+    }
+
+    public static IssueRequester mapIssueRequester(IssueRequesterRow row) {
+        return IssueRequester.newBuilder()
+                .setId(row.id())
+                .setFullName(row.fullName())
+                .setEmail(row.email())
+                .setIsActive(mapNullableBoolean(row.isActive()))
+                .setCreated(mapNullableDate(row.created()))
+                .setVersion(mapNullableLong(row.version()))
+                .build();
+    }
+
+    public static IssueRequest mapIssueRequest(IssueRequestModel model) {
+        return IssueRequest.newBuilder()
+                .setId(model.getId())
+                .setRequesterId(model.getRequester().getId())
+                .setBody(model.getBody())
+                .setIsSolved(mapNullableBoolean(model.getIsSolved()))
+                .setCreated(mapNullableDate(model.getCreated()))
+                .setSolved(mapNullableDate(model.getSolved()))
+                .setVersion(mapNullableLong(model.getVersion()))
+                .build();
+    }
+
+    public static IssueRequest mapIssueRequest(IssueRequestRow row) {
+        return IssueRequest.newBuilder()
+                .setId(row.id())
+                .setRequesterId(row.requesterId())
+                .setBody(row.body())
+                .setIsSolved(mapNullableBoolean(row.isSolved()))
+                .setCreated(mapNullableDate(row.created()))
+                .setSolved(mapNullableDate(row.solved()))
+                .setVersion(mapNullableLong(row.version()))
+                .build();
+    }
+
+    public static IssueResponse mapIssueResponse(IssueResponseModel model) {
+        return IssueResponse.newBuilder()
+                .setId(model.getId())
+                .setRequesterId(model.getRequester().getId())
+                .setRequestId(model.getRequest().getId())
+                .setBody(model.getBody())
+                .setCreated(mapNullableDate(model.getCreated()))
+                .setVersion(mapNullableLong(model.getVersion()))
+                .build();
+    }
+
+    public static IssueResponse mapIssueResponse(IssueResponseRow row) {
+        return IssueResponse.newBuilder()
+                .setId(row.id())
+                .setRequesterId(row.requesterId())
+                .setRequestId(row.requestId())
+                .setBody(row.body())
+                .setCreated(mapNullableDate(row.created()))
+                .setVersion(mapNullableLong(row.version()))
+                .build();
+    }
+
+    public static TicketSearchHit mapTicketSearchHit(TicketSearchRow row) {
+        return TicketSearchHit.newBuilder()
+                .setRequestId(row.getRequestId())
+                .setResponseId(Objects.requireNonNullElse(row.getResponseId(), 0))
+                .setBody(row.getBody())
+                .setCreated(mapNullableDate(row.getCreated()))
+                .setScore(row.getScore())
+                .build();
+    }
+
+    public static BulkResult mapBulkResult(List<BulkItemResult> results) {
+        val builder = BulkResult.newBuilder();
+
+        for (val result : results) {
+            val item = io.gulay.helpdesk.protoGen.BulkItemResult.newBuilder()
+                    .setIndex(result.index())
+                    .setStatus(result.status());
+            if (result.id() != null) {
+                item.setId(result.id());
+            }
+            if (result.message() != null) {
+                item.setMessage(result.message());
+            }
+
+            builder.addItems(item);
+            if (result.isSaved()) {
+                builder.setSaved(builder.getSaved() + 1);
+            } else {
+                builder.setFailed(builder.getFailed() + 1);
+            }
+        }
+
+        return builder.build();
+    }
+
+    public static BulkCount mapBulkCount(long affected, boolean dryRun) {
+        return BulkCount.newBuilder()
+                .setAffected(affected)
+                .setDryRun(dryRun)
+                .build();
+    }
+
+    // An unset or null NullableBoolean/NullableInt64 reads as null, unlike getData() which reads as false/0.
+    public static Boolean fromNullableBoolean(NullableBoolean value) {
+        return value.getKindCase() == NullableBoolean.KindCase.DATA ? value.getData() : null;
+    }
+
+    public static Date fromNullableDate(NullableInt64 value) {
+        return value.getKindCase() == NullableInt64.KindCase.DATA ? new Date(value.getData()) : null;
+    }
+
+    public static Long fromNullableLong(NullableInt64 value) {
+        return value.getKindCase() == NullableInt64.KindCase.DATA ? value.getData() : null;
+    }
+
+    private static PagedData.Builder pagedBuilder(GenericPagedModel<?> model) {
+        return PagedData.newBuilder()
+                .setTotalElements(model.getTotalElements())
+                .setNumberOfElements(model.getNumberOfElements())
+                .setTotalPages(model.getTotalPages())
+                .setNextCursor(model.getNextCursor())
+                .setHasNext(model.isHasNext());
+    }
+
+    private static NullableBoolean mapNullableBoolean(Boolean value) {
+        return Objects.nonNull(value)
+                ? NullableBoolean.newBuilder().setData(value).build()
+                : NullableBoolean.newBuilder().setNull(NullValue.NULL_VALUE).build();
+    }
+
+    private static NullableInt64 mapNullableDate(Date value) {
+        return Objects.nonNull(value)
+                ? NullableInt64.newBuilder().setData(value.toInstant().toEpochMilli()).build()
+                : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build();
+    }
+
+    private static NullableInt64 mapNullableLong(Long value) {
+        return Objects.nonNull(value)
+                ? NullableInt64.newBuilder().setData(value).build()
+                : NullableInt64.newBuilder().setNull(NullValue.NULL_VALUE).build();
+    }
+}
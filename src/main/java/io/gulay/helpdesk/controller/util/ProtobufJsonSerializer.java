@@ -1,6 +1,5 @@
 package io.gulay.helpdesk.controller.util;
 
-import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
 import org.springframework.boot.jackson.JacksonComponent;
@@ -10,14 +9,44 @@ import tools.jackson.core.exc.StreamWriteException;
 import tools.jackson.databind.SerializationContext;
 import tools.jackson.databind.ValueSerializer;
 
+import java.io.IOException;
+
 @JacksonComponent
 public class ProtobufJsonSerializer extends ValueSerializer<Message> {
+    // Printers are immutable and thread-safe: one instance serves every message.
+    private static final JsonFormat.Printer PRINTER = JsonFormat.printer();
+
     @Override
     public void serialize(Message message, JsonGenerator gen, SerializationContext context) throws JacksonException {
+        // The empty raw value only makes the generator emit the separator the enclosing context expects.
+        // The printer then appends into the generator's own buffer, which flushes to the response stream,
+        // instead of rendering the whole message to a String that is copied in afterwards.
+        gen.writeRawValue("");
+
         try {
-            gen.writeRawValue(JsonFormat.printer().print(message));
-        } catch (InvalidProtocolBufferException ex) {
+            PRINTER.appendTo(message, new GeneratorAppendable(gen));
+        } catch (IOException ex) {
             throw new StreamWriteException(gen, "Could not serialize Protobuf message", ex);
         }
     }
+
+    private record GeneratorAppendable(JsonGenerator gen) implements Appendable {
+        @Override
+        public Appendable append(CharSequence csq) {
+            gen.writeRaw(String.valueOf(csq));
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            gen.writeRaw(String.valueOf(csq), start, end - start);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            gen.writeRaw(c);
+            return this;
+        }
+    }
 }
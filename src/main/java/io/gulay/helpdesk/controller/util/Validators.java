@@ -0,0 +1,51 @@
+package io.gulay.helpdesk.controller.util;
+
+import com.google.protobuf.Message;
+import lombok.val;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.regex.Pattern;
+
+// Conditional GET for by-id reads. The entity tag is the row's optimistic-locking version: every write to the row
+// increments it, bulk UPDATEs included, so it is a validator that costs nothing to compute. It is weak because the
+// JSON, binary and compressed representations share it. Spring answers a matching If-None-Match with 304 and no
+// body, and the row itself comes from the entity cache, so a polling client costs neither a query nor a serialized
+// body while the ticket is unchanged.
+public class Validators {
+    private static final Pattern VERSION_TAG = Pattern.compile("(?:W/)?\"(\\d{1,18})\"");
+
+    public static <T extends Message> ResponseEntity<T> okWithETag(T message, long version) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(weakETag(version))
+                .body(message);
+    }
+
+    public static String weakETag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    // Conditional update: the same tag sent back in If-Match stands in for the version field of the body. The
+    // services turn a missing version into 428 and a stale one into 409; "*" and lists of tags name no version.
+    public static Long expectedVersion(Long version, String ifMatch) {
+        if (ifMatch == null) {
+            return version;
+        }
+
+        val matcher = VERSION_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match:".concat(ifMatch));
+        }
+
+        val tagged = Long.valueOf(matcher.group(1));
+        if (version != null && !version.equals(tagged)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "If-Match:".concat(ifMatch).concat(",version:").concat(String.valueOf(version)));
+        }
+
+        return tagged;
+    }
+}
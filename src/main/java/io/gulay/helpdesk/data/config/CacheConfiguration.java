@@ -0,0 +1,64 @@
+package io.gulay.helpdesk.data.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+// Cache advice is ordered outside the transactional advice so a cache hit never opens a transaction
+// (and never borrows a JDBC connection), and evictions run only after the surrounding write commits.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+
+    public static final String ISSUE_REQUESTERS = "issueRequesters";
+    public static final String ISSUE_REQUESTS = "issueRequests";
+    public static final String ISSUE_RESPONSES = "issueResponses";
+    // Assembled assistant ticket contexts, keyed by request id. Evicted by any write to the request,
+    // its responses or its requester, and kept short-lived so a missed eviction heals quickly.
+    public static final String TICKET_CONTEXTS = "ticketContexts";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${helpdesk.cache.issue-requesters.maximum-size:10000}") long requestersMaximumSize,
+            @Value("${helpdesk.cache.issue-requesters.expire-after-write:10m}") Duration requestersExpireAfterWrite,
+            @Value("${helpdesk.cache.issue-requests.maximum-size:10000}") long requestsMaximumSize,
+            @Value("${helpdesk.cache.issue-requests.expire-after-write:5m}") Duration requestsExpireAfterWrite,
+            @Value("${helpdesk.cache.issue-responses.maximum-size:10000}") long responsesMaximumSize,
+            @Value("${helpdesk.cache.issue-responses.expire-after-write:5m}") Duration responsesExpireAfterWrite,
+            @Value("${helpdesk.cache.ticket-contexts.maximum-size:1000}") long contextsMaximumSize,
+            @Value("${helpdesk.cache.ticket-contexts.expire-after-write:1m}") Duration contextsExpireAfterWrite
+    ) {
+        val cacheManager = new CaffeineCacheManager();
+
+        // A fixed set of regions: an unknown cache name fails fast instead of creating an unbounded cache.
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(ISSUE_REQUESTERS,
+                newCache(requestersMaximumSize, requestersExpireAfterWrite));
+        cacheManager.registerCustomCache(ISSUE_REQUESTS,
+                newCache(requestsMaximumSize, requestsExpireAfterWrite));
+        cacheManager.registerCustomCache(ISSUE_RESPONSES,
+                newCache(responsesMaximumSize, responsesExpireAfterWrite));
+        cacheManager.registerCustomCache(TICKET_CONTEXTS,
+                newCache(contextsMaximumSize, contextsExpireAfterWrite));
+
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
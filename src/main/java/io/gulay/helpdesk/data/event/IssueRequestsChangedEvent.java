@@ -0,0 +1,32 @@
+package io.gulay.helpdesk.data.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Published by the data services inside the writing transaction, so @TransactionalEventListener consumers see it
+// only once the write has committed. It lets state derived from tickets outside the database (AI responses,
+// indexes) follow writes without the data layer depending on those consumers.
+// requestIds is null when the write selected its rows by a filter and the ids are not known.
+public record IssueRequestsChangedEvent(Set<Integer> requestIds, Change change) {
+
+    public enum Change {
+        // The request or one of its responses was created, updated or deleted.
+        WRITTEN,
+        SOLVED,
+        // Written with isSolved false while it was solved; published in addition to WRITTEN.
+        REOPENED,
+        DELETED
+    }
+
+    public static IssueRequestsChangedEvent of(Change change, Collection<Integer> requestIds) {
+        return new IssueRequestsChangedEvent(Set.copyOf(requestIds), change);
+    }
+
+    public static IssueRequestsChangedEvent unknownIds(Change change) {
+        return new IssueRequestsChangedEvent(null, change);
+    }
+
+    public boolean isUnknownIds() {
+        return requestIds == null;
+    }
+}
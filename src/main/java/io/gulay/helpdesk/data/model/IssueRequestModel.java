@@ -34,7 +34,8 @@ import java.util.Objects;
 @Entity
 public class IssueRequestModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_request_seq")
+    @SequenceGenerator(name = "issue_request_seq", sequenceName = "issue_request_seq", schema = "help_desk", allocationSize = 50)
     private Integer id;
 
     @Column(name = "request_body")
@@ -46,6 +47,11 @@ public class IssueRequestModel {
     @NotNull(message = "isSolved must not be null")
     private Boolean isSolved;
 
+    // Checked and incremented by every UPDATE; null until the row is first persisted.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
     @Column(insertable = false, updatable = false)
@@ -32,7 +32,8 @@ import jakarta.validation.constraints.Size;
 @Entity
 public class IssueRequesterModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_requester_seq")
+    @SequenceGenerator(name = "issue_requester_seq", sequenceName = "issue_requester_seq", schema = "help_desk", allocationSize = 50)
     private Integer id;
 
     @Column(name = "full_name")
@@ -50,6 +51,11 @@ public class IssueRequesterModel {
     @NotNull(message = "isActive must not be null")
     private Boolean isActive;
 
+    // Checked and incremented by every UPDATE; null until the row is first persisted.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
     @Column(insertable = false, updatable = false)
@@ -31,13 +31,19 @@ import java.util.Objects;
 @Entity
 public class IssueResponseModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_response_seq")
+    @SequenceGenerator(name = "issue_response_seq", sequenceName = "issue_response_seq", schema = "help_desk", allocationSize = 50)
     private Integer id;
 
     @Column(name = "response_body")
     @NotBlank(message = "body must not be blank")
     private String body;
 
+    // Checked and incremented by every UPDATE; null until the row is first persisted.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
     @Column(insertable = false, updatable = false)
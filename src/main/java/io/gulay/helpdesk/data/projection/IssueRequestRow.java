@@ -0,0 +1,31 @@
+package io.gulay.helpdesk.data.projection;
+
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+
+import java.util.Date;
+
+// Flat, unmanaged view of a request for the list endpoints and the streaming export. Selected with a JPQL
+// constructor expression, so Hibernate builds it straight from the result set: no managed entity,
+// no requester proxy, no dirty-checking snapshot, and nothing left in the persistence context.
+public record IssueRequestRow(
+        Integer id,
+        Integer requesterId,
+        String body,
+        Boolean isSolved,
+        Date created,
+        Date solved,
+        Long version
+) {
+    // Keyset pages are still read as entities (Spring Data only scrolls derived queries by keyset), and findById
+    // caches this row rather than the entity it loaded.
+    public static IssueRequestRow of(IssueRequestModel model) {
+        return new IssueRequestRow(
+                model.getId(),
+                model.getRequester().getId(),
+                model.getBody(),
+                model.getIsSolved(),
+                model.getCreated(),
+                model.getSolved(),
+                model.getVersion());
+    }
+}
@@ -0,0 +1,25 @@
+package io.gulay.helpdesk.data.projection;
+
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+
+import java.util.Date;
+
+// Immutable view of a requester as held by the issueRequesters cache; see IssueRequestRow.
+public record IssueRequesterRow(
+        Integer id,
+        String fullName,
+        String email,
+        Boolean isActive,
+        Date created,
+        Long version
+) {
+    public static IssueRequesterRow of(IssueRequesterModel model) {
+        return new IssueRequesterRow(
+                model.getId(),
+                model.getFullName(),
+                model.getEmail(),
+                model.getIsActive(),
+                model.getCreated(),
+                model.getVersion());
+    }
+}
@@ -0,0 +1,25 @@
+package io.gulay.helpdesk.data.projection;
+
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+
+import java.util.Date;
+
+// Flat, unmanaged view of a response for the list endpoints; see IssueRequestRow.
+public record IssueResponseRow(
+        Integer id,
+        Integer requesterId,
+        Integer requestId,
+        String body,
+        Date created,
+        Long version
+) {
+    public static IssueResponseRow of(IssueResponseModel model) {
+        return new IssueResponseRow(
+                model.getId(),
+                model.getRequester().getId(),
+                model.getRequest().getId(),
+                model.getBody(),
+                model.getCreated(),
+                model.getVersion());
+    }
+}
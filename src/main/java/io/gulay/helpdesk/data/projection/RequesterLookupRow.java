@@ -0,0 +1,15 @@
+package io.gulay.helpdesk.data.projection;
+
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+
+// The requester columns a typeahead needs, as held by RequesterLookupIndex and by its database fallback.
+public record RequesterLookupRow(
+        Integer id,
+        String fullName,
+        String email,
+        Boolean isActive
+) {
+    public static RequesterLookupRow of(IssueRequesterModel model) {
+        return new RequesterLookupRow(model.getId(), model.getFullName(), model.getEmail(), model.getIsActive());
+    }
+}
@@ -0,0 +1,10 @@
+package io.gulay.helpdesk.data.projection;
+
+import java.util.Date;
+
+// A solved request and when it was solved: the cursor the similar-ticket index syncs by.
+public record SolvedRequestRow(
+        Integer id,
+        Date solved
+) {
+}
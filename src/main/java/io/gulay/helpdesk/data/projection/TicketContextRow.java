@@ -0,0 +1,35 @@
+package io.gulay.helpdesk.data.projection;
+
+import java.util.Date;
+
+// One row per response of a request, joined with the request and its requester.
+// A request without responses yields a single row whose response columns are null.
+public interface TicketContextRow {
+    Integer getRequestId();
+
+    String getRequestBody();
+
+    Boolean getIsSolved();
+
+    Date getRequestCreated();
+
+    Date getRequestSolved();
+
+    Integer getRequesterId();
+
+    String getFullName();
+
+    String getEmail();
+
+    Boolean getIsActive();
+
+    Date getRequesterCreated();
+
+    Integer getResponseId();
+
+    Integer getResponseRequesterId();
+
+    String getResponseBody();
+
+    Date getResponseCreated();
+}
\ No newline at end of file
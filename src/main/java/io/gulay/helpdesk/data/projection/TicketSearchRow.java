@@ -0,0 +1,16 @@
+package io.gulay.helpdesk.data.projection;
+
+import java.util.Date;
+
+// The best full-text match of one ticket: its request body (responseId null) or one of its response bodies.
+public interface TicketSearchRow {
+    Integer getRequestId();
+
+    Integer getResponseId();
+
+    String getBody();
+
+    Date getCreated();
+
+    Double getScore();
+}
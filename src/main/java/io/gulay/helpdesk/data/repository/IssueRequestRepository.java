@@ -1,29 +1,273 @@
 package io.gulay.helpdesk.data.repository;
 
 import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.projection.SolvedRequestRow;
+import io.gulay.helpdesk.data.projection.TicketContextRow;
+import io.gulay.helpdesk.data.projection.TicketSearchRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface IssueRequestRepository extends JpaRepository<IssueRequestModel, Integer> {
     Optional<IssueRequestModel> findByIdAndIsSolved(Integer id, boolean isActive);
 
-    Page<IssueRequestModel> findAllByRequesterId(Integer requesterId, Pageable pageable);
+    // List rows are built by a constructor expression instead of loading entities; the COUNT query of the
+    // Page variants is derived from the same statement.
+    String ROWS = """
+            select new io.gulay.helpdesk.data.projection.IssueRequestRow(
+                r.id, r.requester.id, r.body, r.isSolved, r.created, r.solved, r.version)
+            from IssueRequestModel r
+            """;
+
+    @Query(ROWS)
+    Page<IssueRequestRow> findPageBy(Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId")
+    Page<IssueRequestRow> findAllByRequesterId(@Param("requesterId") Integer requesterId, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId and r.created < :createdBefore and r.created > :createdAfter")
+    Page<IssueRequestRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requesterId") Integer requesterId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter")
+    Page<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfter(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter and r.isSolved = :isSolved")
+    Page<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter,
+            @Param("isSolved") boolean isSolved, Pageable pageable);
+
+    @Query(ROWS + "where r.solved < :solvedBefore and r.solved > :solvedAfter")
+    Page<IssueRequestRow> findAllBySolvedBeforeAndSolvedAfter(
+            @Param("solvedBefore") Date solvedBefore, @Param("solvedAfter") Date solvedAfter, Pageable pageable);
+
+    // Slice variants: one extra row is fetched to compute hasNext instead of running a COUNT query.
+    @Query(ROWS)
+    Slice<IssueRequestRow> findSliceBy(Pageable pageable);
+
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter")
+    Slice<IssueRequestRow> findSliceByCreatedBeforeAndCreatedAfter(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter and r.isSolved = :isSolved")
+    Slice<IssueRequestRow> findSliceByCreatedBeforeAndCreatedAfterAndIsSolved(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter,
+            @Param("isSolved") boolean isSolved, Pageable pageable);
+
+    @Query(ROWS + "where r.solved < :solvedBefore and r.solved > :solvedAfter")
+    Slice<IssueRequestRow> findSliceBySolvedBeforeAndSolvedAfter(
+            @Param("solvedBefore") Date solvedBefore, @Param("solvedAfter") Date solvedAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId")
+    Slice<IssueRequestRow> findSliceByRequesterId(@Param("requesterId") Integer requesterId, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId and r.created < :createdBefore and r.created > :createdAfter")
+    Slice<IssueRequestRow> findSliceByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requesterId") Integer requesterId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    // Keyset (seek) variants: no offset scan and no COUNT; the identifier is appended to the sort as a tiebreaker.
+    Window<IssueRequestModel> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequestModel> findAllByRequesterId(
+            Integer requesterId, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequestModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+            Date createdBefore, Date createdAfter, boolean isSolved, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequestModel> findAllBySolvedBeforeAndSolvedAfter(
+            Date solvedBefore, Date solvedAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    // Existing ids of a bulk write chunk, in one statement.
+    @Query("select r.id from IssueRequestModel r where r.id in :ids")
+    Set<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select r.id from IssueRequestModel r where r.id in :ids and r.isSolved = true")
+    Set<Integer> findSolvedIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Bulk solve and delete by ids: one UPDATE or DELETE per chunk instead of a load and a write per row.
+    // Rows are never loaded, so the database's ON DELETE CASCADE removes the responses of deleted requests.
+    // The UPDATEs bypass the entity's @Version handling and increment the version themselves.
+    @Modifying
+    @Query("""
+            update IssueRequestModel r set r.isSolved = true, r.solved = :solved, r.version = r.version + 1
+            where r.id in :ids and r.isSolved = false
+            """)
+    int solveByIdIn(@Param("ids") Collection<Integer> ids, @Param("solved") Date solved);
+
+    @Modifying
+    @Query("delete from IssueRequestModel r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("delete from IssueRequestModel r where r.id in :ids and r.isSolved = :isSolved")
+    int deleteByIdInAndIsSolved(@Param("ids") Collection<Integer> ids, @Param("isSolved") boolean isSolved);
+
+    // Filter variants: MySQL's single-table UPDATE/DELETE ... LIMIT bounds each statement, so a large cleanup runs
+    // as a series of short transactions over idx_issue_request_solved_created instead of one that locks every row.
+    // ORDER BY id keeps the statements deterministic for statement-based replication.
+    @Modifying
+    @Query(value = """
+            update help_desk.issue_request set is_solved = true, solved = :solved, version = version + 1
+            where is_solved = false and created < :createdBefore
+            order by id limit :limit
+            """, nativeQuery = true)
+    int solveCreatedBefore(
+            @Param("createdBefore") Date createdBefore, @Param("solved") Date solved, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            delete from help_desk.issue_request
+            where created < :createdBefore
+            order by id limit :limit
+            """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("createdBefore") Date createdBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            delete from help_desk.issue_request
+            where is_solved = :isSolved and created < :createdBefore
+            order by id limit :limit
+            """, nativeQuery = true)
+    int deleteCreatedBeforeAndIsSolved(
+            @Param("createdBefore") Date createdBefore, @Param("isSolved") boolean isSolved, @Param("limit") int limit);
+
+    // Dry-run counts of the bulk solve and delete selections.
+    long countByIdIn(Collection<Integer> ids);
+
+    long countByIdInAndIsSolved(Collection<Integer> ids, boolean isSolved);
+
+    long countByCreatedBefore(Date createdBefore);
+
+    long countByCreatedBeforeAndIsSolved(Date createdBefore, boolean isSolved);
+
+    // Requests solved at or after solvedFrom, in solve order, keyset-paged by (solved, id) through
+    // idx_issue_request_solved_at. Bulk solves set solved too, so they are picked up like single ones.
+    @Query("""
+            select new io.gulay.helpdesk.data.projection.SolvedRequestRow(r.id, r.solved)
+            from IssueRequestModel r
+            where r.isSolved = true
+              and (r.solved > :solvedFrom or (r.solved = :solvedFrom and r.id > :afterId))
+            order by r.solved asc, r.id asc
+            """)
+    List<SolvedRequestRow> findSolvedAfter(@Param("solvedFrom") Date solvedFrom, @Param("afterId") Integer afterId,
+                                           Limit limit);
+
+    // Request, requester and responses in a single round trip for the assistant tools. Newest responses first, so
+    // the limit drops the oldest ones of a long thread.
+    @Query("""
+            select r.id as requestId, r.body as requestBody, r.isSolved as isSolved,
+                   r.created as requestCreated, r.solved as requestSolved,
+                   q.id as requesterId, q.fullName as fullName, q.email as email,
+                   q.isActive as isActive, q.created as requesterCreated,
+                   s.id as responseId, s.requester.id as responseRequesterId,
+                   s.body as responseBody, s.created as responseCreated
+            from IssueRequestModel r
+            join r.requester q
+            left join r.responses s
+            where r.id = :id
+            order by s.created desc, s.id desc
+            """)
+    List<TicketContextRow> findTicketContextById(@Param("id") Integer id, Limit limit);
+
+    // Batch variant for the assistant batch tools, oldest response first within each request. The responses are
+    // ranked per request in SQL and cut to the newest maxResponses, so a batch of long threads reads no more rows
+    // than the single-ticket query would for each of them.
+    @Query(value = """
+            select r.id as requestId, r.request_body as requestBody, r.is_solved as isSolved,
+                   r.created as requestCreated, r.solved as requestSolved,
+                   q.id as requesterId, q.full_name as fullName, q.email as email,
+                   q.is_active as isActive, q.created as requesterCreated,
+                   s.id as responseId, s.requester_id as responseRequesterId,
+                   s.response_body as responseBody, s.created as responseCreated
+            from help_desk.issue_request r
+            join help_desk.issue_requester q on q.id = r.requester_id
+            left join (select ranked.id, ranked.request_id, ranked.requester_id, ranked.response_body, ranked.created
+                       from (select t.*,
+                                    row_number() over (partition by t.request_id
+                                                       order by t.created desc, t.id desc) as responseRank
+                             from help_desk.issue_response t
+                             where t.request_id in (:ids)) ranked
+                       where ranked.responseRank <= :maxResponses) s on s.request_id = r.id
+            where r.id in (:ids)
+            order by r.id asc, s.created asc, s.id asc
+            """, nativeQuery = true)
+    List<TicketContextRow> findTicketContextByIdIn(@Param("ids") Collection<Integer> ids,
+                                                   @Param("maxResponses") int maxResponses);
+
+    // Full-text search over request and response bodies through the V4 FULLTEXT indexes, best match first. Each
+    // branch filters with the same MATCH it scores with, so MySQL reads only the matching rows of each index.
+    // A ticket is one hit: its best-scoring body, the request's own or one of its responses', so a ticket with
+    // many matching responses neither crowds out other tickets nor spreads over several pages.
+    String TICKET_SEARCH = """
+            select requestId, responseId, body, created, score
+            from (select hits.*,
+                         row_number() over (partition by requestId
+                                            order by score desc, responseId is not null, responseId) as ticketRank
+                  from (select r.id as requestId, null as responseId, r.request_body as body, r.created as created,
+                               match(r.request_body) against (:query in natural language mode) as score
+                        from help_desk.issue_request r
+                        where match(r.request_body) against (:query in natural language mode)
+                        union all
+                        select s.request_id, s.id, s.response_body, s.created,
+                               match(s.response_body) against (:query in natural language mode)
+                        from help_desk.issue_response s
+                        where match(s.response_body) against (:query in natural language mode)) hits) ranked
+            where ticketRank = 1
+            order by score desc, requestId asc
+            """;
 
-    Page<IssueRequestModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
-            Integer requesterId, Date createdBefore, Date createdAfter, Pageable pageable);
+    @Query(value = TICKET_SEARCH, countQuery = """
+            select count(*)
+            from (select r.id from help_desk.issue_request r
+                  where match(r.request_body) against (:query in natural language mode)
+                  union
+                  select s.request_id from help_desk.issue_response s
+                  where match(s.response_body) against (:query in natural language mode)) tickets
+            """, nativeQuery = true)
+    Page<TicketSearchRow> searchTickets(@Param("query") String query, Pageable pageable);
 
-    Page<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfter(
-            Date createdBefore, Date createdAfter, Pageable pageable);
+    @Query(value = TICKET_SEARCH, nativeQuery = true)
+    Slice<TicketSearchRow> searchTicketsSlice(@Param("query") String query, Pageable pageable);
 
-    Page<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
-            Date createdBefore, Date createdAfter, boolean isSolved, Pageable pageable);
+    // Streaming export: Connector/J only streams rows one by one (instead of buffering the whole result set)
+    // when the fetch size is Integer.MIN_VALUE.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(ROWS + "order by r.id asc")
+    Stream<IssueRequestRow> streamAllForExport();
 
-    Page<IssueRequestModel> findAllBySolvedBeforeAndSolvedAfter(
-            Date solvedBefore, Date solvedAfter, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter order by r.id asc")
+    Stream<IssueRequestRow> streamAllForExportByCreatedBeforeAndCreatedAfter(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter);
 }
@@ -1,13 +1,29 @@
 package io.gulay.helpdesk.data.repository;
 
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.RequesterLookupRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface IssueRequesterRepository extends JpaRepository<IssueRequesterModel, Integer> {
@@ -32,4 +48,75 @@ public interface IssueRequesterRepository extends JpaRepository<IssueRequesterMo
     boolean existsAllByEmail(String email);
 
     boolean existsByIdAndIsActive(Integer id, boolean isActive);
+
+    // Slice variants: one extra row is fetched to compute hasNext instead of running a COUNT query.
+    Slice<IssueRequesterModel> findSliceBy(Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByFullNameContainingIgnoreCase(String fullName, Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String fullName, Date createdBefore, Date createdAfter, Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByEmailContainingIgnoreCase(String email, Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String email, Date createdBefore, Date createdAfter, Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByCreatedBeforeAndCreatedAfterAndIsActive(
+            Date createdBefore, Date createdAfter, boolean isActive, Pageable pageable);
+
+    Slice<IssueRequesterModel> findSliceByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, Pageable pageable);
+
+    // Keyset (seek) variants: no offset scan and no COUNT; the identifier is appended to the sort as a tiebreaker.
+    Window<IssueRequesterModel> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfterAndIsActive(
+            Date createdBefore, Date createdAfter, boolean isActive, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByFullNameContainingIgnoreCase(
+            String fullName, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String fullName, Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByEmailContainingIgnoreCase(
+            String email, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueRequesterModel> findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String email, Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    // Bulk writes check a whole chunk with one statement each instead of an exists query per item.
+    @Query("select r.id from IssueRequesterModel r where r.id in :ids")
+    Set<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select r.id from IssueRequesterModel r where r.id in :ids and r.isActive = true")
+    Set<Integer> findActiveIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select r.email from IssueRequesterModel r where r.email in :emails")
+    Set<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Typeahead fallback while RequesterLookupIndex is not loaded: same matching and order as the index, with
+    // prefix matches first. The leading wildcard rules out an index, so this is a full scan bounded by the limit.
+    @Query("""
+            select new io.gulay.helpdesk.data.projection.RequesterLookupRow(r.id, r.fullName, r.email, r.isActive)
+            from IssueRequesterModel r
+            where (lower(r.fullName) like :contains escape '!' or lower(r.email) like :contains escape '!')
+              and (:isActive is null or r.isActive = :isActive)
+            order by case when lower(r.fullName) like :prefix escape '!'
+                            or lower(r.email) like :prefix escape '!' then 0 else 1 end, r.id
+            """)
+    List<RequesterLookupRow> lookup(@Param("contains") String contains, @Param("prefix") String prefix,
+                                    @Param("isActive") Boolean isActive, Limit limit);
+
+    // Loads RequesterLookupIndex; Connector/J streams the rows instead of buffering the whole table.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            select new io.gulay.helpdesk.data.projection.RequesterLookupRow(r.id, r.fullName, r.email, r.isActive)
+            from IssueRequesterModel r
+            """)
+    Stream<RequesterLookupRow> streamAllForLookup();
 }
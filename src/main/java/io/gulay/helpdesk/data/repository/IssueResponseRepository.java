@@ -1,25 +1,99 @@
 package io.gulay.helpdesk.data.repository;
 
 import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.Set;
 
 @Repository
 public interface IssueResponseRepository extends JpaRepository<IssueResponseModel, Integer> {
-    Page<IssueResponseModel> findAllByCreatedBeforeAndCreatedAfter(
-            Date createdBefore, Date createdAfter, Pageable pageable);
+    // List rows are built by a constructor expression instead of loading entities; the COUNT query of the
+    // Page variants is derived from the same statement.
+    String ROWS = """
+            select new io.gulay.helpdesk.data.projection.IssueResponseRow(
+                r.id, r.requester.id, r.request.id, r.body, r.created, r.version)
+            from IssueResponseModel r
+            """;
 
-    Page<IssueResponseModel> findAllByRequestId(Integer requestId, Pageable pageable);
+    @Query(ROWS)
+    Page<IssueResponseRow> findPageBy(Pageable pageable);
 
-    Page<IssueResponseModel> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
-            Integer requestId, Date createdBefore, Date createdAfter, Pageable pageable);
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter")
+    Page<IssueResponseRow> findAllByCreatedBeforeAndCreatedAfter(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
 
-    Page<IssueResponseModel> findAllByRequesterId(Integer requesterId, Pageable pageable);
+    @Query(ROWS + "where r.request.id = :requestId")
+    Page<IssueResponseRow> findAllByRequestId(@Param("requestId") Integer requestId, Pageable pageable);
 
-    Page<IssueResponseModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
-            Integer requesterId, Date createdBefore, Date createdAfter, Pageable pageable);
+    @Query(ROWS + "where r.request.id = :requestId and r.created < :createdBefore and r.created > :createdAfter")
+    Page<IssueResponseRow> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requestId") Integer requestId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId")
+    Page<IssueResponseRow> findAllByRequesterId(@Param("requesterId") Integer requesterId, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId and r.created < :createdBefore and r.created > :createdAfter")
+    Page<IssueResponseRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requesterId") Integer requesterId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    // Slice variants: one extra row is fetched to compute hasNext instead of running a COUNT query.
+    @Query(ROWS)
+    Slice<IssueResponseRow> findSliceBy(Pageable pageable);
+
+    @Query(ROWS + "where r.created < :createdBefore and r.created > :createdAfter")
+    Slice<IssueResponseRow> findSliceByCreatedBeforeAndCreatedAfter(
+            @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.request.id = :requestId")
+    Slice<IssueResponseRow> findSliceByRequestId(@Param("requestId") Integer requestId, Pageable pageable);
+
+    @Query(ROWS + "where r.request.id = :requestId and r.created < :createdBefore and r.created > :createdAfter")
+    Slice<IssueResponseRow> findSliceByRequestIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requestId") Integer requestId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId")
+    Slice<IssueResponseRow> findSliceByRequesterId(@Param("requesterId") Integer requesterId, Pageable pageable);
+
+    @Query(ROWS + "where r.requester.id = :requesterId and r.created < :createdBefore and r.created > :createdAfter")
+    Slice<IssueResponseRow> findSliceByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            @Param("requesterId") Integer requesterId, @Param("createdBefore") Date createdBefore,
+            @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    // Keyset (seek) variants: no offset scan and no COUNT; the identifier is appended to the sort as a tiebreaker.
+    Window<IssueResponseModel> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueResponseModel> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueResponseModel> findAllByRequestId(
+            Integer requestId, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueResponseModel> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+            Integer requestId, Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueResponseModel> findAllByRequesterId(
+            Integer requesterId, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<IssueResponseModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, ScrollPosition position, Limit limit, Sort sort);
+
+    // Existing ids of a bulk write chunk, in one statement.
+    @Query("select r.id from IssueResponseModel r where r.id in :ids")
+    Set<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,641 @@
+package io.gulay.helpdesk.data.service;
+
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.repository.IssueRequestRepository;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
+import io.gulay.helpdesk.data.repository.IssueResponseRepository;
+import io.gulay.helpdesk.data.util.BulkItemResult;
+import io.gulay.helpdesk.data.util.ExceptionMapperUtil;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+// Bulk create/update of the three entities. Items are checked a chunk at a time (one IN query per check
+// instead of an exists query per item), then each chunk is written in its own transaction: new rows are
+// persisted with sequence ids and leave as batched INSERTs, existing rows are loaded with one IN query and
+// updated through dirty checking. A chunk the database rejects is retried item by item, so one bad row only
+// fails itself. Results come back in request order with the status the single-item route would have returned.
+// Bulk solve and delete never load rows: they run as one UPDATE or DELETE per chunk and return the affected count.
+@Service
+@Slf4j
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkWriteService {
+    final IssueRequesterRepository issueRequesterRepository;
+
+    final RequesterLookupIndex requesterLookupIndex;
+
+    final IssueRequestRepository issueRequestRepository;
+
+    final IssueResponseRepository issueResponseRepository;
+
+    final TransactionTemplate transactionTemplate;
+
+    final ApplicationEventPublisher eventPublisher;
+
+    final CacheManager cacheManager;
+
+    final Validator validator;
+
+    final int chunkSize;
+
+    final int maxItems;
+
+    @Autowired
+    public BulkWriteService(IssueRequesterRepository issueRequesterRepository,
+                            RequesterLookupIndex requesterLookupIndex,
+                            IssueRequestRepository issueRequestRepository,
+                            IssueResponseRepository issueResponseRepository,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            CacheManager cacheManager,
+                            Validator validator,
+                            @Value("${helpdesk.bulk.chunk-size:500}") int chunkSize,
+                            @Value("${helpdesk.bulk.max-items:10000}") int maxItems) {
+        this.issueRequesterRepository = issueRequesterRepository;
+        this.requesterLookupIndex = requesterLookupIndex;
+        this.issueRequestRepository = issueRequestRepository;
+        this.issueResponseRepository = issueResponseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    // The caches are cleared per committed chunk, see writeChunk().
+    public List<BulkItemResult> saveIssueRequesters(List<IssueRequesterModel> models) {
+        return saveAll("issue requesters", models,
+                List.of(CacheConfiguration.ISSUE_REQUESTERS, CacheConfiguration.TICKET_CONTEXTS),
+                this::checkIssueRequesters, this::writeIssueRequesters);
+    }
+
+    // Each model carries a requester holding only its id.
+    public List<BulkItemResult> saveIssueRequests(List<IssueRequestModel> models) {
+        return saveAll("issue requests", models,
+                List.of(CacheConfiguration.ISSUE_REQUESTS, CacheConfiguration.TICKET_CONTEXTS),
+                this::checkIssueRequests, this::writeIssueRequests);
+    }
+
+    // Each model carries a requester and a request holding only their ids.
+    public List<BulkItemResult> saveIssueResponses(List<IssueResponseModel> models) {
+        return saveAll("issue responses", models,
+                List.of(CacheConfiguration.ISSUE_RESPONSES, CacheConfiguration.TICKET_CONTEXTS),
+                this::checkIssueResponses, this::writeIssueResponses);
+    }
+
+    // Selected by ids or by "created before and unsolved", never both. Already solved requests are left untouched.
+    // With dryRun the matching rows are only counted. The caches are evicted per committed chunk, see announce().
+    public long solveIssueRequests(Collection<Integer> ids, Date createdBefore, boolean dryRun) {
+        val selectedIds = selectIds(ids, createdBefore);
+        val solved = Calendar.getInstance().getTime();
+        val repository = issueRequestRepository;
+
+        try {
+            long affected;
+            if (createdBefore == null) {
+                affected = dryRun
+                        ? forEachChunk(selectedIds, chunk -> repository.countByIdInAndIsSolved(chunk, false), null)
+                        : forEachChunk(selectedIds, chunk -> repository.solveByIdIn(chunk, solved), Change.SOLVED);
+            } else {
+                affected = dryRun
+                        ? inTransaction(() -> repository.countByCreatedBeforeAndIsSolved(createdBefore, false))
+                        : untilExhausted(() -> repository.solveCreatedBefore(createdBefore, solved, chunkSize),
+                        Change.SOLVED);
+            }
+
+            log.info("Bulk {} {} issue requests", dryRun ? "would solve" : "solved", affected);
+
+            return affected;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    // Selected by ids or by createdBefore, optionally narrowed to solved or unsolved requests. Responses of deleted
+    // requests go with them through ON DELETE CASCADE. With dryRun the matching rows are only counted.
+    public long deleteIssueRequests(Collection<Integer> ids, Date createdBefore, Boolean isSolved, boolean dryRun) {
+        val selectedIds = selectIds(ids, createdBefore);
+        val repository = issueRequestRepository;
+
+        try {
+            long affected;
+            if (createdBefore != null && isSolved == null) {
+                affected = dryRun
+                        ? inTransaction(() -> repository.countByCreatedBefore(createdBefore))
+                        : untilExhausted(() -> repository.deleteCreatedBefore(
+                                createdBefore, chunkSize), Change.DELETED);
+            } else if (createdBefore != null) {
+                affected = dryRun
+                        ? inTransaction(() -> repository.countByCreatedBeforeAndIsSolved(createdBefore, isSolved))
+                        : untilExhausted(() -> repository.deleteCreatedBeforeAndIsSolved(
+                                createdBefore, isSolved, chunkSize), Change.DELETED);
+            } else if (isSolved == null) {
+                affected = dryRun
+                        ? forEachChunk(selectedIds, repository::countByIdIn, null)
+                        : forEachChunk(selectedIds, repository::deleteByIdIn, Change.DELETED);
+            } else {
+                affected = dryRun
+                        ? forEachChunk(selectedIds, chunk -> repository.countByIdInAndIsSolved(chunk, isSolved), null)
+                        : forEachChunk(selectedIds, chunk -> repository.deleteByIdInAndIsSolved(chunk, isSolved),
+                        Change.DELETED);
+            }
+
+            log.info("Bulk {} {} issue requests", dryRun ? "would delete" : "deleted", affected);
+
+            return affected;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    private <M> List<BulkItemResult> saveAll(
+            String name,
+            List<M> models,
+            List<String> regions,
+            Function<List<M>, List<ResponseStatusException>> check,
+            Function<List<M>, List<Integer>> write
+    ) {
+        if (models == null || models.isEmpty() || models.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "items:".concat(String.valueOf(models == null ? 0 : models.size()))
+                            .concat(",maxItems:").concat(String.valueOf(maxItems)));
+        }
+
+        if (models.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "items must not contain null");
+        }
+
+        val results = new ArrayList<BulkItemResult>(models.size());
+
+        for (int from = 0; from < models.size(); from += chunkSize) {
+            val chunk = models.subList(from, Math.min(from + chunkSize, models.size()));
+            val rejections = check.apply(chunk);
+
+            val accepted = new ArrayList<M>();
+            val acceptedIndexes = new ArrayList<Integer>();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (rejections.get(i) == null) {
+                    accepted.add(chunk.get(i));
+                    acceptedIndexes.add(from + i);
+                } else {
+                    results.add(BulkItemResult.failed(from + i, rejections.get(i)));
+                }
+            }
+
+            if (!accepted.isEmpty()) {
+                results.addAll(writeChunk(accepted, acceptedIndexes, regions, write));
+            }
+        }
+
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+
+        val saved = results.stream().filter(BulkItemResult::isSaved).count();
+        log.info("Bulk saved {} of {} {}", saved, models.size(), name);
+
+        return results;
+    }
+
+    // Like announce(), each transaction that writes rows clears the cache regions once it commits, so a later chunk
+    // failing with an unmapped error cannot leave the chunks already committed behind stale entries.
+    private <M> List<BulkItemResult> writeChunk(
+            List<M> models,
+            List<Integer> indexes,
+            List<String> regions,
+            Function<List<M>, List<Integer>> write
+    ) {
+        val results = new ArrayList<BulkItemResult>(models.size());
+
+        try {
+            val ids = transactionTemplate.execute(status -> {
+                val written = write.apply(models);
+                clearAfterCommit(regions);
+                return written;
+            });
+            for (int i = 0; i < models.size(); i++) {
+                results.add(BulkItemResult.saved(indexes.get(i), Objects.requireNonNull(ids).get(i)));
+            }
+
+            return results;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
+            log.warn("Bulk chunk of {} items rejected, retrying item by item: {}", models.size(), ex.getMessage());
+        }
+
+        // Only rows the database itself rejects (e.g. an email claimed concurrently) or rows whose version is stale
+        // end up here.
+        for (int i = 0; i < models.size(); i++) {
+            val single = List.of(models.get(i));
+
+            try {
+                val ids = transactionTemplate.execute(status -> {
+                    val written = write.apply(single);
+                    clearAfterCommit(regions);
+                    return written;
+                });
+                results.add(BulkItemResult.saved(indexes.get(i), Objects.requireNonNull(ids).get(0)));
+
+            } catch (final ConstraintViolationException | DataIntegrityViolationException
+                           | TransactionSystemException | OptimisticLockingFailureException ex) {
+                results.add(BulkItemResult.failed(indexes.get(i), ExceptionMapperUtil.mapPersistenceException(ex)));
+            }
+        }
+
+        return results;
+    }
+
+    // Exactly one of a non-empty id list and a createdBefore filter; duplicate and null ids are dropped.
+    private List<Integer> selectIds(Collection<Integer> ids, Date createdBefore) {
+        val hasIds = ids != null && !ids.isEmpty();
+
+        if (hasIds == (createdBefore != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "exactly one of ids and createdBefore is required");
+        }
+
+        if (hasIds && ids.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "items:".concat(String.valueOf(ids.size()))
+                            .concat(",maxItems:").concat(String.valueOf(maxItems)));
+        }
+
+        return hasIds ? ids.stream().filter(Objects::nonNull).distinct().toList() : List.of();
+    }
+
+    // One statement per chunk of ids, each in its own short transaction. A change, if given, is announced with
+    // each chunk.
+    private long forEachChunk(List<Integer> ids, ToLongFunction<List<Integer>> statement, Change change) {
+        long affected = 0;
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            val chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            affected += inTransaction(() -> {
+                val rows = statement.applyAsLong(chunk);
+                if (change != null) {
+                    announce(IssueRequestsChangedEvent.of(change, chunk));
+                }
+                return rows;
+            });
+        }
+
+        return affected;
+    }
+
+    // Repeats a statement bounded by LIMIT chunkSize until a run touches fewer rows than the limit.
+    // Each run commits on its own, so locks are held for one chunk at a time.
+    // The rows are selected by a filter, so the change is announced without ids.
+    private long untilExhausted(IntSupplier statement, Change change) {
+        long affected = 0;
+        int chunk;
+
+        do {
+            chunk = (int) inTransaction(() -> {
+                val rows = statement.getAsInt();
+                if (rows > 0) {
+                    announce(IssueRequestsChangedEvent.unknownIds(change));
+                }
+                return rows;
+            });
+            affected += chunk;
+        } while (chunk == chunkSize);
+
+        return affected;
+    }
+
+    // Called inside a solve or delete chunk's transaction. Listeners and the entity caches follow every chunk that
+    // commits, so a later chunk failing leaves no committed change behind a stale cache entry; an eviction on the
+    // method would never run once the exception propagates. The statements skip the entity model, so the regions
+    // are cleared whole: deletes cascade to responses whose ids are never read.
+    private void announce(IssueRequestsChangedEvent event) {
+        eventPublisher.publishEvent(event);
+
+        val regions = event.change() == Change.DELETED
+                ? List.of(CacheConfiguration.ISSUE_REQUESTS, CacheConfiguration.ISSUE_RESPONSES,
+                CacheConfiguration.TICKET_CONTEXTS)
+                : List.of(CacheConfiguration.ISSUE_REQUESTS, CacheConfiguration.TICKET_CONTEXTS);
+        clearAfterCommit(regions);
+    }
+
+    private void clearAfterCommit(List<String> regions) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                regions.forEach(region -> Objects.requireNonNull(cacheManager.getCache(region)).clear());
+            }
+        });
+    }
+
+    private long inTransaction(LongSupplier statement) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> statement.getAsLong()));
+    }
+
+    private List<ResponseStatusException> checkIssueRequesters(List<IssueRequesterModel> models) {
+        val rejections = validate(models);
+
+        val existingIds = selectIn(updateIds(models, IssueRequesterModel::getId),
+                issueRequesterRepository::findIdsByIdIn);
+        val newEmails = models.stream()
+                .filter(model -> !isUpdate(model.getId()) && model.getEmail() != null)
+                .map(IssueRequesterModel::getEmail)
+                .collect(Collectors.toSet());
+        val takenEmails = newEmails.isEmpty()
+                ? new HashSet<String>()
+                : issueRequesterRepository.findEmailsByEmailIn(newEmails)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        for (int i = 0; i < models.size(); i++) {
+            val model = models.get(i);
+            if (rejections.get(i) != null) {
+                continue;
+            }
+
+            if (isUpdate(model.getId())) {
+                if (!existingIds.contains(model.getId())) {
+                    rejections.set(i, new ResponseStatusException(HttpStatus.NOT_FOUND,
+                            "requesterId:".concat(model.getId().toString())));
+                } else if (model.getVersion() == null) {
+                    rejections.set(i, ExceptionMapperUtil.versionRequired(model.getId()));
+                }
+                continue;
+            }
+
+            // add() also rejects the second occurrence of an email within the same request.
+            if (!takenEmails.add(model.getEmail().toLowerCase(Locale.ROOT))) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "email:".concat(model.getEmail())
+                                .concat(",isActive:").concat(String.valueOf(model.getIsActive()))));
+            }
+        }
+
+        return rejections;
+    }
+
+    private List<Integer> writeIssueRequesters(List<IssueRequesterModel> models) {
+        val existing = issueRequesterRepository.findAllById(updateIds(models, IssueRequesterModel::getId))
+                .stream()
+                .collect(Collectors.toMap(IssueRequesterModel::getId, Function.identity()));
+
+        val written = new ArrayList<IssueRequesterModel>(models.size());
+        for (val model : models) {
+            if (isUpdate(model.getId())) {
+                val managed = existing.get(model.getId());
+                requireVersion(IssueRequesterModel.class, managed.getId(), model.getVersion(), managed.getVersion());
+                managed.setFullName(model.getFullName());
+                managed.setEmail(model.getEmail());
+                managed.setIsActive(model.getIsActive());
+                written.add(managed);
+            } else {
+                written.add(issueRequesterRepository.save(IssueRequesterModel
+                        .builder()
+                        .fullName(model.getFullName())
+                        .email(model.getEmail())
+                        .isActive(model.getIsActive())
+                        .build()));
+            }
+        }
+
+        issueRequesterRepository.flush();
+        // Applied only if this chunk's transaction commits; a rejected chunk is indexed by its item-by-item retry.
+        written.forEach(requesterLookupIndex::put);
+
+        return written.stream().map(IssueRequesterModel::getId).toList();
+    }
+
+    private List<ResponseStatusException> checkIssueRequests(List<IssueRequestModel> models) {
+        val rejections = validate(models);
+
+        val existingIds = selectIn(updateIds(models, IssueRequestModel::getId),
+                issueRequestRepository::findIdsByIdIn);
+        val activeRequesterIds = selectIn(requesterIds(models, IssueRequestModel::getRequester),
+                issueRequesterRepository::findActiveIdsByIdIn);
+
+        for (int i = 0; i < models.size(); i++) {
+            val model = models.get(i);
+            if (rejections.get(i) != null) {
+                continue;
+            }
+
+            if (!activeRequesterIds.contains(model.getRequester().getId())) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requesterId:".concat(String.valueOf(model.getRequester().getId()))
+                                .concat(",isActive:true")));
+            } else if (isUpdate(model.getId()) && !existingIds.contains(model.getId())) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requestId:".concat(model.getId().toString())));
+            } else if (isUpdate(model.getId()) && model.getVersion() == null) {
+                rejections.set(i, ExceptionMapperUtil.versionRequired(model.getId()));
+            }
+        }
+
+        return rejections;
+    }
+
+    private List<Integer> writeIssueRequests(List<IssueRequestModel> models) {
+        val existing = issueRequestRepository.findAllById(updateIds(models, IssueRequestModel::getId))
+                .stream()
+                .collect(Collectors.toMap(IssueRequestModel::getId, Function.identity()));
+
+        val ids = new ArrayList<Integer>(models.size());
+        val reopenedIds = new ArrayList<Integer>();
+        for (val model : models) {
+            // A reference, not a SELECT: the requester was checked in the chunk's pre-check.
+            val requester = issueRequesterRepository.getReferenceById(model.getRequester().getId());
+
+            if (isUpdate(model.getId())) {
+                val managed = existing.get(model.getId());
+                requireVersion(IssueRequestModel.class, managed.getId(), model.getVersion(), managed.getVersion());
+                if (Boolean.TRUE.equals(managed.getIsSolved()) && !Boolean.TRUE.equals(model.getIsSolved())) {
+                    reopenedIds.add(managed.getId());
+                }
+                managed.setBody(model.getBody());
+                managed.setIsSolved(model.getIsSolved());
+                managed.setSolved(model.getSolved());
+                managed.setRequester(requester);
+                ids.add(managed.getId());
+            } else {
+                ids.add(issueRequestRepository.save(IssueRequestModel
+                        .builder()
+                        .body(model.getBody())
+                        .isSolved(model.getIsSolved())
+                        .requester(requester)
+                        .build()).getId());
+            }
+        }
+
+        issueRequestRepository.flush();
+        eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.WRITTEN, ids));
+        if (!reopenedIds.isEmpty()) {
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.REOPENED, reopenedIds));
+        }
+
+        return ids;
+    }
+
+    private List<ResponseStatusException> checkIssueResponses(List<IssueResponseModel> models) {
+        val rejections = validate(models);
+
+        val existingIds = selectIn(updateIds(models, IssueResponseModel::getId),
+                issueResponseRepository::findIdsByIdIn);
+        val activeRequesterIds = selectIn(requesterIds(models, IssueResponseModel::getRequester),
+                issueRequesterRepository::findActiveIdsByIdIn);
+        val existingRequestIds = selectIn(models.stream()
+                        .map(IssueResponseModel::getRequest)
+                        .filter(Objects::nonNull)
+                        .map(IssueRequestModel::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()),
+                issueRequestRepository::findIdsByIdIn);
+
+        for (int i = 0; i < models.size(); i++) {
+            val model = models.get(i);
+            if (rejections.get(i) != null) {
+                continue;
+            }
+
+            if (!activeRequesterIds.contains(model.getRequester().getId())) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requesterId:".concat(String.valueOf(model.getRequester().getId()))
+                                .concat(",isActive:true")));
+            } else if (!existingRequestIds.contains(model.getRequest().getId())) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requestId:".concat(String.valueOf(model.getRequest().getId()))));
+            } else if (isUpdate(model.getId()) && !existingIds.contains(model.getId())) {
+                rejections.set(i, new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "responseId:".concat(model.getId().toString())));
+            } else if (isUpdate(model.getId()) && model.getVersion() == null) {
+                rejections.set(i, ExceptionMapperUtil.versionRequired(model.getId()));
+            }
+        }
+
+        return rejections;
+    }
+
+    private List<Integer> writeIssueResponses(List<IssueResponseModel> models) {
+        val existing = issueResponseRepository.findAllById(updateIds(models, IssueResponseModel::getId))
+                .stream()
+                .collect(Collectors.toMap(IssueResponseModel::getId, Function.identity()));
+
+        val ids = new ArrayList<Integer>(models.size());
+        val requestIds = new HashSet<Integer>();
+        for (val model : models) {
+            val requester = issueRequesterRepository.getReferenceById(model.getRequester().getId());
+            val request = issueRequestRepository.getReferenceById(model.getRequest().getId());
+            requestIds.add(request.getId());
+
+            if (isUpdate(model.getId())) {
+                val managed = existing.get(model.getId());
+                requireVersion(IssueResponseModel.class, managed.getId(), model.getVersion(), managed.getVersion());
+                // A response moved to another request changes both tickets.
+                requestIds.add(managed.getRequest().getId());
+                managed.setBody(model.getBody());
+                managed.setRequester(requester);
+                managed.setRequest(request);
+                ids.add(managed.getId());
+            } else {
+                ids.add(issueResponseRepository.save(IssueResponseModel
+                        .builder()
+                        .body(model.getBody())
+                        .requester(requester)
+                        .request(request)
+                        .build()).getId());
+            }
+        }
+
+        issueResponseRepository.flush();
+        eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.WRITTEN, requestIds));
+
+        return ids;
+    }
+
+    // Every update item carries the version it was read at (the pre-check rejects the others with 428). A stale
+    // one fails the chunk, and the item-by-item retry reports it alone as 409.
+    private static void requireVersion(Class<?> type, Integer id, Long expected, Long actual) {
+        if (!expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+
+    // An empty IN list is not valid SQL; skip the round trip instead.
+    private static <T> Set<T> selectIn(Collection<Integer> ids, Function<Collection<Integer>, Set<T>> query) {
+        return ids.isEmpty() ? Set.of() : query.apply(ids);
+    }
+
+    // Bean validation up front, so an invalid item is reported as 400 instead of failing its chunk at flush.
+    private <M> List<ResponseStatusException> validate(List<M> models) {
+        val rejections = new ArrayList<ResponseStatusException>(models.size());
+
+        for (val model : models) {
+            val violations = validator.validate(model);
+            rejections.add(violations.isEmpty()
+                    ? null
+                    : ExceptionMapperUtil.mapPersistenceException(new ConstraintViolationException(violations)));
+        }
+
+        return rejections;
+    }
+
+    private static <M> List<Integer> updateIds(List<M> models, Function<M, Integer> id) {
+        return models.stream()
+                .map(id)
+                .filter(BulkWriteService::isUpdate)
+                .toList();
+    }
+
+    private static <M> Set<Integer> requesterIds(List<M> models, Function<M, IssueRequesterModel> requester) {
+        return models.stream()
+                .map(requester)
+                .filter(Objects::nonNull)
+                .map(IssueRequesterModel::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // Same rule as the single-item save: a missing or non-positive id creates a new row.
+    private static boolean isUpdate(Integer id) {
+        return id != null && id > 0;
+    }
+}
@@ -4,17 +4,32 @@
 
 package io.gulay.helpdesk.data.service;
 
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
 import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.projection.SolvedRequestRow;
+import io.gulay.helpdesk.data.projection.TicketContextRow;
+import io.gulay.helpdesk.data.projection.TicketSearchRow;
 import io.gulay.helpdesk.data.repository.IssueRequestRepository;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
 import io.gulay.helpdesk.data.util.ExceptionMapperUtil;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.data.util.KeysetCursor;
 import io.gulay.helpdesk.data.util.SortDirection;
 import jakarta.validation.ConstraintViolationException;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionSystemException;
@@ -22,7 +37,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
@@ -30,49 +50,125 @@ import java.util.Date;
 public class IssueRequestService {
     final IssueRequestRepository issueRequestRepository;
 
+    final IssueRequesterRepository issueRequesterRepository;
+
+    final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public IssueRequestService(IssueRequestRepository issueRequestRepository) {
+    public IssueRequestService(IssueRequestRepository issueRequestRepository,
+                               IssueRequesterRepository issueRequesterRepository,
+                               ApplicationEventPublisher eventPublisher) {
         this.issueRequestRepository = issueRequestRepository;
+        this.issueRequesterRepository = issueRequesterRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Cached as a row, like the requester: the entity holds a requester proxy and the lazy responses collection.
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "#id")
+    public IssueRequestRow findById(Integer id) {
+        return IssueRequestRow.of(getRequest(id));
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#id, #isSolved}")
+    public IssueRequestRow findById(Integer id, boolean isSolved) {
+        return IssueRequestRow.of(getRequest(id, isSolved));
+    }
+
+    public List<TicketContextRow> findTicketContext(Integer id, int maxResponses) {
+        try {
+            val rows = issueRequestRepository.findTicketContextById(id, Limit.of(maxResponses));
+            if (rows.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requestId:".concat(id.toString()));
+            }
+
+            return rows;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    // Unknown ids are simply absent from the result; callers report them per ticket.
+    public List<TicketContextRow> findTicketContexts(Collection<Integer> ids, int maxResponses) {
+        try {
+            return issueRequestRepository.findTicketContextByIdIn(ids, maxResponses);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
     }
 
-    public IssueRequestModel findById(Integer id) {
-        return getRequest(id);
+    public List<SolvedRequestRow> findSolvedAfter(Date solvedFrom, Integer afterId, int limit) {
+        try {
+            return issueRequestRepository.findSolvedAfter(solvedFrom, afterId, Limit.of(limit));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
     }
 
-    public IssueRequestModel findById(Integer id, boolean isSolved) {
-        return getRequest(id, isSolved);
+    // Matches request and response bodies alike, ranked by relevance; the order is fixed, so there is no sort input.
+    public GenericPagedModel<TicketSearchRow> searchTickets(String query, int page, int size, boolean withTotals) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "query must not be blank");
+        }
+
+        try {
+            val pageable = PageRequest.of(page, size);
+            final Slice<TicketSearchRow> hits = withTotals
+                    ? issueRequestRepository.searchTickets(query, pageable)
+                    : issueRequestRepository.searchTicketsSlice(query, pageable);
+            if (hits.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "query:".concat(query));
+            }
+
+            return GenericPagedModel.fromSlice(hits);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAll(
+    public GenericPagedModel<IssueRequestRow> findAll(
             int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAll(page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAll(
+            int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requesters = withTotals
+                    ? issueRequestRepository.findPageBy(pageable)
+                    : issueRequestRepository.findSliceBy(pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfter(
+    public GenericPagedModel<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfter(
             Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByCreatedBeforeAndCreatedAfter(
+                createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection,
+            boolean withTotals) {
         try {
-            val requests = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requests = withTotals
+                    ? issueRequestRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable)
+                    : issueRequestRepository.findSliceByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable);
             if (requests.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
@@ -80,27 +176,30 @@ public class IssueRequestService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requests.getTotalElements())
-                    .numberOfElements(requests.getNumberOfElements())
-                    .totalPages(requests.getTotalPages())
-                    .content(requests.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requests);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+    public GenericPagedModel<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
             Date createdBefore, Date createdAfter, boolean isSolved, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+                createdBefore, createdAfter, isSolved, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+            Date createdBefore, Date createdAfter, boolean isSolved, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val requests = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAllByCreatedBeforeAndCreatedAfterAndIsSolved(createdBefore, createdAfter,
-                    isSolved, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAllByCreatedBeforeAndCreatedAfterAndIsSolved(createdBefore, createdAfter,
-                    isSolved, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requests = withTotals
+                    ? issueRequestRepository.findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+                    createdBefore, createdAfter, isSolved, pageable)
+                    : issueRequestRepository.findSliceByCreatedBeforeAndCreatedAfterAndIsSolved(
+                    createdBefore, createdAfter, isSolved, pageable);
             if (requests.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
@@ -109,26 +208,26 @@ public class IssueRequestService {
                                 .concat(",isSolved:").concat(String.valueOf(isSolved)));
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requests.getTotalElements())
-                    .numberOfElements(requests.getNumberOfElements())
-                    .totalPages(requests.getTotalPages())
-                    .content(requests.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requests);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAllBySolvedBeforeAndSolvedAfter(
+    public GenericPagedModel<IssueRequestRow> findAllBySolvedBeforeAndSolvedAfter(
             Date solvedBefore, Date solvedAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllBySolvedBeforeAndSolvedAfter(solvedBefore, solvedAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAllBySolvedBeforeAndSolvedAfter(
+            Date solvedBefore, Date solvedAfter, int page, int size, String sortBy, SortDirection sortDirection,
+            boolean withTotals) {
         try {
-            val requests = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAllBySolvedBeforeAndSolvedAfter(solvedBefore, solvedAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAllBySolvedBeforeAndSolvedAfter(solvedBefore, solvedAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requests = withTotals
+                    ? issueRequestRepository.findAllBySolvedBeforeAndSolvedAfter(solvedBefore, solvedAfter, pageable)
+                    : issueRequestRepository.findSliceBySolvedBeforeAndSolvedAfter(solvedBefore, solvedAfter, pageable);
             if (requests.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "solvedBefore:".concat(String.valueOf(solvedBefore.toInstant().toEpochMilli()))
@@ -136,52 +235,174 @@ public class IssueRequestService {
                                 .concat(String.valueOf(solvedAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requests.getTotalElements())
-                    .numberOfElements(requests.getNumberOfElements())
-                    .totalPages(requests.getTotalPages())
-                    .content(requests.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requests);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAllByRequesterId(
+    public GenericPagedModel<IssueRequestRow> findAllByRequesterId(
             Integer requesterId, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByRequesterId(requesterId, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAllByRequesterId(
+            Integer requesterId, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requests = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAllByRequesterId(requesterId,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAllByRequesterId(requesterId,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requests = withTotals
+                    ? issueRequestRepository.findAllByRequesterId(requesterId, pageable)
+                    : issueRequestRepository.findSliceByRequesterId(requesterId, pageable);
             if (requests.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requesterId:".concat(requesterId.toString()));
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requests.getTotalElements())
-                    .numberOfElements(requests.getNumberOfElements())
-                    .totalPages(requests.getTotalPages())
-                    .content(requests.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requests);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueRequestModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+    public GenericPagedModel<IssueRequestRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection) {
+        return findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                requesterId, createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequestRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
             Integer requesterId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
+        try {
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequestRow> requests = withTotals
+                    ? issueRequestRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                    requesterId, createdBefore, createdAfter, pageable)
+                    : issueRequestRepository.findSliceByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                    requesterId, createdBefore, createdAfter, pageable);
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requesterId:".concat(requesterId.toString())
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromSlice(requests);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAll(
+            String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val requests = issueRequestRepository.findAllBy(
+                    KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
+            }
+
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val requests = issueRequestRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+            Date createdBefore, Date createdAfter, boolean isSolved, String cursor, int size, String sortBy,
             SortDirection sortDirection) {
         try {
-            val requests = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequestRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(requesterId,
-                    createdBefore, createdAfter, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequestRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(requesterId,
-                    createdBefore, createdAfter, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val requests = issueRequestRepository.findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+                    createdBefore, createdAfter, isSolved, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli()))
+                                .concat(",isSolved:").concat(String.valueOf(isSolved)));
+            }
+
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAllBySolvedBeforeAndSolvedAfter(
+            Date solvedBefore, Date solvedAfter, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            // Unsolved rows, whose solved is NULL, are outside the range, so the walk may sort by solved.
+            val requests = issueRequestRepository.findAllBySolvedBeforeAndSolvedAfter(
+                    solvedBefore, solvedAfter, KeysetCursor.decode(cursor, sortBy, Set.of("solved")), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "solvedBefore:".concat(String.valueOf(solvedBefore.toInstant().toEpochMilli()))
+                                .concat(",solvedAfter:")
+                                .concat(String.valueOf(solvedAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAllByRequesterId(
+            Integer requesterId, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val requests = issueRequestRepository.findAllByRequesterId(
+                    requesterId, KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (requests.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requesterId:".concat(requesterId.toString()));
+            }
+
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequestRow> scrollAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val requests = issueRequestRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                    requesterId, createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
             if (requests.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requesterId:".concat(requesterId.toString())
@@ -191,12 +412,28 @@ public class IssueRequestService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequestModel>builder()
-                    .totalElements(requests.getTotalElements())
-                    .numberOfElements(requests.getNumberOfElements())
-                    .totalPages(requests.getTotalPages())
-                    .content(requests.getContent())
-                    .build();
+            return GenericPagedModel.fromWindow(requests.map(IssueRequestRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    // Streams every matching request to the sink inside one read-only transaction, so the cursor stays open
+    // while the caller writes; pass null dates to export the whole table. Returns the number of exported rows.
+    public long exportAll(Date createdBefore, Date createdAfter, Consumer<IssueRequestRow> sink) {
+        try (Stream<IssueRequestRow> rows = createdBefore == null || createdAfter == null
+                ? issueRequestRepository.streamAllForExport()
+                : issueRequestRepository.streamAllForExportByCreatedBeforeAndCreatedAfter(
+                createdBefore, createdAfter)) {
+            long exported = 0;
+            val iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                exported++;
+            }
+
+            return exported;
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -204,6 +441,12 @@ public class IssueRequestService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#id")
+    })
     public IssueRequestModel solveIssue(Integer id) {
         try {
             val issueRequest = getRequest(id);
@@ -211,7 +454,21 @@ public class IssueRequestService {
             issueRequest.setIsSolved(true);
             issueRequest.setSolved(Calendar.getInstance().getTime());
 
-            return issueRequestRepository.saveAndFlush(issueRequest);
+            val solved = issueRequestRepository.saveAndFlush(issueRequest);
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.SOLVED, List.of(id)));
+
+            return solved;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    // The ids that still name a solved request; missing and unsolved ones are left out.
+    public Set<Integer> findSolvedIds(Collection<Integer> ids) {
+        try {
+            return ids.isEmpty() ? Set.of() : issueRequestRepository.findSolvedIdsByIdIn(ids);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -228,32 +485,68 @@ public class IssueRequestService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#result.id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#result.id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#result.id")
+    })
     public IssueRequestModel save(IssueRequestModel model) {
         try {
+            // Callers send the requester as an id holder; the row it names is referenced, never loaded or merged.
+            if (model.getRequester() != null) {
+                model.setRequester(issueRequesterRepository.getReferenceById(model.getRequester().getId()));
+            }
+
             val id = model.getId();
             if (id == null || id <= 0) {
                 model.setId(null);
                 model.setSolved(null);
-                return issueRequestRepository.saveAndFlush(model);
+                model.setVersion(null);
+                val created = issueRequestRepository.saveAndFlush(model);
+                eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.WRITTEN, List.of(created.getId())));
+
+                return created;
+            }
+
+            // The merge below lands on the entity loaded here: one SELECT and one versioned UPDATE, where the exists
+            // check used to add a third round trip. The caller's version is checked against it, so an update is
+            // never last-write-wins.
+            val current = getRequest(id);
+            if (model.getVersion() == null) {
+                throw ExceptionMapperUtil.versionRequired(id);
             }
+            // Read before the merge, which writes the model's state onto this same entity.
+            val reopened = Boolean.TRUE.equals(current.getIsSolved()) && !Boolean.TRUE.equals(model.getIsSolved());
 
-            if (!issueRequestRepository.existsById(id)) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "requestId:".concat(id.toString()));
+            val updated = issueRequestRepository.saveAndFlush(model); // UPDATE ... WHERE version = ?
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.WRITTEN, List.of(id)));
+            if (reopened) {
+                eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.REOPENED, List.of(id)));
             }
 
-            return issueRequestRepository.saveAndFlush(model);
+            return updated;
 
-        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTS, key = "{#id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_RESPONSES, allEntries = true) // ON DELETE CASCADE
+    })
     public IssueRequestModel hardDelete(Integer id) {
         try {
             val requestToHardDelete = getRequest(id);
 
             issueRequestRepository.delete(requestToHardDelete);
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.DELETED, List.of(id)));
 
             return requestToHardDelete;
 
@@ -264,9 +557,15 @@ public class IssueRequestService {
 
     // WARNING: TEST PURPOSES ONLY! DO NOT IMPLEMENT AN ENDPOINT (at least for now) >>
     @Transactional
+    @CacheEvict(cacheNames = {
+            CacheConfiguration.ISSUE_REQUESTS,
+            CacheConfiguration.ISSUE_RESPONSES,
+            CacheConfiguration.TICKET_CONTEXTS
+    }, allEntries = true)
     public void hardDeleteAll() {
         try {
             issueRequestRepository.deleteAll();
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.unknownIds(Change.DELETED));
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -4,17 +4,29 @@
 
 package io.gulay.helpdesk.data.service;
 
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.IssueRequesterRow;
+import io.gulay.helpdesk.data.projection.RequesterLookupRow;
 import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
 import io.gulay.helpdesk.data.util.ExceptionMapperUtil;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.data.util.KeysetCursor;
 import io.gulay.helpdesk.data.util.SortDirection;
 import jakarta.validation.ConstraintViolationException;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionSystemException;
@@ -22,42 +34,55 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 
 @Service
 @Transactional(readOnly = true)
 public class IssueRequesterService {
     final IssueRequesterRepository issueRequesterRepository;
+    final RequesterLookupIndex requesterLookupIndex;
+    final ApplicationEventPublisher eventPublisher;
 
 
     @Autowired
-    public IssueRequesterService(IssueRequesterRepository issueRequesterRepository) {
+    public IssueRequesterService(IssueRequesterRepository issueRequesterRepository,
+                                 RequesterLookupIndex requesterLookupIndex,
+                                 ApplicationEventPublisher eventPublisher) {
         this.issueRequesterRepository = issueRequesterRepository;
+        this.requesterLookupIndex = requesterLookupIndex;
+        this.eventPublisher = eventPublisher;
     }
 
-    public IssueRequesterModel findById(Integer id) {
-        return getRequester(id);
+    // Cached as an immutable row, never as the entity: a cached entity would be one mutable, detached object with
+    // lazy collections, handed to every caller on every thread.
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "#id")
+    public IssueRequesterRow findById(Integer id) {
+        return IssueRequesterRow.of(getRequester(id));
     }
 
-    public IssueRequesterModel findById(Integer id, boolean isActive) {
-        return getRequester(id, isActive);
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{#id, #isActive}")
+    public IssueRequesterRow findById(Integer id, boolean isActive) {
+        return IssueRequesterRow.of(getRequester(id, isActive));
     }
 
     public GenericPagedModel<IssueRequesterModel> findAll(
             int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAll(page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAll(
+            int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequesterRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
+                    ? issueRequesterRepository.findAll(pageable)
+                    : issueRequesterRepository.findSliceBy(pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -66,23 +91,22 @@ public class IssueRequesterService {
 
     public GenericPagedModel<IssueRequesterModel> findAllByFullNameContainingIgnoreCase(
             String fullName, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByFullNameContainingIgnoreCase(fullName, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByFullNameContainingIgnoreCase(
+            String fullName, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequesterRepository.findAllByFullNameContainingIgnoreCase(fullName,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByFullNameContainingIgnoreCase(fullName,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
+                    ? issueRequesterRepository.findAllByFullNameContainingIgnoreCase(fullName, pageable)
+                    : issueRequesterRepository.findSliceByFullNameContainingIgnoreCase(fullName, pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "fullName:".concat(fullName));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -92,14 +116,20 @@ public class IssueRequesterService {
     public GenericPagedModel<IssueRequesterModel> findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
             String fullName, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                fullName, createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String fullName, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
                     ? issueRequesterRepository.findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
-                    fullName, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
-                    fullName, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+                    fullName, createdBefore, createdAfter, pageable)
+                    : issueRequesterRepository.findSliceByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                    fullName, createdBefore, createdAfter, pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "fullName:".concat(fullName)
@@ -109,12 +139,7 @@ public class IssueRequesterService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -123,23 +148,22 @@ public class IssueRequesterService {
 
     public GenericPagedModel<IssueRequesterModel> findAllByEmailContainingIgnoreCase(
             String email, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByEmailContainingIgnoreCase(email, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByEmailContainingIgnoreCase(
+            String email, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequesterRepository.findAllByEmailContainingIgnoreCase(email,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByEmailContainingIgnoreCase(email,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
+                    ? issueRequesterRepository.findAllByEmailContainingIgnoreCase(email, pageable)
+                    : issueRequesterRepository.findSliceByEmailContainingIgnoreCase(email, pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "email:".concat(email));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -149,14 +173,20 @@ public class IssueRequesterService {
     public GenericPagedModel<IssueRequesterModel> findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
             String email, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                email, createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String email, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
                     ? issueRequesterRepository.findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
-                    email, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
-                    email, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+                    email, createdBefore, createdAfter, pageable)
+                    : issueRequesterRepository.findSliceByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                    email, createdBefore, createdAfter, pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "email:".concat(email)
@@ -166,12 +196,7 @@ public class IssueRequesterService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -181,14 +206,20 @@ public class IssueRequesterService {
     public GenericPagedModel<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfterAndIsActive(
             Date createdBefore, Date createdAfter, boolean isActive, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByCreatedBeforeAndCreatedAfterAndIsActive(
+                createdBefore, createdAfter, isActive, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfterAndIsActive(
+            Date createdBefore, Date createdAfter, boolean isActive, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
                     ? issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfterAndIsActive(
-                    createdBefore, createdAfter, isActive,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfterAndIsActive(
-                    createdBefore, createdAfter, isActive,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+                    createdBefore, createdAfter, isActive, pageable)
+                    : issueRequesterRepository.findSliceByCreatedBeforeAndCreatedAfterAndIsActive(
+                    createdBefore, createdAfter, isActive, pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "isActive:".concat(String.valueOf(isActive))
@@ -198,12 +229,7 @@ public class IssueRequesterService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -212,12 +238,184 @@ public class IssueRequesterService {
 
     public GenericPagedModel<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfter(
             Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByCreatedBeforeAndCreatedAfter(
+                createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueRequesterModel> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection,
+            boolean withTotals) {
+        try {
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueRequesterModel> requesters = withTotals
+                    ? issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable)
+                    : issueRequesterRepository.findSliceByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable);
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromSlice(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    // Typeahead over name and email: served from the in-memory index once it is loaded, from the database before.
+    public List<RequesterLookupRow> lookup(String query, Boolean isActive, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "query must not be blank");
+        }
+
+        try {
+            val trimmed = query.trim();
+            if (requesterLookupIndex.isReady()) {
+                return requesterLookupIndex.lookup(trimmed, isActive, limit);
+            }
+
+            val escaped = trimmed.toLowerCase(Locale.ROOT)
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_");
+
+            return issueRequesterRepository.lookup("%" + escaped + "%", escaped + "%", isActive, Limit.of(limit));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAll(
+            String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllBy(
+                    KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByFullNameContainingIgnoreCase(
+            String fullName, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllByFullNameContainingIgnoreCase(
+                    fullName, KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "fullName:".concat(fullName));
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String fullName, Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                    fullName, createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "fullName:".concat(fullName)
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByEmailContainingIgnoreCase(
+            String email, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllByEmailContainingIgnoreCase(
+                    email, KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "email:".concat(email));
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+            String email, Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val requesters = issueRequesterRepository.findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
+                    email, createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "email:".concat(email)
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByCreatedBeforeAndCreatedAfterAndIsActive(
+            Date createdBefore, Date createdAfter, boolean isActive, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfterAndIsActive(
+                    createdBefore, createdAfter, isActive, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (requesters.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "isActive:".concat(String.valueOf(isActive))
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(requesters);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueRequesterModel> scrollAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val requesters = issueRequesterRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
@@ -225,12 +423,7 @@ public class IssueRequesterService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueRequesterModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromWindow(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -238,19 +431,33 @@ public class IssueRequesterService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{#id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{#id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{'exists', #id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{'exists', #id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, allEntries = true) // embeds requester details
+    })
     public IssueRequesterModel toggleActivation(Integer id) {
         try {
             val requester = getRequester(id);
 
             requester.setIsActive(!requester.getIsActive());
 
-            return issueRequesterRepository.save(requester);
+            // Flushed here so a concurrent toggle fails the versioned UPDATE inside this catch, not at commit.
+            val toggled = issueRequesterRepository.saveAndFlush(requester);
+            requesterLookupIndex.put(toggled);
 
-        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            return toggled;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{'exists', #id, #isActive}")
     public Boolean isExistsAndActive(Integer id, Boolean isActive) {
         try {
             return issueRequesterRepository.existsByIdAndIsActive(id, isActive);
@@ -261,6 +468,14 @@ public class IssueRequesterService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{#result.id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{#result.id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{'exists', #result.id, true}"),
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_REQUESTERS, key = "{'exists', #result.id, false}"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, allEntries = true) // embeds requester details
+    })
     public IssueRequesterModel save(IssueRequesterModel model) {
         try {
             val id = model.getId();
@@ -274,26 +489,45 @@ public class IssueRequesterService {
                                     .concat(",isActive:").concat(String.valueOf(model.getIsActive())));
                 }
 
-                return issueRequesterRepository.saveAndFlush(model);
+                model.setVersion(null);
+                val created = issueRequesterRepository.saveAndFlush(model);
+                requesterLookupIndex.put(created);
+
+                return created;
             }
 
-            if (!issueRequesterRepository.existsById(id)) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "requesterId:".concat(id.toString()));
+            // Loaded first so the merge needs no SELECT of its own; a missing row is 404 before a missing version.
+            getRequester(id);
+            if (model.getVersion() == null) {
+                throw ExceptionMapperUtil.versionRequired(id);
             }
 
-            return issueRequesterRepository.saveAndFlush(model); // UPDATE
+            val updated = issueRequesterRepository.saveAndFlush(model); // UPDATE ... WHERE version = ?
+            requesterLookupIndex.put(updated);
 
-        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            return updated;
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {
+            CacheConfiguration.ISSUE_REQUESTERS,
+            CacheConfiguration.ISSUE_REQUESTS,
+            CacheConfiguration.ISSUE_RESPONSES,
+            CacheConfiguration.TICKET_CONTEXTS
+    }, allEntries = true) // ON DELETE CASCADE reaches the requester's requests and responses
     public IssueRequesterModel hardDelete(Integer id) {
         try {
             val requesterToHardDelete = getRequester(id);
 
             issueRequesterRepository.delete(requesterToHardDelete);
+            requesterLookupIndex.remove(requesterToHardDelete.getId());
+            // The cascade takes the requester's tickets along without naming them.
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.unknownIds(Change.DELETED));
 
             return requesterToHardDelete;
 
@@ -304,9 +538,17 @@ public class IssueRequesterService {
 
     // WARNING: TEST PURPOSES ONLY! DO NOT IMPLEMENT AN ENDPOINT (at least for now) >>
     @Transactional
+    @CacheEvict(cacheNames = {
+            CacheConfiguration.ISSUE_REQUESTERS,
+            CacheConfiguration.ISSUE_REQUESTS,
+            CacheConfiguration.ISSUE_RESPONSES,
+            CacheConfiguration.TICKET_CONTEXTS
+    }, allEntries = true)
     public void hardDeleteAll() {
         try {
             issueRequesterRepository.deleteAll();
+            requesterLookupIndex.clear();
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.unknownIds(Change.DELETED));
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
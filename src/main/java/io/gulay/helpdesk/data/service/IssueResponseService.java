@@ -4,69 +4,113 @@
 
 package io.gulay.helpdesk.data.service;
 
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
 import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
+import io.gulay.helpdesk.data.repository.IssueRequestRepository;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
 import io.gulay.helpdesk.data.repository.IssueResponseRepository;
 import io.gulay.helpdesk.data.util.ExceptionMapperUtil;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.data.util.KeysetCursor;
 import io.gulay.helpdesk.data.util.SortDirection;
 import jakarta.validation.ConstraintViolationException;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional(readOnly = true)
 public class IssueResponseService {
     final IssueResponseRepository issueResponseRepository;
 
+    final IssueRequesterRepository issueRequesterRepository;
+
+    final IssueRequestRepository issueRequestRepository;
+
+    final ApplicationEventPublisher eventPublisher;
+
+    final CacheManager cacheManager;
+
     @Autowired
-    public IssueResponseService(IssueResponseRepository issueResponseRepository) {
+    public IssueResponseService(IssueResponseRepository issueResponseRepository,
+                                IssueRequesterRepository issueRequesterRepository,
+                                IssueRequestRepository issueRequestRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                CacheManager cacheManager) {
         this.issueResponseRepository = issueResponseRepository;
+        this.issueRequesterRepository = issueRequesterRepository;
+        this.issueRequestRepository = issueRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
 
-    public IssueResponseModel findById(Integer id) {
-        return getResponse(id);
+    @Cacheable(cacheNames = CacheConfiguration.ISSUE_RESPONSES, key = "#id")
+    public IssueResponseRow findById(Integer id) {
+        return IssueResponseRow.of(getResponse(id));
     }
 
-    public GenericPagedModel<IssueResponseModel> findAll(
+    public GenericPagedModel<IssueResponseRow> findAll(
             int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAll(page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAll(
+            int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val requesters = sortDirection.equals(SortDirection.Ascending)
-                    ? issueResponseRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> requesters = withTotals
+                    ? issueResponseRepository.findPageBy(pageable)
+                    : issueResponseRepository.findSliceBy(pageable);
             if (requesters.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(requesters.getTotalElements())
-                    .numberOfElements(requesters.getNumberOfElements())
-                    .totalPages(requesters.getTotalPages())
-                    .content(requesters.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(requesters);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueResponseModel> findAllByCreatedBeforeAndCreatedAfter(
+    public GenericPagedModel<IssueResponseRow> findAllByCreatedBeforeAndCreatedAfter(
             Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByCreatedBeforeAndCreatedAfter(
+                createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection,
+            boolean withTotals) {
         try {
-            val responses = sortDirection.equals(SortDirection.Ascending)
-                    ? issueResponseRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> responses = withTotals
+                    ? issueResponseRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable)
+                    : issueResponseRepository.findSliceByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, pageable);
             if (responses.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
@@ -74,54 +118,54 @@ public class IssueResponseService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(responses.getTotalElements())
-                    .numberOfElements(responses.getNumberOfElements())
-                    .totalPages(responses.getTotalPages())
-                    .content(responses.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(responses);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueResponseModel> findAllByRequestId(
+    public GenericPagedModel<IssueResponseRow> findAllByRequestId(
             Integer requestId, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByRequestId(requestId, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAllByRequestId(
+            Integer requestId, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val responses = sortDirection.equals(SortDirection.Ascending)
-                    ? issueResponseRepository.findAllByRequestId(requestId,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAllByRequestId(requestId,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> responses = withTotals
+                    ? issueResponseRepository.findAllByRequestId(requestId, pageable)
+                    : issueResponseRepository.findSliceByRequestId(requestId, pageable);
             if (responses.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requestId:".concat(requestId.toString()));
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(responses.getTotalElements())
-                    .numberOfElements(responses.getNumberOfElements())
-                    .totalPages(responses.getTotalPages())
-                    .content(responses.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(responses);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueResponseModel> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+    public GenericPagedModel<IssueResponseRow> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
             Integer requestId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+                requestId, createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+            Integer requestId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val responses = sortDirection.equals(SortDirection.Ascending)
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> responses = withTotals
                     ? issueResponseRepository.findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
-                    requestId, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
-                    requestId, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+                    requestId, createdBefore, createdAfter, pageable)
+                    : issueResponseRepository.findSliceByRequestIdAndCreatedBeforeAndCreatedAfter(
+                    requestId, createdBefore, createdAfter, pageable);
             if (responses.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requestId:".concat(requestId.toString())
@@ -131,54 +175,171 @@ public class IssueResponseService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(responses.getTotalElements())
-                    .numberOfElements(responses.getNumberOfElements())
-                    .totalPages(responses.getTotalPages())
-                    .content(responses.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(responses);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueResponseModel> findAllByRequesterId(
+    public GenericPagedModel<IssueResponseRow> findAllByRequesterId(
             Integer requesterId, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByRequesterId(requesterId, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAllByRequesterId(
+            Integer requesterId, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val responses = sortDirection.equals(SortDirection.Ascending)
-                    ? issueResponseRepository.findAllByRequesterId(requesterId,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAllByRequesterId(requesterId,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> responses = withTotals
+                    ? issueResponseRepository.findAllByRequesterId(requesterId, pageable)
+                    : issueResponseRepository.findSliceByRequesterId(requesterId, pageable);
             if (responses.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requesterId:".concat(requesterId.toString()));
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(responses.getTotalElements())
-                    .numberOfElements(responses.getNumberOfElements())
-                    .totalPages(responses.getTotalPages())
-                    .content(responses.getContent())
-                    .build();
+            return GenericPagedModel.fromSlice(responses);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
-    public GenericPagedModel<IssueResponseModel> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+    public GenericPagedModel<IssueResponseRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
             Integer requesterId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
             SortDirection sortDirection) {
+        return findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                requesterId, createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<IssueResponseRow> findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, int page, int size, String sortBy,
+            SortDirection sortDirection, boolean withTotals) {
         try {
-            val responses = sortDirection.equals(SortDirection.Ascending)
+            val pageable = PageRequest.of(page, size, sortDirection.toSort(sortBy));
+            final Slice<IssueResponseRow> responses = withTotals
                     ? issueResponseRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
-                    requesterId, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : issueResponseRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
-                    requesterId, createdBefore, createdAfter,
-                    PageRequest.of(page, size, Sort.by(sortBy).descending()));
+                    requesterId, createdBefore, createdAfter, pageable)
+                    : issueResponseRepository.findSliceByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                    requesterId, createdBefore, createdAfter, pageable);
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requesterId:".concat(requesterId.toString())
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromSlice(responses);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAll(
+            String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllBy(
+                    KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
+            }
+
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAllByCreatedBeforeAndCreatedAfter(
+            Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllByCreatedBeforeAndCreatedAfter(
+                    createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "createdBefore:".concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAllByRequestId(
+            Integer requestId, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllByRequestId(
+                    requestId, KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requestId:".concat(requestId.toString()));
+            }
+
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+            Integer requestId, Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
+                    requestId, createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requestId:".concat(requestId.toString())
+                                .concat(",createdBefore:")
+                                .concat(String.valueOf(createdBefore.toInstant().toEpochMilli()))
+                                .concat(",createdAfter:")
+                                .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
+            }
+
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAllByRequesterId(
+            Integer requesterId, String cursor, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllByRequesterId(
+                    requesterId, KeysetCursor.decode(cursor, sortBy), Limit.of(size), sortDirection.toSort(sortBy));
+            if (responses.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "requesterId:".concat(requesterId.toString()));
+            }
+
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            throw ExceptionMapperUtil.mapPersistenceException(ex);
+        }
+    }
+
+    public GenericPagedModel<IssueResponseRow> scrollAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+            Integer requesterId, Date createdBefore, Date createdAfter, String cursor, int size, String sortBy,
+            SortDirection sortDirection) {
+        try {
+            val responses = issueResponseRepository.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
+                    requesterId, createdBefore, createdAfter, KeysetCursor.decode(cursor, sortBy), Limit.of(size),
+                    sortDirection.toSort(sortBy));
             if (responses.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "requesterId:".concat(requesterId.toString())
@@ -188,12 +349,7 @@ public class IssueResponseService {
                                 .concat(String.valueOf(createdAfter.toInstant().toEpochMilli())));
             }
 
-            return GenericPagedModel.<IssueResponseModel>builder()
-                    .totalElements(responses.getTotalElements())
-                    .numberOfElements(responses.getNumberOfElements())
-                    .totalPages(responses.getTotalPages())
-                    .content(responses.getContent())
-                    .build();
+            return GenericPagedModel.fromWindow(responses.map(IssueResponseRow::of));
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -201,33 +357,59 @@ public class IssueResponseService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_RESPONSES, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#result.request.id")
+    })
     public IssueResponseModel save(IssueResponseModel model) {
         try {
+            // References by id, as in the request save.
+            if (model.getRequester() != null) {
+                model.setRequester(issueRequesterRepository.getReferenceById(model.getRequester().getId()));
+            }
+            if (model.getRequest() != null) {
+                model.setRequest(issueRequestRepository.getReferenceById(model.getRequest().getId()));
+            }
+
             val id = model.getId();
             if (id == null || id <= 0) {
                 model.setId(null);
-                return issueResponseRepository.saveAndFlush(model);
+                model.setVersion(null);
+                return written(issueResponseRepository.saveAndFlush(model));
             }
 
-            if (!issueResponseRepository.existsById(id)) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "responseId:".concat(id.toString()));
+            // Same as the request update: one SELECT, then a versioned UPDATE. The request id is read before the
+            // merge, which would overwrite it on the managed entity.
+            val previousRequestId = getResponse(id).getRequest().getId();
+            if (model.getVersion() == null) {
+                throw ExceptionMapperUtil.versionRequired(id);
             }
 
-            return issueResponseRepository.saveAndFlush(model);
+            val saved = issueResponseRepository.saveAndFlush(model); // UPDATE ... WHERE version = ?
+            if (!previousRequestId.equals(saved.getRequest().getId())) {
+                evictTicketContextAfterCommit(previousRequestId);
+            }
 
-        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
+            return written(saved, previousRequestId);
+
+        } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException
+                       | OptimisticLockingFailureException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
         }
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ISSUE_RESPONSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#result.request.id")
+    })
     public IssueResponseModel hardDelete(Integer id) {
         try {
             val responseToHardDelete = getResponse(id);
 
             issueResponseRepository.delete(responseToHardDelete);
 
-            return responseToHardDelete;
+            return written(responseToHardDelete);
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -236,9 +418,12 @@ public class IssueResponseService {
 
     // WARNING: TEST PURPOSES ONLY! DO NOT IMPLEMENT AN ENDPOINT (at least for now) >>
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfiguration.ISSUE_RESPONSES, CacheConfiguration.TICKET_CONTEXTS},
+            allEntries = true)
     public void hardDeleteAll() {
         try {
             issueResponseRepository.deleteAll();
+            eventPublisher.publishEvent(IssueRequestsChangedEvent.unknownIds(Change.WRITTEN));
 
         } catch (final ConstraintViolationException | DataIntegrityViolationException | TransactionSystemException ex) {
             throw ExceptionMapperUtil.mapPersistenceException(ex);
@@ -246,6 +431,29 @@ public class IssueResponseService {
     }
     // << WARNING: TEST PURPOSES ONLY! DO NOT IMPLEMENT AN ENDPOINT (at least for now)
 
+    // A response is part of its request's ticket, so writing it changes that ticket.
+    private IssueResponseModel written(IssueResponseModel response) {
+        return written(response, response.getRequest().getId());
+    }
+
+    // A response moved to another request changes both tickets.
+    private IssueResponseModel written(IssueResponseModel response, Integer previousRequestId) {
+        val requestIds = List.of(response.getRequest().getId(), previousRequestId);
+        eventPublisher.publishEvent(IssueRequestsChangedEvent.of(Change.WRITTEN, requestIds));
+
+        return response;
+    }
+
+    // The @CacheEvict on save only sees the request the response belongs to now.
+    private void evictTicketContextAfterCommit(Integer requestId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.TICKET_CONTEXTS)).evict(requestId);
+            }
+        });
+    }
+
     private IssueResponseModel getResponse(Integer id) {
         try {
             val request = issueResponseRepository.findById(id);
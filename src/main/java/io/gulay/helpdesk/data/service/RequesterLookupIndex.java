@@ -0,0 +1,302 @@
+package io.gulay.helpdesk.data.service;
+
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.RequesterLookupRow;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram index of requester names and emails for typeahead lookups. It answers the same case-insensitive
+// "contains" match as the *ContainingIgnoreCase queries without a table scan: the trigrams of the query select the
+// candidates, which are then checked with String.contains. Queries shorter than a trigram scan the entries in memory.
+// The index is loaded in the background once the application is ready; until then, or when the table outgrows
+// max-entries, lookups fall back to the database. Writes reach the index after their transaction commits.
+@Slf4j
+@Component
+public class RequesterLookupIndex {
+    private static final int GRAM = 3;
+
+    private final IssueRequesterRepository issueRequesterRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    // Ids written while the index loads; the loader skips them so it never restores an older row.
+    private final Set<Integer> writtenWhileLoading = new HashSet<>();
+    private boolean loading;
+    private volatile boolean ready;
+
+    public RequesterLookupIndex(
+            IssueRequesterRepository issueRequesterRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${helpdesk.requester-lookup.enabled:true}") boolean enabled,
+            @Value("${helpdesk.requester-lookup.max-entries:200000}") int maxEntries
+    ) {
+        this.issueRequesterRepository = issueRequesterRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Matches in the order the database fallback uses: names or emails starting with the query first, then by id.
+    public List<RequesterLookupRow> lookup(String query, Boolean isActive, int limit) {
+        val key = query.toLowerCase(Locale.ROOT);
+        val matches = new ArrayList<Entry>();
+
+        lock.readLock().lock();
+        try {
+            for (val id : candidates(key)) {
+                val entry = entries.get(id);
+                if (entry != null && entry.matches(key, isActive)) {
+                    matches.add(entry);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparing((Entry entry) -> !entry.startsWith(key)).thenComparing(Entry::id))
+                .limit(limit)
+                .map(Entry::row)
+                .toList();
+    }
+
+    public void put(IssueRequesterModel model) {
+        val entry = Entry.of(RequesterLookupRow.of(model));
+        afterCommit(() -> write(entry.id(), entry));
+    }
+
+    public void remove(Integer id) {
+        afterCommit(() -> write(id, null));
+    }
+
+    public void clear() {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                entries.clear();
+                postings.clear();
+                if (loading) {
+                    // Rows the loader has not reached yet are gone as well.
+                    ready = false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!enabled) {
+            log.info("Requester lookup index is disabled; typeahead lookups query the database");
+            return;
+        }
+
+        val loader = new Thread(this::load, "requester-lookup-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Public for tests and for a manual reload; lookups keep using the database until it completes.
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            loading = true;
+            entries.clear();
+            postings.clear();
+            writtenWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            val count = issueRequesterRepository.count();
+            if (count > maxEntries) {
+                log.warn("Requester lookup index disabled: {} requesters exceed max-entries {}", count, maxEntries);
+                return;
+            }
+
+            val started = System.nanoTime();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (val rows = issueRequesterRepository.streamAllForLookup()) {
+                    rows.forEach(row -> {
+                        lock.writeLock().lock();
+                        try {
+                            if (!writtenWhileLoading.contains(row.id())) {
+                                index(Entry.of(row));
+                            }
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    });
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                ready = entries.size() <= maxEntries;
+                log.info("Requester lookup index loaded {} requesters in {} ms", entries.size(),
+                        (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+        } catch (RuntimeException ex) {
+            log.warn("Requester lookup index could not be loaded; typeahead lookups query the database", ex);
+
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                writtenWhileLoading.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void write(Integer id, Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                writtenWhileLoading.add(id);
+            }
+
+            unindex(id);
+            if (entry != null) {
+                index(entry);
+            }
+
+            if (ready && entries.size() > maxEntries) {
+                log.warn("Requester lookup index disabled: more than {} requesters", maxEntries);
+                ready = false;
+                entries.clear();
+                postings.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.id(), entry);
+        for (val gram : entry.grams()) {
+            postings.computeIfAbsent(gram, ignored -> new HashSet<>()).add(entry.id());
+        }
+    }
+
+    private void unindex(Integer id) {
+        val previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        for (val gram : previous.grams()) {
+            val ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // The smallest posting list of the query's trigrams; every match contains all of them, so any list will do.
+    private Collection<Integer> candidates(String key) {
+        if (key.length() < GRAM) {
+            return entries.keySet();
+        }
+
+        Set<Integer> smallest = null;
+        for (val gram : grams(key)) {
+            val ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        return smallest;
+    }
+
+    private static Set<String> grams(String key) {
+        val grams = new HashSet<String>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+
+        return grams;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record Entry(RequesterLookupRow row, String name, String email) {
+        static Entry of(RequesterLookupRow row) {
+            return new Entry(row,
+                    row.fullName() == null ? "" : row.fullName().toLowerCase(Locale.ROOT),
+                    row.email() == null ? "" : row.email().toLowerCase(Locale.ROOT));
+        }
+
+        Integer id() {
+            return row.id();
+        }
+
+        boolean matches(String key, Boolean isActive) {
+            return (isActive == null || isActive.equals(row.isActive()))
+                    && (name.contains(key) || email.contains(key));
+        }
+
+        boolean startsWith(String key) {
+            return name.startsWith(key) || email.startsWith(key);
+        }
+
+        Set<String> grams() {
+            val grams = RequesterLookupIndex.grams(name);
+            grams.addAll(RequesterLookupIndex.grams(email));
+
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.gulay.helpdesk.data.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Outcome of one item of a bulk write. index is the item's position in the request;
+// status is 200 for a saved item (id set) or the status the single-item route would have returned.
+public record BulkItemResult(int index, Integer id, int status, String message) {
+
+    public static BulkItemResult saved(int index, Integer id) {
+        return new BulkItemResult(index, id, HttpStatus.OK.value(), null);
+    }
+
+    public static BulkItemResult failed(int index, ResponseStatusException ex) {
+        return new BulkItemResult(index, null, ex.getStatusCode().value(), ex.getReason());
+    }
+
+    public boolean isSaved() {
+        return status == HttpStatus.OK.value();
+    }
+}
@@ -3,10 +3,13 @@ package io.gulay.helpdesk.data.util;
 import jakarta.validation.ConstraintViolationException;
 import lombok.val;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public final class ExceptionMapperUtil {
@@ -25,9 +28,20 @@ public final class ExceptionMapperUtil {
             return conflictFrom(dive);
         }
 
+        // The row changed (or was deleted) since the version the caller read.
+        if (ex instanceof OptimisticLockingFailureException olfe) {
+            return staleVersionFrom(olfe);
+        }
+
         return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected persistence error");
     }
 
+    // An update must name the version it was read at; without one it would silently overwrite a concurrent write.
+    public static ResponseStatusException versionRequired(Integer id) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED,
+                "version required,id:".concat(String.valueOf(id)));
+    }
+
     private static ResponseStatusException badRequestFrom(ConstraintViolationException cve) {
         val detail = cve.getConstraintViolations().stream()
                 .map(v -> v.getPropertyPath() + ": " + v.getMessage())
@@ -41,4 +55,11 @@ public final class ExceptionMapperUtil {
         val msg = ex.getMostSpecificCause().getMessage();
         return new ResponseStatusException(HttpStatus.CONFLICT, msg);
     }
-}
\ No newline at end of file
+
+    private static ResponseStatusException staleVersionFrom(OptimisticLockingFailureException ex) {
+        val id = ex instanceof ObjectOptimisticLockingFailureException oolfe ? oolfe.getIdentifier() : null;
+        return new ResponseStatusException(HttpStatus.CONFLICT, Objects.isNull(id)
+                ? "stale version"
+                : "stale version,id:".concat(String.valueOf(id)));
+    }
+}
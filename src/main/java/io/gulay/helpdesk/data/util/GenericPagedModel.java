@@ -2,14 +2,50 @@ package io.gulay.helpdesk.data.util;
 
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.util.Collection;
 
 @Builder
 @Data
 public class GenericPagedModel<T> {
+    // Totals are not computed in keyset or slice mode and are reported as -1.
+    public static final int UNKNOWN_TOTAL = -1;
+
     public long totalElements;
     public int totalPages;
     public int numberOfElements;
     public Collection<T> content;
-}
+    @Builder.Default
+    public String nextCursor = "";
+    public boolean hasNext;
+
+    public static <T> GenericPagedModel<T> fromSlice(Slice<T> slice) {
+        final GenericPagedModelBuilder<T> builder = GenericPagedModel.<T>builder()
+                .totalElements(UNKNOWN_TOTAL)
+                .totalPages(UNKNOWN_TOTAL)
+                .numberOfElements(slice.getNumberOfElements())
+                .content(slice.getContent())
+                .hasNext(slice.hasNext());
+
+        if (slice instanceof Page<T> page) {
+            builder.totalElements(page.getTotalElements())
+                    .totalPages(page.getTotalPages());
+        }
+
+        return builder.build();
+    }
+
+    public static <T> GenericPagedModel<T> fromWindow(Window<T> window) {
+        return GenericPagedModel.<T>builder()
+                .totalElements(UNKNOWN_TOTAL)
+                .totalPages(UNKNOWN_TOTAL)
+                .numberOfElements(window.size())
+                .content(window.getContent())
+                .nextCursor(KeysetCursor.nextCursor(window))
+                .hasNext(window.hasNext())
+                .build();
+    }
+}
\ No newline at end of file
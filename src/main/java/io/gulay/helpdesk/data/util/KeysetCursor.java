@@ -0,0 +1,139 @@
+package io.gulay.helpdesk.data.util;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Opaque continuation token for keyset paging. It carries the sort column and id values of the last row
+// of the previous window, e.g. "created:d:1719878400000,id:i:42", Base64URL encoded.
+public final class KeysetCursor {
+    private static final String ENTRY_SEPARATOR = ",";
+    private static final String PART_SEPARATOR = ":";
+    private static final String ID = "id";
+
+    // The columns a walk may sort by, with the type of their cursor value. A NULL sort key makes the keyset
+    // predicate unknown for that row, so the walk would end there without an error: "solved" is only accepted
+    // where the query's own filter excludes NULLs.
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            ID, Integer.class,
+            "created", Date.class,
+            "version", Long.class,
+            "isSolved", Boolean.class,
+            "isActive", Boolean.class,
+            "fullName", String.class,
+            "email", String.class,
+            "body", String.class);
+
+    private static final Map<String, Class<?>> NULLABLE_SORT_KEYS = Map.of("solved", Date.class);
+
+    public static ScrollPosition decode(String cursor, String sortBy) {
+        return decode(cursor, sortBy, Set.of());
+    }
+
+    // notNullByFilter names nullable columns the caller's WHERE clause already restricts to non-NULL values.
+    public static ScrollPosition decode(String cursor, String sortBy, Set<String> notNullByFilter) {
+        val sortType = notNullByFilter.contains(sortBy)
+                ? NULLABLE_SORT_KEYS.getOrDefault(sortBy, SORT_KEYS.get(sortBy))
+                : SORT_KEYS.get(sortBy);
+        if (sortType == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sortBy:".concat(String.valueOf(sortBy)));
+        }
+
+        if (StringUtils.isBlank(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            val decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            val keys = new LinkedHashMap<String, Object>();
+
+            for (val entry : decoded.split(ENTRY_SEPARATOR)) {
+                val parts = entry.split(PART_SEPARATOR, 3);
+                keys.put(parts[0], decodeValue(parts[1], parts[2]));
+            }
+
+            // Exactly the sort column and the id tiebreak, each holding a value of the column's type.
+            if (!keys.keySet().equals(ID.equals(sortBy) ? Set.of(ID) : Set.of(sortBy, ID))
+                    || !sortType.isInstance(keys.get(sortBy))
+                    || !(keys.get(ID) instanceof Integer)) {
+                throw invalidCursor(cursor);
+            }
+
+            return ScrollPosition.forward(keys);
+
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    public static String nextCursor(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return "";
+        }
+
+        if (!(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position)) {
+            return "";
+        }
+
+        val encoded = position.getKeys().entrySet()
+                .stream()
+                .map(KeysetCursor::encodeEntry)
+                .collect(Collectors.joining(ENTRY_SEPARATOR));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeEntry(Map.Entry<String, ?> entry) {
+        val value = entry.getValue();
+        final String type;
+        final String text;
+
+        if (value instanceof Date date) {
+            type = "d";
+            text = String.valueOf(date.getTime());
+        } else if (value instanceof Integer) {
+            type = "i";
+            text = value.toString();
+        } else if (value instanceof Long) {
+            type = "l";
+            text = value.toString();
+        } else if (value instanceof Boolean) {
+            type = "b";
+            text = value.toString();
+        } else {
+            type = "s";
+            text = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return entry.getKey().concat(PART_SEPARATOR).concat(type).concat(PART_SEPARATOR).concat(text);
+    }
+
+    private static Object decodeValue(String type, String text) {
+        return switch (type) {
+            case "d" -> new Date(Long.parseLong(text));
+            case "i" -> Integer.valueOf(text);
+            case "l" -> Long.valueOf(text);
+            case "b" -> Boolean.valueOf(text);
+            case "s" -> new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+
+    private static ResponseStatusException invalidCursor(String cursor) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor:".concat(cursor));
+    }
+}
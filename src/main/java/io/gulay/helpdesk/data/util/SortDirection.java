@@ -2,6 +2,7 @@ package io.gulay.helpdesk.data.util;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -42,4 +43,10 @@ public enum SortDirection {
         }
         return sd;
     }
+
+    public Sort toSort(String property) {
+        return this.equals(Ascending)
+                ? Sort.by(property).ascending()
+                : Sort.by(property).descending();
+    }
 }
\ No newline at end of file
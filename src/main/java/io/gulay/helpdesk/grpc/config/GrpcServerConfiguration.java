@@ -0,0 +1,44 @@
+package io.gulay.helpdesk.grpc.config;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.io.IOException;
+import java.util.List;
+
+// Native gRPC (HTTP/2, binary protobuf) next to the HTTP API, serving the same services and messages.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "helpdesk.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public Server grpcServer(
+            @Value("${helpdesk.grpc.port:9090}") int port,
+            List<BindableService> services,
+            Environment environment
+    ) throws IOException {
+        val builder = ServerBuilder.forPort(port);
+        services.forEach(builder::addService);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder.executor(new VirtualThreadTaskExecutor("grpc-"));
+        }
+
+        val server = builder.build().start();
+
+        log.info("gRPC server started on port {} with {} services", server.getPort(), services.size());
+
+        return server;
+    }
+}
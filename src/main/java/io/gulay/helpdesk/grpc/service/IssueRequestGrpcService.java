@@ -0,0 +1,107 @@
+package io.gulay.helpdesk.grpc.service;
+
+import io.grpc.stub.StreamObserver;
+import io.gulay.helpdesk.controller.util.ProtoMappers;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.service.IssueRequestService;
+import io.gulay.helpdesk.data.service.IssueRequesterService;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.protoGen.*;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import static io.gulay.helpdesk.controller.util.ProtoMappers.fromNullableLong;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapIssueRequest;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapPagedIssueRequests;
+import static io.gulay.helpdesk.grpc.util.GrpcCalls.*;
+
+@Service
+@Slf4j
+public class IssueRequestGrpcService extends IssueRequestApiGrpc.IssueRequestApiImplBase {
+    final IssueRequestService issueRequestService;
+    final IssueRequesterService issueRequesterService;
+
+    @Autowired
+    public IssueRequestGrpcService(IssueRequestService issueRequestService,
+                                   IssueRequesterService issueRequesterService) {
+        this.issueRequestService = issueRequestService;
+        this.issueRequesterService = issueRequesterService;
+    }
+
+    @Override
+    public void getIssueRequest(IdRequest request, StreamObserver<IssueRequest> responseObserver) {
+        log.info("Calling gRPC: getIssueRequest >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequest(issueRequestService.findById(request.getId())));
+    }
+
+    @Override
+    public void listIssueRequests(ListIssueRequestsRequest request, StreamObserver<PagedData> responseObserver) {
+        log.info("Calling gRPC: listIssueRequests >> Requester Id: {}", request.getRequesterId());
+        val page = request.getPage();
+
+        unary(responseObserver, () -> mapPagedIssueRequests(page.hasCursor()
+                ? scroll(request, page.getCursor(), pageSize(page))
+                : request.getRequesterId() > 0
+                ? issueRequestService.findAllByRequesterId(request.getRequesterId(), page.getPageNo(),
+                pageSize(page), sortBy(page), sortDirection(page), !page.getSkipTotals())
+                : issueRequestService.findAll(page.getPageNo(), pageSize(page), sortBy(page), sortDirection(page),
+                !page.getSkipTotals())));
+    }
+
+    @Override
+    public void streamIssueRequests(ListIssueRequestsRequest request, StreamObserver<IssueRequest> responseObserver) {
+        log.info("Calling gRPC: streamIssueRequests >> Requester Id: {}", request.getRequesterId());
+        val page = request.getPage();
+
+        stream(responseObserver, page, cursor -> scroll(request, cursor, fetchSize(page)),
+                ProtoMappers::mapIssueRequest);
+    }
+
+    @Override
+    public void saveIssueRequest(IssueRequest request, StreamObserver<IssueRequest> responseObserver) {
+        log.info("Calling gRPC: saveIssueRequest >> {} | Requester Id: {}", request.getId(), request.getRequesterId());
+        unary(responseObserver, () -> {
+            if (!issueRequesterService.isExistsAndActive(request.getRequesterId(), true)) {
+                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requesterId:".concat(String.valueOf(request.getRequesterId()))
+                                .concat(",isActive:true"));
+            }
+
+            return mapIssueRequest(issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .id(request.getId())
+                    .version(fromNullableLong(request.getVersion()))
+                    .isSolved(request.getIsSolved().getData())
+                    .requester(IssueRequesterModel.builder().id(request.getRequesterId()).build())
+                    .body(request.getBody())
+                    .build()));
+        });
+    }
+
+    @Override
+    public void solveIssueRequest(IdRequest request, StreamObserver<IssueRequest> responseObserver) {
+        log.info("Calling gRPC: solveIssueRequest >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequest(issueRequestService.solveIssue(request.getId())));
+    }
+
+    @Override
+    public void deleteIssueRequest(IdRequest request, StreamObserver<IssueRequest> responseObserver) {
+        log.info("Calling gRPC: deleteIssueRequest >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequest(issueRequestService.hardDelete(request.getId())));
+    }
+
+    private GenericPagedModel<IssueRequestRow> scroll(ListIssueRequestsRequest request, String cursor, int size) {
+        val page = request.getPage();
+
+        return request.getRequesterId() > 0
+                ? issueRequestService.scrollAllByRequesterId(request.getRequesterId(), cursor, size,
+                sortBy(page), sortDirection(page))
+                : issueRequestService.scrollAll(cursor, size, sortBy(page), sortDirection(page));
+    }
+}
@@ -0,0 +1,80 @@
+package io.gulay.helpdesk.grpc.service;
+
+import io.grpc.stub.StreamObserver;
+import io.gulay.helpdesk.controller.util.ProtoMappers;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.service.IssueRequesterService;
+import io.gulay.helpdesk.protoGen.*;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import static io.gulay.helpdesk.controller.util.ProtoMappers.fromNullableLong;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapIssueRequester;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapPagedIssueRequesters;
+import static io.gulay.helpdesk.grpc.util.GrpcCalls.*;
+
+@Service
+@Slf4j
+public class IssueRequesterGrpcService extends IssueRequesterApiGrpc.IssueRequesterApiImplBase {
+    final IssueRequesterService issueRequesterService;
+
+    @Autowired
+    public IssueRequesterGrpcService(IssueRequesterService issueRequesterService) {
+        this.issueRequesterService = issueRequesterService;
+    }
+
+    @Override
+    public void getIssueRequester(IdRequest request, StreamObserver<IssueRequester> responseObserver) {
+        log.info("Calling gRPC: getIssueRequester >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequester(issueRequesterService.findById(request.getId())));
+    }
+
+    @Override
+    public void listIssueRequesters(ListIssueRequestersRequest request, StreamObserver<PagedData> responseObserver) {
+        log.info("Calling gRPC: listIssueRequesters");
+        val page = request.getPage();
+
+        unary(responseObserver, () -> mapPagedIssueRequesters(page.hasCursor()
+                ? issueRequesterService.scrollAll(page.getCursor(), pageSize(page), sortBy(page), sortDirection(page))
+                : issueRequesterService.findAll(page.getPageNo(), pageSize(page), sortBy(page), sortDirection(page),
+                !page.getSkipTotals())));
+    }
+
+    @Override
+    public void streamIssueRequesters(ListIssueRequestersRequest request,
+                                      StreamObserver<IssueRequester> responseObserver) {
+        log.info("Calling gRPC: streamIssueRequesters");
+        val page = request.getPage();
+
+        stream(responseObserver, page,
+                cursor -> issueRequesterService.scrollAll(cursor, fetchSize(page), sortBy(page), sortDirection(page)),
+                ProtoMappers::mapIssueRequester);
+    }
+
+    @Override
+    public void saveIssueRequester(IssueRequester request, StreamObserver<IssueRequester> responseObserver) {
+        log.info("Calling gRPC: saveIssueRequester >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequester(issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .id(request.getId())
+                .version(fromNullableLong(request.getVersion()))
+                .isActive(request.getIsActive().getData())
+                .fullName(request.getFullName())
+                .email(request.getEmail())
+                .build())));
+    }
+
+    @Override
+    public void toggleIssueRequesterActivation(IdRequest request, StreamObserver<IssueRequester> responseObserver) {
+        log.info("Calling gRPC: toggleIssueRequesterActivation >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequester(issueRequesterService.toggleActivation(request.getId())));
+    }
+
+    @Override
+    public void deleteIssueRequester(IdRequest request, StreamObserver<IssueRequester> responseObserver) {
+        log.info("Calling gRPC: deleteIssueRequester >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueRequester(issueRequesterService.hardDelete(request.getId())));
+    }
+}
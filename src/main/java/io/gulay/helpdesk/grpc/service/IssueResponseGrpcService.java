@@ -0,0 +1,113 @@
+package io.gulay.helpdesk.grpc.service;
+
+import io.grpc.stub.StreamObserver;
+import io.gulay.helpdesk.controller.util.ProtoMappers;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
+import io.gulay.helpdesk.data.service.IssueRequestService;
+import io.gulay.helpdesk.data.service.IssueRequesterService;
+import io.gulay.helpdesk.data.service.IssueResponseService;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.protoGen.*;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import static io.gulay.helpdesk.controller.util.ProtoMappers.fromNullableLong;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapIssueResponse;
+import static io.gulay.helpdesk.controller.util.ProtoMappers.mapPagedIssueResponses;
+import static io.gulay.helpdesk.grpc.util.GrpcCalls.*;
+
+@Service
+@Slf4j
+public class IssueResponseGrpcService extends IssueResponseApiGrpc.IssueResponseApiImplBase {
+    final IssueResponseService issueResponseService;
+    final IssueRequestService issueRequestService;
+    final IssueRequesterService issueRequesterService;
+
+    @Autowired
+    public IssueResponseGrpcService(IssueResponseService issueResponseService,
+                                    IssueRequestService issueRequestService,
+                                    IssueRequesterService issueRequesterService) {
+        this.issueResponseService = issueResponseService;
+        this.issueRequestService = issueRequestService;
+        this.issueRequesterService = issueRequesterService;
+    }
+
+    @Override
+    public void getIssueResponse(IdRequest request, StreamObserver<IssueResponse> responseObserver) {
+        log.info("Calling gRPC: getIssueResponse >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueResponse(issueResponseService.findById(request.getId())));
+    }
+
+    @Override
+    public void listIssueResponses(ListIssueResponsesRequest request, StreamObserver<PagedData> responseObserver) {
+        log.info("Calling gRPC: listIssueResponses >> Request Id: {}", request.getRequestId());
+        val page = request.getPage();
+
+        unary(responseObserver, () -> mapPagedIssueResponses(page.hasCursor()
+                ? scroll(request, page.getCursor(), pageSize(page))
+                : request.getRequestId() > 0
+                ? issueResponseService.findAllByRequestId(request.getRequestId(), page.getPageNo(),
+                pageSize(page), sortBy(page), sortDirection(page), !page.getSkipTotals())
+                : issueResponseService.findAll(page.getPageNo(), pageSize(page), sortBy(page), sortDirection(page),
+                !page.getSkipTotals())));
+    }
+
+    @Override
+    public void streamIssueResponses(ListIssueResponsesRequest request,
+                                     StreamObserver<IssueResponse> responseObserver) {
+        log.info("Calling gRPC: streamIssueResponses >> Request Id: {}", request.getRequestId());
+        val page = request.getPage();
+
+        stream(responseObserver, page, cursor -> scroll(request, cursor, fetchSize(page)),
+                ProtoMappers::mapIssueResponse);
+    }
+
+    @Override
+    public void saveIssueResponse(IssueResponse request, StreamObserver<IssueResponse> responseObserver) {
+        log.info("Calling gRPC: saveIssueResponse >> {} | Request Id: {} | Requester Id: {}",
+                request.getId(), request.getRequestId(), request.getRequesterId());
+        unary(responseObserver, () -> {
+            if (!issueRequesterService.isExistsAndActive(request.getRequesterId(), true)) {
+                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requesterId:".concat(String.valueOf(request.getRequesterId()))
+                                .concat(",isActive:true"));
+            }
+
+            if (!issueRequestService.isExists(request.getRequestId())) {
+                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "requestId:".concat(String.valueOf(request.getRequestId())));
+            }
+
+            return mapIssueResponse(issueResponseService.save(IssueResponseModel
+                    .builder()
+                    .id(request.getId())
+                    .version(fromNullableLong(request.getVersion()))
+                    .requester(IssueRequesterModel.builder().id(request.getRequesterId()).build())
+                    .request(IssueRequestModel.builder().id(request.getRequestId()).build())
+                    .body(request.getBody())
+                    .build()));
+        });
+    }
+
+    @Override
+    public void deleteIssueResponse(IdRequest request, StreamObserver<IssueResponse> responseObserver) {
+        log.info("Calling gRPC: deleteIssueResponse >> {}", request.getId());
+        unary(responseObserver, () -> mapIssueResponse(issueResponseService.hardDelete(request.getId())));
+    }
+
+    private GenericPagedModel<IssueResponseRow> scroll(ListIssueResponsesRequest request, String cursor, int size) {
+        val page = request.getPage();
+
+        return request.getRequestId() > 0
+                ? issueResponseService.scrollAllByRequestId(request.getRequestId(), cursor, size,
+                sortBy(page), sortDirection(page))
+                : issueResponseService.scrollAll(cursor, size, sortBy(page), sortDirection(page));
+    }
+}
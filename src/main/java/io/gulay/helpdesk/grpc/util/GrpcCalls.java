@@ -0,0 +1,166 @@
+package io.gulay.helpdesk.grpc.util;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.gulay.helpdesk.data.util.GenericPagedModel;
+import io.gulay.helpdesk.data.util.SortDirection;
+import io.gulay.helpdesk.protoGen.PageQuery;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Shared plumbing of the gRPC services: service exceptions become gRPC statuses, and PageQuery zero values
+// fall back to the same defaults as the HTTP list endpoints.
+@Slf4j
+public final class GrpcCalls {
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 500;
+    private static final String DEFAULT_SORT_BY = "created";
+    private static final String DEFAULT_SORT_DIR = "desc";
+
+    public static <T> void unary(StreamObserver<T> observer, Supplier<T> call) {
+        final T result;
+        try {
+            result = call.get();
+        } catch (Exception ex) {
+            observer.onError(toStatus(ex).asRuntimeException());
+            return;
+        }
+
+        observer.onNext(result);
+        observer.onCompleted();
+    }
+
+    // Walks every page with keyset pagination, so the server holds one page at a time however large the result.
+    // Messages are only sent while the call is ready: a client reading slower than the pages are queried pauses
+    // the walk, and the on-ready handler resumes it, instead of gRPC buffering the whole result in memory.
+    public static <M, P> void stream(
+            StreamObserver<P> observer,
+            PageQuery page,
+            Function<String, GenericPagedModel<M>> fetchPage,
+            Function<M, P> mapper
+    ) {
+        val callObserver = (ServerCallStreamObserver<P>) observer;
+        val walk = new KeysetWalk<>(callObserver, page.hasCursor() ? page.getCursor() : "", fetchPage, mapper);
+
+        callObserver.setOnReadyHandler(walk::drain);
+        walk.drain();
+    }
+
+    public static int pageSize(PageQuery page) {
+        return page.getPageSize() > 0 ? page.getPageSize() : DEFAULT_PAGE_SIZE;
+    }
+
+    // Rows read per keyset query by the stream RPCs.
+    public static int fetchSize(PageQuery page) {
+        return page.getPageSize() > 0 ? page.getPageSize() : DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    public static String sortBy(PageQuery page) {
+        return StringUtils.defaultIfBlank(page.getSortBy(), DEFAULT_SORT_BY);
+    }
+
+    public static SortDirection sortDirection(PageQuery page) {
+        return SortDirection.of(StringUtils.defaultIfBlank(page.getSortDir(), DEFAULT_SORT_DIR));
+    }
+
+    public static Status toStatus(Exception ex) {
+        if (ex instanceof ResponseStatusException rse) {
+            val status = switch (rse.getStatusCode().value()) {
+                case 400, 406 -> Status.INVALID_ARGUMENT;
+                case 404 -> Status.NOT_FOUND;
+                case 409 -> Status.ABORTED;
+                case 412, 428 -> Status.FAILED_PRECONDITION;
+                case 503 -> Status.UNAVAILABLE;
+                default -> Status.INTERNAL;
+            };
+            return status.withDescription(rse.getReason());
+        }
+
+        if (ex instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(ex.getMessage());
+        }
+
+        log.error("Unhandled gRPC call failure", ex);
+        return Status.INTERNAL.withDescription("Unexpected server error");
+    }
+
+    private static final class KeysetWalk<M, P> {
+        private final ServerCallStreamObserver<P> observer;
+        private final Function<String, GenericPagedModel<M>> fetchPage;
+        private final Function<M, P> mapper;
+        private String cursor;
+        private Iterator<M> rows = Collections.emptyIterator();
+        private boolean hasNextPage = true;
+        private boolean done;
+
+        private KeysetWalk(
+                ServerCallStreamObserver<P> observer,
+                String cursor,
+                Function<String, GenericPagedModel<M>> fetchPage,
+                Function<M, P> mapper
+        ) {
+            this.observer = observer;
+            this.cursor = cursor;
+            this.fetchPage = fetchPage;
+            this.mapper = mapper;
+        }
+
+        // Called from the service method and from every on-ready callback; gRPC runs both on the call's
+        // serializing executor, so no two drains overlap.
+        private void drain() {
+            if (done) {
+                return;
+            }
+
+            try {
+                while (observer.isReady()) {
+                    if (observer.isCancelled()) {
+                        done = true;
+                        return;
+                    }
+
+                    if (rows.hasNext()) {
+                        observer.onNext(mapper.apply(rows.next()));
+                    } else if (hasNextPage) {
+                        fetchNextPage();
+                    } else {
+                        done = true;
+                        observer.onCompleted();
+                        return;
+                    }
+                }
+
+            } catch (Exception ex) {
+                done = true;
+                observer.onError(toStatus(ex).asRuntimeException());
+            }
+        }
+
+        private void fetchNextPage() {
+            final GenericPagedModel<M> result;
+            try {
+                result = fetchPage.apply(cursor);
+            } catch (ResponseStatusException ex) {
+                // The scroll services answer an empty window with 404; a stream just ends there, even on its
+                // first page.
+                if (ex.getStatusCode().value() != 404) {
+                    throw ex;
+                }
+                hasNextPage = false;
+                return;
+            }
+
+            rows = result.getContent().iterator();
+            cursor = result.getNextCursor();
+            hasNextPage = result.isHasNext();
+        }
+    }
+}
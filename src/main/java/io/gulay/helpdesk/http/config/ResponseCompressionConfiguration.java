@@ -0,0 +1,64 @@
+package io.gulay.helpdesk.http.config;
+
+import io.gulay.helpdesk.http.util.ContentCoding;
+import io.gulay.helpdesk.http.util.ResponseCompressionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+// Replaces server.compression, which only offers gzip and reports nothing: keep server.compression.enabled off
+// so bodies are never coded twice.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "helpdesk.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCompressionConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${helpdesk.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${helpdesk.compression.mime-types:application/json,application/*+json,application/x-ndjson,"
+                    + "application/x-protobuf,text/event-stream,text/plain}") List<String> mimeTypes,
+            @Value("${helpdesk.compression.zstd.enabled:true}") boolean zstdEnabled,
+            @Value("${helpdesk.compression.zstd.level:3}") int zstdLevel,
+            @Value("${helpdesk.compression.gzip.level:6}") int gzipLevel,
+            @Value("${spring.ai.mcp.server.streamable-http.mcp-endpoint:/mcp}") String mcpEndpoint,
+            MeterRegistry meterRegistry
+    ) {
+        val codings = new ArrayList<ContentCoding>();
+        if (zstdEnabled && ContentCoding.ZSTD.isAvailable()) {
+            codings.add(ContentCoding.ZSTD);
+        } else if (zstdEnabled) {
+            log.warn("zstd native library is not available on this platform; responses are compressed with gzip only");
+        }
+        codings.add(ContentCoding.GZIP);
+
+        val levels = new EnumMap<ContentCoding, Integer>(ContentCoding.class);
+        levels.put(ContentCoding.ZSTD, zstdLevel);
+        levels.put(ContentCoding.GZIP, gzipLevel);
+
+        val filter = new ResponseCompressionFilter(List.copyOf(codings), levels, (int) minResponseSize.toBytes(),
+                MediaType.parseMediaTypes(mimeTypes), mcpEndpoint, meterRegistry);
+
+        val registration = new FilterRegistrationBean<>(filter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        // Outermost after character encoding, so every other filter writes through the coding.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+
+        log.info("Response compression: {} from {} bytes", codings, minResponseSize.toBytes());
+
+        return registration;
+    }
+}
@@ -0,0 +1,381 @@
+package io.gulay.helpdesk.http.util;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.val;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Holds the body back until it reaches minResponseSize, then either starts the negotiated coding or passes the body
+// through unchanged. Small bodies are never compressed: below the threshold the coding overhead outweighs the saving.
+// A flush before the threshold commits the body as is, so a streamed response is never held back; event streams
+// are the exception and are compressed from their first flush, as their size is unknown and every event flush is
+// a sync flush of the coding.
+public class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    // Called once per response: coding is null when the body was sent unchanged.
+    public interface CompletionListener {
+        void completed(ContentCoding coding, long originalBytes, long writtenBytes);
+    }
+
+    private final ContentCoding coding;
+    private final int level;
+    private final int minResponseSize;
+    private final Predicate<String> compressibleContentType;
+    private final CompletionListener listener;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    public CompressingResponseWrapper(HttpServletResponse response, ContentCoding coding, int level,
+                                      int minResponseSize, Predicate<String> compressibleContentType,
+                                      CompletionListener listener) {
+        super(response);
+        this.coding = coding;
+        this.level = level;
+        this.minResponseSize = minResponseSize;
+        this.compressibleContentType = compressibleContentType;
+        this.listener = listener;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (Objects.isNull(outputStream)) {
+            outputStream = new CompressingOutputStream(super.getOutputStream());
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (Objects.isNull(writer)) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+
+        return writer;
+    }
+
+    // The declared length is only passed on if the body ends up unchanged: a coded body has a different length.
+    @Override
+    public void setContentLength(int len) {
+        contentLength = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        contentLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+        if (Objects.nonNull(outputStream)) {
+            outputStream.flush();
+        }
+
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+
+        contentLength = -1;
+        writer = null;
+        if (Objects.nonNull(outputStream)) {
+            outputStream.reset(true);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+
+        if (Objects.nonNull(outputStream)) {
+            outputStream.reset(false);
+        }
+    }
+
+    // Writes out a body still held back and the trailer of the coding; the servlet stream stays open for the
+    // container. Called when the handler is done, after the last async dispatch for streamed responses.
+    public void finish() throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+        if (Objects.nonNull(outputStream)) {
+            outputStream.finish();
+        }
+    }
+
+    // Releases the coding (zstd holds native memory) of a response abandoned by an exception.
+    public void abort() {
+        if (Objects.nonNull(outputStream)) {
+            outputStream.discard();
+        }
+    }
+
+    private boolean isCompressible() {
+        val status = getStatus();
+        if (status < HttpStatus.OK.value()
+                || status == HttpStatus.NO_CONTENT.value()
+                || status == HttpStatus.NOT_MODIFIED.value()
+                || containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+
+        val contentType = getContentType();
+
+        return Objects.nonNull(contentType) && compressibleContentType.test(contentType);
+    }
+
+    private boolean isEventStream() {
+        val contentType = getContentType();
+
+        return Objects.nonNull(contentType)
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream raw;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // Null while the body is held back; the coding stream or raw once the decision is made.
+        private OutputStream target;
+        private CountingOutputStream counter;
+        private long originalBytes;
+        private boolean finished;
+
+        private CompressingOutputStream(ServletOutputStream raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (Objects.isNull(target)) {
+                if (buffer.size() + 1 < minResponseSize) {
+                    buffer.write(b);
+                    return;
+                }
+                start(true);
+            }
+
+            target.write(b);
+            originalBytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (Objects.isNull(target)) {
+                if (buffer.size() + len < minResponseSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                start(true);
+            }
+
+            target.write(b, off, len);
+            originalBytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (Objects.isNull(target)) {
+                start(isEventStream());
+            }
+
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            raw.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return raw.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            raw.setWriteListener(writeListener);
+        }
+
+        private void start(boolean compress) throws IOException {
+            if (compress && isCompressible()) {
+                setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+                addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                startCoding();
+            } else {
+                if (contentLength >= 0) {
+                    getResponse().setContentLengthLong(contentLength);
+                }
+                target = raw;
+            }
+
+            if (buffer.size() > 0) {
+                originalBytes += buffer.size();
+                buffer.writeTo(target);
+            }
+            buffer = null;
+        }
+
+        private void startCoding() throws IOException {
+            counter = new CountingOutputStream(raw);
+            target = coding.wrap(counter, level);
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            if (Objects.isNull(target)) {
+                if (buffer.size() == 0) {
+                    return;
+                }
+                start(false);
+            }
+
+            if (Objects.nonNull(counter)) {
+                target.close();
+                listener.completed(coding, originalBytes, counter.count);
+            } else {
+                listener.completed(null, originalBytes, originalBytes);
+            }
+        }
+
+        // headersCleared: reset() also dropped Content-Encoding, so the decision is made again. resetBuffer() keeps
+        // the headers, so a coded body restarts with a fresh coding stream.
+        private void reset(boolean headersCleared) {
+            originalBytes = 0;
+            if (Objects.isNull(target)) {
+                buffer.reset();
+                return;
+            }
+
+            val coded = Objects.nonNull(counter);
+            discard();
+            try {
+                if (headersCleared) {
+                    target = null;
+                    counter = null;
+                    buffer = new ByteArrayOutputStream();
+                } else if (coded) {
+                    startCoding();
+                }
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not restart " + coding.token() + " coding", ex);
+            }
+        }
+
+        private void discard() {
+            if (Objects.isNull(counter)) {
+                return;
+            }
+
+            counter.discarded = true;
+            try {
+                target.close();
+            } catch (IOException ignored) {
+                // Nothing reaches the client once discarded.
+            }
+        }
+    }
+
+    // Counts the coded bytes; close() only flushes because the servlet container owns the underlying stream.
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+        private boolean discarded;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!discarded) {
+                out.write(b);
+                count++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!discarded) {
+                out.write(b, off, len);
+                count += len;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarded) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
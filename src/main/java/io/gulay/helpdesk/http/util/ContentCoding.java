@@ -0,0 +1,105 @@
+package io.gulay.helpdesk.http.util;
+
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import com.github.luben.zstd.util.Native;
+import lombok.val;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+// Response content codings, in the server's order of preference when a client accepts several with the same weight.
+public enum ContentCoding {
+    ZSTD("zstd") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStreamNoFinalizer(out, level);
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            // syncFlush: a flush (one per SSE event) pushes everything written so far to the client.
+            return new GZIPOutputStream(out, BUFFER_SIZE, true) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    // Closing the returned stream writes the trailer and closes out.
+    public abstract OutputStream wrap(OutputStream out, int level) throws IOException;
+
+    // zstd-jni ships native libraries for the common platforms only.
+    public boolean isAvailable() {
+        if (this != ZSTD) {
+            return true;
+        }
+
+        try {
+            Native.load();
+            return true;
+        } catch (LinkageError ex) {
+            return false;
+        }
+    }
+
+    // Picks the coding with the highest Accept-Encoding weight; codings the header does not name (and no "*" covers)
+    // are not acceptable. Returns null when nothing offered is acceptable, so the response stays identity.
+    public static ContentCoding negotiate(String acceptEncoding, List<ContentCoding> offered) {
+        if (Objects.isNull(acceptEncoding) || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        val weights = new HashMap<String, Double>();
+        for (val element : acceptEncoding.split(",")) {
+            val parts = element.split(";");
+            val name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                val parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    weight = parseWeight(parameter.substring(2));
+                }
+            }
+            weights.put(name, weight);
+        }
+
+        ContentCoding selected = null;
+        double selectedWeight = 0.0;
+        for (val coding : offered) {
+            val weight = weights.getOrDefault(coding.token, weights.getOrDefault("*", 0.0));
+            if (weight > selectedWeight) {
+                selected = coding;
+                selectedWeight = weight;
+            }
+        }
+
+        return selected;
+    }
+
+    private static double parseWeight(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.gulay.helpdesk.http.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.val;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Negotiates zstd or gzip from Accept-Encoding for the REST routes and the MCP streamable endpoint alike, and
+// publishes how many bytes each coding saved. Streamed and deferred responses (the MCP event streams) are finished
+// on their last async dispatch, which is why async dispatches pass through this filter as well.
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    private static final String IDENTITY = "identity";
+
+    private final List<ContentCoding> codings;
+    private final Map<ContentCoding, Integer> levels;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final String mcpEndpoint;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCompressionFilter(List<ContentCoding> codings, Map<ContentCoding, Integer> levels,
+                                     int minResponseSize, List<MediaType> mimeTypes, String mcpEndpoint,
+                                     MeterRegistry meterRegistry) {
+        this.codings = codings;
+        this.levels = levels;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+        this.mcpEndpoint = mcpEndpoint;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        val started = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (Objects.nonNull(started)) {
+            // Async dispatch of a response wrapped by the initial dispatch.
+            proceed(request, response, chain, started);
+            return;
+        }
+
+        val coding = HttpMethod.HEAD.matches(request.getMethod())
+                ? null
+                : ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), codings);
+        if (Objects.isNull(coding)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        val endpoint = request.getRequestURI().startsWith(mcpEndpoint) ? "mcp" : "rest";
+        val wrapper = new CompressingResponseWrapper(response, coding, levels.get(coding), minResponseSize,
+                this::isCompressible,
+                (applied, originalBytes, writtenBytes) -> record(endpoint, applied, originalBytes, writtenBytes));
+
+        proceed(request, wrapper, chain, wrapper);
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         CompressingResponseWrapper wrapper) throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            wrapper.abort();
+            throw ex;
+        }
+
+        if (!request.isAsyncStarted()) {
+            wrapper.finish();
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        try {
+            val mediaType = MediaType.parseMediaType(contentType);
+
+            return mimeTypes.stream().anyMatch(compressible -> compressible.includes(mediaType));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    private void record(String endpoint, ContentCoding coding, long originalBytes, long writtenBytes) {
+        val encoding = Objects.isNull(coding) ? IDENTITY : coding.token();
+
+        counter("helpdesk.http.compression.responses", "Responses by applied content coding", endpoint, encoding)
+                .increment();
+        if (Objects.isNull(coding)) {
+            return;
+        }
+
+        counter("helpdesk.http.compression.original.bytes", "Response body bytes before coding", endpoint, encoding)
+                .increment(originalBytes);
+        counter("helpdesk.http.compression.written.bytes", "Response body bytes sent after coding", endpoint, encoding)
+                .increment(writtenBytes);
+        // Floored at zero: an incompressible body can grow by the few bytes of framing.
+        counter("helpdesk.http.compression.saved.bytes", "Response body bytes saved by coding", endpoint, encoding)
+                .increment(Math.max(0, originalBytes - writtenBytes));
+    }
+
+    private Counter counter(String name, String description, String endpoint, String encoding) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint)
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+}
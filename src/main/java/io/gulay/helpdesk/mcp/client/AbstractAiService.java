@@ -3,28 +3,69 @@ package io.gulay.helpdesk.mcp.client;
 import com.openai.client.OpenAIClient;
 import com.openai.models.ChatModel;
 import com.openai.models.responses.ResponseCreateParams;
+import com.openai.core.http.StreamResponse;
 import com.openai.models.responses.ResponseOutputText;
+import com.openai.models.responses.ResponseStreamEvent;
+import com.openai.models.responses.ResponseTextDeltaEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
 @RequiredArgsConstructor
 public abstract class AbstractAiService implements AiService {
 
     private final OpenAIClient client;
     private final String model;
+    private final AiResponseCache responseCache;
+    private final AiBulkhead bulkhead;
 
     @Override
     public String chat(String systemPrompt, String userPrompt) {
         validatePrompt(systemPrompt, "systemPrompt");
         validatePrompt(userPrompt, "userPrompt");
 
-        val params = ResponseCreateParams.builder()
-                .model(ChatModel.of(model))
-                .instructions(systemPrompt)
-                .input(userPrompt)
-                .build();
+        return responseCache.getOrCompute(model, systemPrompt, userPrompt,
+                () -> bulkhead.execute(() -> complete(systemPrompt, userPrompt)));
+    }
+
+    @Override
+    public String chat(Integer requestId, String ticketState, String systemPrompt, String userPrompt) {
+        validatePrompt(systemPrompt, "systemPrompt");
+        validatePrompt(userPrompt, "userPrompt");
+
+        return responseCache.getOrCompute(requestId, ticketState, model, systemPrompt, userPrompt,
+                () -> bulkhead.execute(() -> complete(systemPrompt, userPrompt)));
+    }
+
+    @Override
+    public String chatStream(
+            Integer requestId,
+            String ticketState,
+            String systemPrompt,
+            String userPrompt,
+            Consumer<String> onChunk
+    ) {
+        validatePrompt(systemPrompt, "systemPrompt");
+        validatePrompt(userPrompt, "userPrompt");
+
+        val streamed = new AtomicBoolean();
+        val result = responseCache.getOrCompute(requestId, ticketState, model, systemPrompt, userPrompt, () -> {
+            streamed.set(true);
+            return bulkhead.execute(() -> completeStreaming(systemPrompt, userPrompt, onChunk));
+        });
+
+        // A cache hit never reached the provider, so the cached text is delivered as a single chunk.
+        if (!streamed.get()) {
+            onChunk.accept(result);
+        }
 
-        val response = client.responses().create(params);
+        return result;
+    }
+
+    private String complete(String systemPrompt, String userPrompt) {
+        val response = client.responses().create(newParams(systemPrompt, userPrompt));
 
         val result = response.output().stream()
                 .flatMap(item -> item.message().stream())
@@ -43,6 +84,38 @@ public abstract class AbstractAiService implements AiService {
         return result;
     }
 
+    private String completeStreaming(String systemPrompt, String userPrompt, Consumer<String> onChunk) {
+        val result = new StringBuilder();
+
+        try (StreamResponse<ResponseStreamEvent> stream =
+                     client.responses().createStreaming(newParams(systemPrompt, userPrompt))) {
+            stream.stream()
+                    .flatMap(event -> event.outputTextDelta().stream())
+                    .map(ResponseTextDeltaEvent::delta)
+                    .filter(delta -> !delta.isEmpty())
+                    .forEach(delta -> {
+                        result.append(delta);
+                        onChunk.accept(delta);
+                    });
+        }
+
+        if (result.toString().isBlank()) {
+            throw new IllegalStateException(
+                    "The AI provider returned no textual response."
+            );
+        }
+
+        return result.toString();
+    }
+
+    private ResponseCreateParams newParams(String systemPrompt, String userPrompt) {
+        return ResponseCreateParams.builder()
+                .model(ChatModel.of(model))
+                .instructions(systemPrompt)
+                .input(userPrompt)
+                .build();
+    }
+
     private void validatePrompt(String prompt, String parameterName) {
         if (prompt == null || prompt.isBlank()) {
             throw new IllegalArgumentException(
@@ -0,0 +1,93 @@
+package io.gulay.helpdesk.mcp.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Caps in-flight generations per provider. Waiters are served in arrival order (fair semaphore)
+// and are rejected with 503 once maxWait elapses, instead of piling onto a saturated model server.
+@Slf4j
+public class AiBulkhead {
+
+    private final String provider;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public AiBulkhead(String provider, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1 for AI provider " + provider);
+        }
+
+        this.provider = provider;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("helpdesk.ai.bulkhead.queue.depth", waiting, AtomicInteger::get)
+                .description("Calls waiting for an AI provider permit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("helpdesk.ai.bulkhead.in.flight", permits,
+                        semaphore -> maxConcurrent - semaphore.availablePermits())
+                .description("AI provider calls currently in flight")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("helpdesk.ai.bulkhead.wait")
+                .description("Time spent waiting for an AI provider permit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("helpdesk.ai.bulkhead.rejections")
+                .description("AI provider calls rejected after waiting the maximum time")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        val started = System.nanoTime();
+        waiting.incrementAndGet();
+
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejections.increment();
+                log.warn("Rejected AI call: provider {} kept all {} permits busy for {}",
+                        provider, maxConcurrent, maxWait);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "AI provider " + provider + " is at capacity; retry later");
+            }
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted while waiting for AI provider " + provider, ex);
+
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package io.gulay.helpdesk.mcp.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Caches provider responses by a SHA-256 fingerprint of (model, system prompt, user prompt).
+// Ticket prompts embed the rendered ticket context, so a write to the ticket already changes the fingerprint and a
+// stale answer can never be hit. Ticket-scoped entries also record their ticket, so the ticket's writes drop them
+// after commit instead of leaving them to occupy the cache until the TTL. The ticket is kept on the entry itself,
+// so there is no side index to grow or to fall out of step with Caffeine's own eviction.
+@Slf4j
+@Component
+public class AiResponseCache {
+
+    public static final String CACHE_NAME = "aiResponses";
+
+    private static final int FILE_MAGIC = 0x41495243; // "AIRC"
+    private static final int FILE_FORMAT = 2;
+    // A length above this is a corrupt file, not a response; it is rejected before anything is allocated for it.
+    private static final int MAX_TEXT_BYTES = 16 * 1024 * 1024;
+
+    private final boolean enabled;
+    private final Duration expireAfterWrite;
+    private final Path persistenceFile;
+    private final Cache<String, CachedResponse> cache;
+
+    public AiResponseCache(
+            @Value("${helpdesk.ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${helpdesk.ai.response-cache.maximum-size:1000}") long maximumSize,
+            @Value("${helpdesk.ai.response-cache.expire-after-write:1h}") Duration expireAfterWrite,
+            @Value("${helpdesk.ai.response-cache.persistence-file:}") String persistenceFile,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.expireAfterWrite = expireAfterWrite;
+        this.persistenceFile = persistenceFile.isBlank() ? null : Path.of(persistenceFile);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+        load();
+    }
+
+    public String getOrCompute(String model, String systemPrompt, String userPrompt, Supplier<String> call) {
+        return getOrCompute(null, null, model, systemPrompt, userPrompt, call);
+    }
+
+    public String getOrCompute(
+            Integer requestId,
+            String ticketState,
+            String model,
+            String systemPrompt,
+            String userPrompt,
+            Supplier<String> call
+    ) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        val key = fingerprint(model, systemPrompt, userPrompt);
+        val cached = cache.getIfPresent(key);
+
+        // Entries reloaded from the persistence file keep their original expiry.
+        if (cached != null && !cached.isExpired()) {
+            return cached.text();
+        }
+
+        val text = call.get();
+        val stateHash = requestId == null ? null : fingerprint(ticketState == null ? "" : ticketState);
+
+        // A state the ticket's other entries were not computed for means it was written outside the application.
+        if (requestId != null) {
+            invalidateIf(response -> requestId.equals(response.requestId())
+                    && !stateHash.equals(response.stateHash()));
+        }
+
+        cache.put(key, new CachedResponse(text, System.currentTimeMillis() + expireAfterWrite.toMillis(),
+                requestId, stateHash));
+
+        return text;
+    }
+
+    // After commit only: a rolled-back write leaves the ticket, and so its answers, unchanged.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueRequestsChanged(IssueRequestsChangedEvent event) {
+        if (event.isUnknownIds()) {
+            invalidateIf(response -> response.requestId() != null);
+        } else {
+            evictTickets(event.requestIds());
+        }
+    }
+
+    public void evictTicket(Integer requestId) {
+        evictTickets(Set.of(requestId));
+    }
+
+    public void evictTickets(Collection<Integer> requestIds) {
+        invalidateIf(response -> response.requestId() != null && requestIds.contains(response.requestId()));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    // A scan of at most maximum-size entries; it runs on ticket writes and on ticket misses, which already wait on
+    // a provider call.
+    private void invalidateIf(Predicate<CachedResponse> predicate) {
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    // A plain length-prefixed format rather than Java serialization: the file path is configurable, and reading it
+    // must never instantiate classes named by the file.
+    private void load() {
+        if (persistenceFile == null || !Files.isReadable(persistenceFile)) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(persistenceFile)))) {
+            if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_FORMAT) {
+                throw new IOException("Not an AI response cache file of format " + FILE_FORMAT);
+            }
+
+            val entries = new HashMap<String, CachedResponse>();
+            val count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                val key = input.readUTF();
+                val expiresAt = input.readLong();
+                val length = input.readInt();
+                if (length < 0 || length > MAX_TEXT_BYTES) {
+                    throw new IOException("Invalid response length " + length);
+                }
+
+                val text = new byte[length];
+                input.readFully(text);
+                val requestId = input.readBoolean() ? input.readInt() : null;
+                val stateHash = requestId == null ? null : input.readUTF();
+                entries.put(key, new CachedResponse(new String(text, StandardCharsets.UTF_8), expiresAt,
+                        requestId, stateHash));
+            }
+
+            entries.forEach((key, response) -> {
+                if (!response.isExpired()) {
+                    cache.put(key, response);
+                }
+            });
+
+            log.info("Loaded {} AI responses from {}", cache.estimatedSize(), persistenceFile);
+        } catch (IOException exception) {
+            log.warn("Ignoring unreadable AI response cache file {}", persistenceFile, exception);
+        }
+    }
+
+    @PreDestroy
+    public void persist() {
+        if (persistenceFile == null) {
+            return;
+        }
+
+        val entries = new HashMap<String, CachedResponse>();
+        cache.asMap().forEach((key, response) -> {
+            if (!response.isExpired()) {
+                entries.put(key, response);
+            }
+        });
+
+        try {
+            val parent = persistenceFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            // Written to a sibling file first, so a crash mid-write never leaves a truncated cache behind.
+            val tempFile = persistenceFile.resolveSibling(persistenceFile.getFileName() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(FILE_MAGIC);
+                output.writeInt(FILE_FORMAT);
+                output.writeInt(entries.size());
+                for (val entry : entries.entrySet()) {
+                    val text = entry.getValue().text().getBytes(StandardCharsets.UTF_8);
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(entry.getValue().expiresAt());
+                    output.writeInt(text.length);
+                    output.write(text);
+                    output.writeBoolean(entry.getValue().requestId() != null);
+                    if (entry.getValue().requestId() != null) {
+                        output.writeInt(entry.getValue().requestId());
+                        output.writeUTF(entry.getValue().stateHash());
+                    }
+                }
+            }
+            Files.move(tempFile, persistenceFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Persisted {} AI responses to {}", entries.size(), persistenceFile);
+        } catch (IOException exception) {
+            log.warn("Could not persist AI response cache to {}", persistenceFile, exception);
+        }
+    }
+
+    private static String fingerprint(String... parts) {
+        try {
+            val digest = MessageDigest.getInstance("SHA-256");
+            for (val part : parts) {
+                val bytes = part.getBytes(StandardCharsets.UTF_8);
+                // Length-prefixed, so ("ab", "c") and ("a", "bc") never collide.
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    // requestId and stateHash are null for responses not tied to a ticket.
+    record CachedResponse(String text, long expiresAt, Integer requestId, String stateHash) {
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
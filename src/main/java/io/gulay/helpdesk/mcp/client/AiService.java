@@ -1,5 +1,26 @@
 package io.gulay.helpdesk.mcp.client;
 
+import java.util.function.Consumer;
+
 public interface AiService {
     String chat(String systemPrompt, String userPrompt);
+
+    // Ticket-scoped variant: lets a response cache drop the ticket's answers once its state changes.
+    default String chat(Integer requestId, String ticketState, String systemPrompt, String userPrompt) {
+        return chat(systemPrompt, userPrompt);
+    }
+
+    // Streaming variant: text deltas are handed to onChunk as they are generated; the full text is still returned.
+    default String chatStream(
+            Integer requestId,
+            String ticketState,
+            String systemPrompt,
+            String userPrompt,
+            Consumer<String> onChunk
+    ) {
+        final String result = chat(requestId, ticketState, systemPrompt, userPrompt);
+        onChunk.accept(result);
+
+        return result;
+    }
 }
@@ -0,0 +1,18 @@
+package io.gulay.helpdesk.mcp.client;
+
+import java.util.List;
+
+// Turns text into a dense vector for similar-ticket retrieval. Vectors of one model are comparable with each
+// other only, which is why model() is stored with every persisted index.
+public interface EmbeddingService {
+    String model();
+
+    float[] embed(String text);
+
+    // One provider round trip for the whole list where the provider supports it; vectors come back in input order.
+    default List<float[]> embedAll(List<String> texts) {
+        return texts.stream()
+                .map(this::embed)
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package io.gulay.helpdesk.mcp.client;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Deterministic stand-in for an embedding model: words and adjacent word pairs are hashed into a fixed number of
+// signed buckets. Texts sharing vocabulary end up close, with no provider call. Used by the tests and by
+// deployments without a local embedding model; it knows nothing about synonyms.
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "helpdesk.ai.embedding", name = "provider", havingValue = "hashing")
+public class HashingEmbeddingService implements EmbeddingService {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int dimensions;
+
+    public HashingEmbeddingService(@Value("${helpdesk.ai.embedding.hashing.dimensions:256}") int dimensions) {
+        this.dimensions = dimensions;
+
+        log.info("Embedding provider: hashing, {} dimensions", dimensions);
+    }
+
+    @Override
+    public String model() {
+        return "hashing-" + dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        val vector = new float[dimensions];
+        String previous = null;
+
+        for (val word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            accumulate(vector, word, 1f);
+            if (previous != null) {
+                accumulate(vector, previous + ' ' + word, 0.5f);
+            }
+            previous = word;
+        }
+
+        return vector;
+    }
+
+    private void accumulate(float[] vector, String feature, float weight) {
+        val crc = new CRC32();
+        crc.update(feature.getBytes(StandardCharsets.UTF_8));
+        val hash = crc.getValue();
+
+        // The low 31 bits pick the bucket and the top bit its sign, so unrelated features tend to cancel out.
+        vector[(int) ((hash & 0x7fffffffL) % dimensions)] += (hash >>> 31) == 0 ? weight : -weight;
+    }
+}
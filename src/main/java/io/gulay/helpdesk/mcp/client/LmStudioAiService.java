@@ -1,12 +1,17 @@
 package io.gulay.helpdesk.mcp.client;
 
 import com.openai.client.OpenAIClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Slf4j
 @Service
 @ConditionalOnExpression("${helpdesk.ai.enabled:true} and '${helpdesk.ai.provider:lm-studio}' == 'lm-studio'")
@@ -15,13 +20,20 @@ public class LmStudioAiService extends AbstractAiService {
     public LmStudioAiService(
             @Qualifier("lmStudioClient") OpenAIClient client,
             @Value("${helpdesk.ai.lm-studio.model:qwen3-vl-8b-instruct}") String model,
-            @Value("${helpdesk.ai.lm-studio.base-url:http://localhost:1234/v1}") String baseUrl
+            @Value("${helpdesk.ai.lm-studio.base-url:http://localhost:1234/v1}") String baseUrl,
+            @Value("${helpdesk.ai.lm-studio.bulkhead.max-concurrent:4}") int maxConcurrent,
+            @Value("${helpdesk.ai.lm-studio.bulkhead.max-wait:30s}") Duration maxWait,
+            AiResponseCache responseCache,
+            ObjectProvider<MeterRegistry> meterRegistry
     ) {
-        super(client, model);
+        super(client, model, responseCache,
+                new AiBulkhead("lm-studio", maxConcurrent, maxWait,
+                        meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
 
         log.info("AI provider initialized");
         log.info("AI provider : LM Studio");
         log.info("AI model    : {}", model);
         log.info("AI endpoint : {}", baseUrl);
+        log.info("AI bulkhead : {} concurrent, {} max wait", maxConcurrent, maxWait);
     }
 }
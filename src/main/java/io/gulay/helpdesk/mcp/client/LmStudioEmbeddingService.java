@@ -0,0 +1,78 @@
+package io.gulay.helpdesk.mcp.client;
+
+import com.openai.client.OpenAIClient;
+import com.openai.models.embeddings.Embedding;
+import com.openai.models.embeddings.EmbeddingCreateParams;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+// Embeddings from the model loaded in LM Studio, through its OpenAI-compatible /v1/embeddings endpoint.
+@Slf4j
+@Service
+@ConditionalOnExpression(
+        "${helpdesk.ai.enabled:true} and '${helpdesk.ai.embedding.provider:lm-studio}' == 'lm-studio'")
+public class LmStudioEmbeddingService implements EmbeddingService {
+
+    private final OpenAIClient client;
+    private final String model;
+
+    public LmStudioEmbeddingService(
+            @Qualifier("lmStudioEmbeddingClient") OpenAIClient client,
+            @Value("${helpdesk.ai.embedding.lm-studio.model:text-embedding-nomic-embed-text-v1.5}") String model
+    ) {
+        this.client = client;
+        this.model = model;
+
+        log.info("Embedding provider: LM Studio, model {}", model);
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return embedAll(List.of(text)).get(0);
+    }
+
+    @Override
+    public List<float[]> embedAll(List<String> texts) {
+        val response = client.embeddings().create(EmbeddingCreateParams.builder()
+                .model(model)
+                .inputOfArrayOfStrings(texts)
+                .build());
+
+        val embeddings = response.data()
+                .stream()
+                .sorted(Comparator.comparingLong(Embedding::index))
+                .map(LmStudioEmbeddingService::toVector)
+                .toList();
+
+        if (embeddings.size() != texts.size()) {
+            throw new IllegalStateException(
+                    "The embedding provider returned " + embeddings.size() + " vectors for " + texts.size() + " texts."
+            );
+        }
+
+        return embeddings;
+    }
+
+    private static float[] toVector(Embedding embedding) {
+        val values = embedding.embedding();
+        val vector = new float[values.size()];
+        int i = 0;
+        for (Number value : values) {
+            vector[i++] = value.floatValue();
+        }
+
+        return vector;
+    }
+}
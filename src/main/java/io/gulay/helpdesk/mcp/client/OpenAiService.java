@@ -1,12 +1,17 @@
 package io.gulay.helpdesk.mcp.client;
 
 import com.openai.client.OpenAIClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Slf4j
 @Service
 @ConditionalOnExpression("${helpdesk.ai.enabled:true} and '${helpdesk.ai.provider:lm-studio}' == 'openai'")
@@ -15,13 +20,20 @@ public class OpenAiService extends AbstractAiService {
     public OpenAiService(
             @Qualifier("openAiClient") OpenAIClient client,
             @Value("${helpdesk.ai.openai.model:gpt-5.2}") String model,
-            @Value("${helpdesk.ai.openai.base-url:https://api.openai.com/v1}") String baseUrl
+            @Value("${helpdesk.ai.openai.base-url:https://api.openai.com/v1}") String baseUrl,
+            @Value("${helpdesk.ai.openai.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${helpdesk.ai.openai.bulkhead.max-wait:10s}") Duration maxWait,
+            AiResponseCache responseCache,
+            ObjectProvider<MeterRegistry> meterRegistry
     ) {
-        super(client, model);
+        super(client, model, responseCache,
+                new AiBulkhead("openai", maxConcurrent, maxWait,
+                        meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
 
         log.info("AI provider initialized");
         log.info("AI provider : OpenAI");
         log.info("AI model    : {}", model);
         log.info("AI endpoint : {}", baseUrl);
+        log.info("AI bulkhead : {} concurrent, {} max wait", maxConcurrent, maxWait);
     }
 }
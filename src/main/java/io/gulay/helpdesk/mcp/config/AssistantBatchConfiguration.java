@@ -0,0 +1,41 @@
+package io.gulay.helpdesk.mcp.config;
+
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AssistantBatchConfiguration {
+
+    // Shared by every batch tool call; each batch additionally caps its own in-flight calls
+    // (helpdesk.ai.batch.max-concurrency), so one large batch cannot occupy the whole pool.
+    // With virtual threads, pool-size becomes a concurrency limit instead of a number of pooled threads.
+    @Bean("assistantBatchExecutor")
+    public AsyncTaskExecutor assistantBatchExecutor(
+            @Value("${helpdesk.ai.batch.pool-size:8}") int poolSize,
+            Environment environment
+    ) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            val executor = new SimpleAsyncTaskExecutor("assistant-batch-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+
+            return executor;
+        }
+
+        val executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("assistant-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        return executor;
+    }
+}
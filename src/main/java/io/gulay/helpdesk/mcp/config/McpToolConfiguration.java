@@ -5,33 +5,93 @@ import io.gulay.helpdesk.mcp.tools.data.IssueRequesterTools;
 import io.gulay.helpdesk.mcp.tools.data.IssueRequestTools;
 import io.gulay.helpdesk.mcp.tools.data.IssueResponseTools;
 import io.gulay.helpdesk.mcp.tools.data.HelpdeskMutationTools;
+import io.modelcontextprotocol.server.McpServerFeatures;
 import lombok.val;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.support.ToolCallbacks;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 public class McpToolConfiguration {
 
+    // ToolContext key holding the progressToken the client sent in the _meta of a tools/call request.
+    public static final String PROGRESS_TOKEN_KEY = "progressToken";
+
     @Bean
     public ToolCallbackProvider helpdeskToolCallbackProvider(
             IssueRequesterTools requesterTools,
             IssueRequestTools requestTools,
             IssueResponseTools responseTools,
-            HelpdeskAssistantTools assistantTools,
             ObjectProvider<HelpdeskMutationTools> mutationTools
     ) {
         val toolObjects = new java.util.ArrayList<>();
         toolObjects.add(requesterTools);
         toolObjects.add(requestTools);
         toolObjects.add(responseTools);
-        toolObjects.add(assistantTools);
         mutationTools.ifAvailable(toolObjects::add);
 
         return MethodToolCallbackProvider.builder()
                 .toolObjects(toolObjects.toArray())
                 .build();
     }
+
+    // Spring AI hands @Tool methods only the exchange, not the request being served. The assistant tools are
+    // registered as specifications of their own so that each call also carries its progressToken.
+    @Bean
+    public List<McpServerFeatures.SyncToolSpecification> helpdeskAssistantToolSpecifications(
+            HelpdeskAssistantTools assistantTools
+    ) {
+        return Arrays.stream(ToolCallbacks.from(assistantTools))
+                .map(callback -> McpServerFeatures.SyncToolSpecification.builder()
+                        .tool(McpToolUtils.toSyncToolSpecification(callback).tool())
+                        .callHandler((exchange, request) -> {
+                            val withToken = new ProgressTokenToolCallback(callback, request.progressToken());
+                            return McpToolUtils.toSyncToolSpecification(withToken)
+                                    .callHandler()
+                                    .apply(exchange, request);
+                        })
+                        .build())
+                .toList();
+    }
+
+    private record ProgressTokenToolCallback(ToolCallback delegate, Object progressToken) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return delegate.call(toolInput);
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            if (progressToken == null) {
+                return delegate.call(toolInput, toolContext);
+            }
+            Map<String, Object> context = new HashMap<>(toolContext.getContext());
+            context.put(PROGRESS_TOKEN_KEY, progressToken);
+            return delegate.call(toolInput, new ToolContext(context));
+        }
+    }
 }
@@ -42,4 +42,18 @@ public class OpenAiConfiguration {
                 .maxRetries(2)
                 .build();
     }
+
+    // Separate from lmStudioClient, so LM Studio embeddings also serve deployments that chat with OpenAI.
+    @Bean("lmStudioEmbeddingClient")
+    @ConditionalOnExpression(
+            "${helpdesk.ai.enabled:true} and '${helpdesk.ai.embedding.provider:lm-studio}' == 'lm-studio'")
+    public OpenAIClient lmStudioEmbeddingClient(
+            @Value("${helpdesk.ai.embedding.lm-studio.base-url:http://localhost:1234/v1}") String baseUrl
+    ) {
+        return OpenAIOkHttpClient.builder()
+                .apiKey(LM_STUDIO_PLACEHOLDER_KEY)
+                .baseUrl(baseUrl)
+                .maxRetries(2)
+                .build();
+    }
 }
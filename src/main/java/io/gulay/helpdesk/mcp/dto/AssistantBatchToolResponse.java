@@ -0,0 +1,8 @@
+package io.gulay.helpdesk.mcp.dto;
+
+public record AssistantBatchToolResponse(
+        Integer requestId,
+        String result,
+        String error
+) {
+}
@@ -0,0 +1,8 @@
+package io.gulay.helpdesk.mcp.dto;
+
+// affected is the number of rows solved or deleted, or with dryRun the number that would be.
+public record BulkCountToolResponse(
+        long affected,
+        boolean dryRun
+) {
+}
@@ -0,0 +1,30 @@
+package io.gulay.helpdesk.mcp.dto;
+
+import io.gulay.helpdesk.data.util.BulkItemResult;
+import lombok.val;
+
+import java.util.List;
+
+public record BulkToolResponse(
+        int saved,
+        int failed,
+        List<Item> items
+) {
+    // status is 200 for a saved item (id set), otherwise the status of the matching single-item tool's error.
+    public record Item(
+            int index,
+            Integer id,
+            int status,
+            String message
+    ) {
+    }
+
+    public static BulkToolResponse from(List<BulkItemResult> results) {
+        val items = results.stream()
+                .map(result -> new Item(result.index(), result.id(), result.status(), result.message()))
+                .toList();
+        val saved = (int) results.stream().filter(BulkItemResult::isSaved).count();
+
+        return new BulkToolResponse(saved, items.size() - saved, items);
+    }
+}
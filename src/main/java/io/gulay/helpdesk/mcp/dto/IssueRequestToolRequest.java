@@ -5,7 +5,8 @@ public record IssueRequestToolRequest(
         Integer requesterId,
         String requestBody,
         Boolean isSolved,
-        String solved
+        String solved,
+        Long version
 ) {
 
 }
\ No newline at end of file
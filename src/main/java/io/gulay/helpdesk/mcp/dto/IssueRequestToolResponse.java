@@ -6,6 +6,7 @@ public record IssueRequestToolResponse(
         String requestBody,
         Boolean isSolved,
         String created,
-        String solved
+        String solved,
+        Long version
 ) {
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ public record IssueRequesterToolRequest(
         Integer id,
         String fullName,
         String email,
-        Boolean isActive
+        Boolean isActive,
+        Long version
 ) {
 }
\ No newline at end of file
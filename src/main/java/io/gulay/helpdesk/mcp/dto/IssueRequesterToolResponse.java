@@ -5,6 +5,7 @@ public record IssueRequesterToolResponse(
         String fullName,
         String email,
         Boolean isActive,
-        String created
+        String created,
+        Long version
 ) {
 }
\ No newline at end of file
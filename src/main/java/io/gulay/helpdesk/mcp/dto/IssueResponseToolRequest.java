@@ -4,6 +4,7 @@ public record IssueResponseToolRequest(
         Integer id,
         Integer requestId,
         Integer requesterId,
-        String responseBody
+        String responseBody,
+        Long version
 ) {
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ public record IssueResponseToolResponse(
         Integer requestId,
         Integer requesterId,
         String responseBody,
-        String created
+        String created,
+        Long version
 ) {
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ public record PagedToolResponse<T>(
         long totalElements,
         int numberOfElements,
         int totalPages,
-        Collection<T> content
+        Collection<T> content,
+        String nextCursor,
+        boolean hasNext
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package io.gulay.helpdesk.mcp.dto;
+
+public record TicketSearchToolResponse(
+        Integer requestId,
+        Integer responseId,
+        String body,
+        String created,
+        Double score
+) {
+}
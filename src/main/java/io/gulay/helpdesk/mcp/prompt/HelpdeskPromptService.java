@@ -1,10 +1,50 @@
 package io.gulay.helpdesk.mcp.prompt;
 
+import io.gulay.helpdesk.mcp.similar.SimilarTicket;
 import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+
 @Service
 public class HelpdeskPromptService {
+    // A similar ticket cut below this many tokens says too little to be worth its place in the prompt.
+    private static final int MIN_SIMILAR_TICKET_TOKENS = 48;
+
+    private static final String CONTEXT_TOKENS = "helpdesk.ai.prompt.context-tokens.";
+
+    private final int similarTicketsMaxTokens;
+    private final int summarizeTokens;
+    private final int suggestResponseTokens;
+    private final int classifyPriorityTokens;
+    private final int estimateCategoryTokens;
+    private final int timelineTokens;
+    private final int escalationSummaryTokens;
+    private final int knowledgeBaseArticleTokens;
+
+    // Each tool's ticket context budget is helpdesk.ai.prompt.context-tokens.<tool>, else the default one.
+    public HelpdeskPromptService(
+            @Value("${helpdesk.ai.similar-tickets.max-prompt-tokens:800}") int similarTicketsMaxTokens,
+            @Value("${" + CONTEXT_TOKENS + "default:3000}") int defaultContextTokens,
+            Environment environment
+    ) {
+        this.similarTicketsMaxTokens = similarTicketsMaxTokens;
+        this.summarizeTokens = contextTokens(environment, "summarize", defaultContextTokens);
+        this.suggestResponseTokens = contextTokens(environment, "suggest-response", defaultContextTokens);
+        this.classifyPriorityTokens = contextTokens(environment, "classify-priority", defaultContextTokens);
+        this.estimateCategoryTokens = contextTokens(environment, "estimate-category", defaultContextTokens);
+        this.timelineTokens = contextTokens(environment, "timeline", defaultContextTokens);
+        this.escalationSummaryTokens = contextTokens(environment, "escalation-summary", defaultContextTokens);
+        this.knowledgeBaseArticleTokens = contextTokens(environment, "knowledge-base-article", defaultContextTokens);
+    }
+
+    private static int contextTokens(Environment environment, String tool, int defaultTokens) {
+        return environment.getProperty(CONTEXT_TOKENS + tool, Integer.class, defaultTokens);
+    }
 
     public String systemPrompt() {
         return """
@@ -33,10 +73,31 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, summarizeTokens));
     }
 
     public String suggestResponsePrompt(HelpdeskTicketContext context) {
+        return suggestResponsePrompt(context, List.of());
+    }
+
+    // Without similar tickets the prompt is exactly the single-ticket one, so cached answers stay valid.
+    public String suggestResponsePrompt(HelpdeskTicketContext context, List<SimilarTicket> similarTickets) {
+        val similarText = similarTicketsText(similarTickets);
+        if (similarText.isEmpty()) {
+            return """
+                    Draft a professional support response.
+
+                    Requirements:
+                    - acknowledge the issue
+                    - reference only known facts
+                    - avoid overpromising
+                    - suggest the next concrete step
+
+                    Helpdesk data:
+                    %s
+                    """.formatted(contextText(context, suggestResponseTokens));
+        }
+
         return """
                 Draft a professional support response.
 
@@ -46,9 +107,12 @@ public class HelpdeskPromptService {
                 - avoid overpromising
                 - suggest the next concrete step
 
+                Similar solved tickets from other requesters follow. Reuse a resolution only if it fits this issue,
+                and never mention those tickets or their requesters in the response.
+                %s
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(similarText, contextText(context, suggestResponseTokens));
     }
 
     public String classifyPriorityPrompt(HelpdeskTicketContext context) {
@@ -67,7 +131,7 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, classifyPriorityTokens));
     }
 
     public String estimateCategoryPrompt(HelpdeskTicketContext context) {
@@ -91,7 +155,7 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, estimateCategoryTokens));
     }
 
     public String timelinePrompt(HelpdeskTicketContext context) {
@@ -108,7 +172,7 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, timelineTokens));
     }
 
     public String escalationSummaryPrompt(HelpdeskTicketContext context) {
@@ -127,7 +191,7 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, escalationSummaryTokens));
     }
 
     public String knowledgeBaseArticlePrompt(HelpdeskTicketContext context) {
@@ -146,6 +210,44 @@ public class HelpdeskPromptService {
 
                 Helpdesk data:
                 %s
-                """.formatted(context.toPromptText());
+                """.formatted(contextText(context, knowledgeBaseArticleTokens));
+    }
+
+    private static String contextText(HelpdeskTicketContext context, int maxTokens) {
+        return TicketContextAssembler.render(context, maxTokens);
+    }
+
+    // Best match first, within helpdesk.ai.similar-tickets.max-prompt-tokens: a ticket that does not fit whole is
+    // cut to the remaining budget, and the ones after it are left out.
+    private String similarTicketsText(List<SimilarTicket> similarTickets) {
+        val text = new StringBuilder();
+        int remaining = similarTicketsMaxTokens;
+
+        for (val similar : similarTickets) {
+            if (remaining < MIN_SIMILAR_TICKET_TOKENS) {
+                break;
+            }
+
+            val block = TokenEstimator.truncate(similarTicketText(similar), remaining);
+            text.append(block).append(System.lineSeparator());
+            remaining -= TokenEstimator.estimate(block);
+        }
+
+        return text.toString();
+    }
+
+    // The last response is the one most likely to hold the fix.
+    private static String similarTicketText(SimilarTicket similar) {
+        val request = similar.context().request();
+        val responses = similar.context().responses();
+        val resolution = responses == null || responses.isEmpty()
+                ? "No responses recorded."
+                : List.copyOf(responses).get(responses.size() - 1).responseBody();
+
+        return """
+                - Ticket %s (similarity %s)
+                  Issue: %s
+                  Resolution: %s""".formatted(request.id(), String.format(Locale.ROOT, "%.2f", similar.score()),
+                request.requestBody(), resolution);
     }
 }
@@ -0,0 +1,141 @@
+package io.gulay.helpdesk.mcp.prompt;
+
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext.TicketRequest;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext.TicketResponse;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Renders a ticket context within a token budget. A context that fits is returned exactly as rendered, so prompts
+// and cached answers of ordinary tickets do not change. A long thread keeps, in order:
+// - the request, its body cut to a quarter of the budget;
+// - the newest responses, up to RECENT_SHARE of what is left;
+// - older responses sharing the most words with the request body, while they fit.
+// Each kept response body is cut to a quarter of the budget as well. Every run of left-out responses becomes one
+// line saying how many were left out and when they were written, so the model knows the history has a gap.
+public final class TicketContextAssembler {
+    private static final double RECENT_SHARE = 0.6;
+    // Estimated cost of one omission line; reserved for each run of left-out responses.
+    private static final int OMISSION_TOKENS = 24;
+    private static final int MIN_BODY_TOKENS = 32;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TicketContextAssembler() {
+    }
+
+    public static String render(HelpdeskTicketContext context, int maxTokens) {
+        val full = context.toPromptText();
+        if (TokenEstimator.estimate(full) <= maxTokens) {
+            return full;
+        }
+
+        val maxBodyTokens = Math.max(MIN_BODY_TOKENS, maxTokens / 4);
+        val requesterText = context.requester().toPromptText();
+        val requestText = shorten(context.request(), maxBodyTokens).toPromptText();
+        val responses = context.responses() == null ? List.<TicketResponse>of() : List.copyOf(context.responses());
+
+        val texts = new String[responses.size()];
+        int remaining = maxTokens - OMISSION_TOKENS
+                - TokenEstimator.estimate(HelpdeskTicketContext.layout(requesterText, requestText, List.of()));
+
+        // The newest response is always kept, even over budget: it is what the next reply answers.
+        int recent = (int) (remaining * RECENT_SHARE);
+        int oldestKept = responses.size();
+        while (oldestKept > 0) {
+            val text = shorten(responses.get(oldestKept - 1), maxBodyTokens).toPromptText();
+            val cost = TokenEstimator.estimate(text);
+            if (cost > recent && oldestKept < responses.size()) {
+                break;
+            }
+
+            oldestKept--;
+            texts[oldestKept] = text;
+            recent -= cost;
+            remaining -= cost;
+        }
+
+        // A kept response in the middle can split a left-out run in two, so it pays for one more omission line.
+        val words = words(context.request().requestBody());
+        val relevance = responses.stream().mapToDouble(response -> relevance(words, response)).toArray();
+        val older = IntStream.range(0, oldestKept)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -relevance[i]).thenComparing(i -> -i))
+                .toList();
+        for (val i : older) {
+            val text = shorten(responses.get(i), maxBodyTokens).toPromptText();
+            val cost = TokenEstimator.estimate(text) + OMISSION_TOKENS;
+            if (cost <= remaining) {
+                texts[i] = text;
+                remaining -= cost;
+            }
+        }
+
+        return HelpdeskTicketContext.layout(requesterText, requestText, withOmissions(responses, texts));
+    }
+
+    private static List<String> withOmissions(List<TicketResponse> responses, String[] texts) {
+        val lines = new ArrayList<String>();
+        int i = 0;
+        while (i < texts.length) {
+            if (texts[i] != null) {
+                lines.add(texts[i++]);
+                continue;
+            }
+
+            val first = i;
+            while (i < texts.length && texts[i] == null) {
+                i++;
+            }
+            lines.add("[%d responses omitted to fit the prompt budget, created %s to %s]"
+                    .formatted(i - first, responses.get(first).created(), responses.get(i - 1).created()));
+        }
+
+        return lines;
+    }
+
+    private static TicketRequest shorten(TicketRequest request, int maxBodyTokens) {
+        return new TicketRequest(request.id(), request.requesterId(),
+                TokenEstimator.truncate(request.requestBody(), maxBodyTokens),
+                request.isSolved(), request.created(), request.solved());
+    }
+
+    private static TicketResponse shorten(TicketResponse response, int maxBodyTokens) {
+        return new TicketResponse(response.id(), response.requestId(), response.requesterId(),
+                TokenEstimator.truncate(response.responseBody(), maxBodyTokens), response.created());
+    }
+
+    // Share of the request's words the response repeats; words under four letters rarely name the topic.
+    private static double relevance(Set<String> requestWords, TicketResponse response) {
+        if (requestWords.isEmpty()) {
+            return 0;
+        }
+
+        val responseWords = words(response.responseBody());
+        responseWords.retainAll(requestWords);
+
+        return (double) responseWords.size() / requestWords.size();
+    }
+
+    private static Set<String> words(String text) {
+        val words = new HashSet<String>();
+        if (text == null) {
+            return words;
+        }
+
+        for (val word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() > 3) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+}
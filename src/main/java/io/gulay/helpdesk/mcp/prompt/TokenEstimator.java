@@ -0,0 +1,30 @@
+package io.gulay.helpdesk.mcp.prompt;
+
+import lombok.val;
+
+// Prompt budgets are enforced without a tokenizer: BPE vocabularies average about four characters of English per
+// token, and rounding up keeps the estimate on the safe side. Good enough to bound prompt size, not to bill by.
+public final class TokenEstimator {
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String ELLIPSIS = " [...]";
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    // Cut at a word boundary where there is one, and marked, so the model knows text is missing.
+    public static String truncate(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) {
+            return text;
+        }
+
+        val maxChars = Math.max(0, maxTokens * CHARS_PER_TOKEN - ELLIPSIS.length());
+        val space = text.lastIndexOf(' ', maxChars);
+        val end = space > maxChars / 2 ? space : maxChars;
+
+        return text.substring(0, end).concat(ELLIPSIS);
+    }
+}
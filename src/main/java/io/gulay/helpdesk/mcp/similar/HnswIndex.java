@@ -0,0 +1,409 @@
+package io.gulay.helpdesk.mcp.similar;
+
+import lombok.val;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+// Hierarchical navigable small world graph (Malkov & Yashunin) over unit vectors, so cosine similarity is a dot
+// product. Search visits O(log n) nodes instead of every vector. Replacing or removing a label only tombstones its
+// node: tombstones still route searches but never come back as hits, and compact() drops them.
+// Not thread-safe for writes; concurrent searches are safe while no write runs.
+public class HnswIndex {
+    private static final int MAGIC = 0x484e5357; // "HNSW"
+    private static final int FORMAT = 1;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Integer, Integer> nodeByLabel = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction) {
+        this(dimensions, m, efConstruction, new Random(42));
+    }
+
+    HnswIndex(int dimensions, int m, int efConstruction, Random random) {
+        if (dimensions <= 0 || m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("dimensions > 0, m >= 2 and efConstruction >= 1 are required");
+        }
+
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxLinksLevel0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+        this.random = random;
+    }
+
+    public record Hit(int label, float score) {
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        return nodeByLabel.size();
+    }
+
+    public int tombstones() {
+        return nodes.size() - nodeByLabel.size();
+    }
+
+    public boolean contains(int label) {
+        return nodeByLabel.containsKey(label);
+    }
+
+    // The vector is normalized on the way in; a label that is already indexed is replaced.
+    public void add(int label, float[] vector) {
+        val normalized = normalize(vector);
+        remove(label);
+
+        val level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        val node = new Node(label, normalized, level);
+        val id = nodes.size();
+        nodes.add(node);
+        nodeByLabel.put(label, id);
+
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(normalized, current, layer);
+        }
+
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            val candidates = searchLayer(normalized, current, efConstruction, layer);
+            val neighbours = selectNeighbours(candidates, m);
+
+            for (val neighbour : neighbours) {
+                node.link(layer, neighbour.node());
+                val other = nodes.get(neighbour.node());
+                other.link(layer, id);
+                if (other.linkCount(layer) > maxLinks(layer)) {
+                    shrink(other, layer);
+                }
+            }
+
+            current = candidates.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            entryPoint = id;
+            maxLevel = level;
+        }
+    }
+
+    public boolean remove(int label) {
+        val id = nodeByLabel.remove(label);
+        if (id == null) {
+            return false;
+        }
+
+        nodes.get(id).deleted = true;
+
+        return true;
+    }
+
+    // Best matches first. ef is the size of the candidate list at the bottom layer: larger is slower and more exact.
+    public List<Hit> search(float[] query, int k, int ef) {
+        if (nodeByLabel.isEmpty() || k <= 0) {
+            return List.of();
+        }
+
+        val normalized = normalize(query);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(normalized, current, layer);
+        }
+
+        val hits = new ArrayList<Hit>(k);
+        for (val candidate : searchLayer(normalized, current, Math.max(ef, k), 0)) {
+            val node = nodes.get(candidate.node());
+            if (!node.deleted) {
+                hits.add(new Hit(node.label, candidate.score()));
+                if (hits.size() == k) {
+                    break;
+                }
+            }
+        }
+
+        return hits;
+    }
+
+    // A new graph holding only the live labels; vectors are reused, nothing is embedded again.
+    public HnswIndex compact() {
+        val compacted = new HnswIndex(dimensions, m, efConstruction, random);
+        for (val node : nodes) {
+            if (!node.deleted) {
+                compacted.add(node.label, node.vector);
+            }
+        }
+
+        return compacted;
+    }
+
+    public void write(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT);
+        output.writeInt(dimensions);
+        output.writeInt(m);
+        output.writeInt(efConstruction);
+        output.writeInt(entryPoint);
+        output.writeInt(maxLevel);
+        output.writeInt(nodes.size());
+
+        for (val node : nodes) {
+            output.writeInt(node.label);
+            output.writeBoolean(node.deleted);
+            output.writeInt(node.links.length - 1);
+            for (val value : node.vector) {
+                output.writeFloat(value);
+            }
+            for (int layer = 0; layer < node.links.length; layer++) {
+                output.writeInt(node.linkCounts[layer]);
+                for (int i = 0; i < node.linkCounts[layer]; i++) {
+                    output.writeInt(node.links[layer][i]);
+                }
+            }
+        }
+    }
+
+    public static HnswIndex read(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != FORMAT) {
+            throw new IOException("Not an HNSW index file of format " + FORMAT);
+        }
+
+        val index = new HnswIndex(input.readInt(), input.readInt(), input.readInt());
+        index.entryPoint = input.readInt();
+        index.maxLevel = input.readInt();
+        val count = input.readInt();
+
+        for (int id = 0; id < count; id++) {
+            val label = input.readInt();
+            val deleted = input.readBoolean();
+            val level = input.readInt();
+            val vector = new float[index.dimensions];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = input.readFloat();
+            }
+
+            val node = new Node(label, vector, level);
+            node.deleted = deleted;
+            for (int layer = 0; layer <= level; layer++) {
+                val linkCount = input.readInt();
+                for (int i = 0; i < linkCount; i++) {
+                    node.link(layer, input.readInt());
+                }
+            }
+
+            index.nodes.add(node);
+            if (!deleted) {
+                index.nodeByLabel.put(label, id);
+            }
+        }
+
+        return index;
+    }
+
+    private int maxLinks(int layer) {
+        return layer == 0 ? maxLinksLevel0 : m;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = dot(query, nodes.get(current).vector);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            val node = nodes.get(current);
+            for (int i = 0; i < node.linkCount(layer); i++) {
+                val neighbour = node.links[layer][i];
+                val score = dot(query, nodes.get(neighbour).vector);
+                if (score > best) {
+                    best = score;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    // Best first, at most ef entries; tombstones are included so the caller decides whether to skip them.
+    private List<Scored> searchLayer(float[] query, int start, int ef, int layer) {
+        val visited = new BitSet(nodes.size());
+        val candidates = new PriorityQueue<>(Comparator.comparingDouble(Scored::score).reversed());
+        val results = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+
+        val first = new Scored(start, dot(query, nodes.get(start).vector));
+        visited.set(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            val candidate = candidates.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+
+            val node = nodes.get(candidate.node());
+            for (int i = 0; i < node.linkCount(layer); i++) {
+                val neighbour = node.links[layer][i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+
+                val scored = new Scored(neighbour, dot(query, nodes.get(neighbour).vector));
+                if (results.size() < ef || scored.score() > results.peek().score()) {
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        val ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingDouble(Scored::score).reversed());
+
+        return ordered;
+    }
+
+    // Neighbour selection heuristic: a candidate closer to an already selected neighbour than to the base node
+    // is skipped, which keeps links spread across clusters. Skipped candidates fill any remaining slots.
+    private List<Scored> selectNeighbours(List<Scored> candidates, int count) {
+        val selected = new ArrayList<Scored>(count);
+        val skipped = new ArrayList<Scored>();
+
+        for (val candidate : candidates) {
+            if (selected.size() == count) {
+                break;
+            }
+
+            val vector = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (val chosen : selected) {
+                if (dot(vector, nodes.get(chosen.node()).vector) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                skipped.add(candidate);
+            }
+        }
+
+        for (int i = 0; i < skipped.size() && selected.size() < count; i++) {
+            selected.add(skipped.get(i));
+        }
+
+        return selected;
+    }
+
+    private void shrink(Node node, int layer) {
+        val candidates = new ArrayList<Scored>(node.linkCount(layer));
+        for (int i = 0; i < node.linkCount(layer); i++) {
+            val neighbour = node.links[layer][i];
+            candidates.add(new Scored(neighbour, dot(node.vector, nodes.get(neighbour).vector)));
+        }
+        candidates.sort(Comparator.comparingDouble(Scored::score).reversed());
+
+        node.linkCounts[layer] = 0;
+        for (val kept : selectNeighbours(candidates, maxLinks(layer))) {
+            node.link(layer, kept.node());
+        }
+    }
+
+    private float[] normalize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+
+        double norm = 0;
+        for (val value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        val normalized = new float[dimensions];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < dimensions; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+
+        return normalized;
+    }
+
+    static float dot(float[] left, float[] right) {
+        float sum = 0;
+        for (int i = 0; i < left.length; i++) {
+            sum += left[i] * right[i];
+        }
+
+        return sum;
+    }
+
+    private record Scored(int node, float score) {
+    }
+
+    private static final class Node {
+        private final int label;
+        private final float[] vector;
+        private final int[][] links;
+        private final int[] linkCounts;
+        private boolean deleted;
+
+        private Node(int label, float[] vector, int level) {
+            this.label = label;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int layer = 0; layer <= level; layer++) {
+                links[layer] = new int[4];
+            }
+        }
+
+        private int linkCount(int layer) {
+            return layer < links.length ? linkCounts[layer] : 0;
+        }
+
+        // Grows past the layer's maximum by one; the caller shrinks it back.
+        private void link(int layer, int node) {
+            if (linkCounts[layer] == links[layer].length) {
+                links[layer] = Arrays.copyOf(links[layer], links[layer].length * 2);
+            }
+            links[layer][linkCounts[layer]++] = node;
+        }
+    }
+}
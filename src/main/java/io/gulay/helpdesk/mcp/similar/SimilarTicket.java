@@ -0,0 +1,10 @@
+package io.gulay.helpdesk.mcp.similar;
+
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext;
+
+// A solved ticket returned by SimilarTicketIndex, with its cosine similarity to the ticket being answered.
+public record SimilarTicket(
+        HelpdeskTicketContext context,
+        float score
+) {
+}
@@ -0,0 +1,535 @@
+package io.gulay.helpdesk.mcp.similar;
+
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
+import io.gulay.helpdesk.data.projection.SolvedRequestRow;
+import io.gulay.helpdesk.data.projection.TicketContextRow;
+import io.gulay.helpdesk.data.service.IssueRequestService;
+import io.gulay.helpdesk.mcp.client.EmbeddingService;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Embeddings of solved tickets (request body followed by its responses) in an HNSW graph, so the assistant can show
+// the model how similar issues were resolved. A background thread follows requests in solve order and embeds the
+// new ones in batches; the graph is written to index-file after each sync that changed it and reloaded at startup,
+// so a restart does not embed every ticket again. A file built with another embedding model is discarded.
+// Retrieval never fails an assistant call: without an embedding provider, or when it errors, there are no hits.
+@Slf4j
+@Component
+public class SimilarTicketIndex {
+    private static final int FILE_MAGIC = 0x53544958; // "STIX"
+    // Each sync re-reads this much of the solve history: a row solved in the same second as the last one seen, or
+    // committed late by a long bulk solve, still gets indexed. Rows already indexed are skipped without embedding.
+    private static final Duration SOLVED_OVERLAP = Duration.ofMinutes(5);
+    // Indexed labels checked per query when a prune runs.
+    private static final int PRUNE_CHUNK = 1000;
+    // Newest responses read per ticket; max-document-chars usually cuts the document well before this many.
+    private static final int MAX_DOCUMENT_RESPONSES = 100;
+
+    private final EmbeddingService embeddingService;
+    private final IssueRequestService issueRequestService;
+    private final boolean enabled;
+    private final Path indexFile;
+    private final Duration refreshInterval;
+    private final int batchSize;
+    private final int maxDocumentChars;
+    private final int topK;
+    private final double minScore;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final Timer searchTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private HnswIndex index;
+    // Label -> solved time it was embedded for; a ticket solved again is embedded again.
+    private final Map<Integer, Long> solvedAt = new HashMap<>();
+    // Indexed labels whose request or responses were written after they were embedded. The resolution usually
+    // arrives as a response, often after the solve, so the next sync embeds these again.
+    private final Set<Integer> rewritten = ConcurrentHashMap.newKeySet();
+    private volatile long watermark;
+    // Set by a delete that did not name its tickets; the next sync checks every label against the database.
+    private volatile boolean pruneRequested;
+    // Labels removed since the file was last written.
+    private volatile boolean removedSinceSync;
+    private ScheduledExecutorService scheduler;
+
+    public SimilarTicketIndex(
+            ObjectProvider<EmbeddingService> embeddingService,
+            IssueRequestService issueRequestService,
+            @Value("${helpdesk.ai.similar-tickets.enabled:true}") boolean enabled,
+            @Value("${helpdesk.ai.similar-tickets.index-file:}") String indexFile,
+            @Value("${helpdesk.ai.similar-tickets.refresh-interval:1m}") Duration refreshInterval,
+            @Value("${helpdesk.ai.similar-tickets.batch-size:32}") int batchSize,
+            @Value("${helpdesk.ai.similar-tickets.max-document-chars:2000}") int maxDocumentChars,
+            @Value("${helpdesk.ai.similar-tickets.top-k:3}") int topK,
+            @Value("${helpdesk.ai.similar-tickets.min-score:0.3}") double minScore,
+            @Value("${helpdesk.ai.similar-tickets.hnsw.m:16}") int m,
+            @Value("${helpdesk.ai.similar-tickets.hnsw.ef-construction:200}") int efConstruction,
+            @Value("${helpdesk.ai.similar-tickets.hnsw.ef-search:64}") int efSearch,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        this.embeddingService = embeddingService.getIfAvailable();
+        this.issueRequestService = issueRequestService;
+        this.enabled = enabled;
+        this.indexFile = indexFile.isBlank() ? null : Path.of(indexFile);
+        this.refreshInterval = refreshInterval;
+        this.batchSize = batchSize;
+        this.maxDocumentChars = maxDocumentChars;
+        this.topK = topK;
+        this.minScore = minScore;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+
+        val registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.searchTimer = Timer.builder("helpdesk.ai.similar.tickets.search")
+                .description("Embedding and nearest-neighbour search for one similar-ticket lookup")
+                .register(registry);
+        Gauge.builder("helpdesk.ai.similar.tickets.indexed", this, SimilarTicketIndex::size)
+                .description("Solved tickets in the similar-ticket index")
+                .register(registry);
+
+        load();
+    }
+
+    public boolean isAvailable() {
+        return enabled && embeddingService != null;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to top-k solved tickets scoring at least min-score, best first; the ticket itself is never returned.
+    public List<HnswIndex.Hit> findSimilar(HelpdeskTicketContext context) {
+        if (!isAvailable() || size() == 0) {
+            return List.of();
+        }
+
+        val requestId = context.request().id();
+        val responseBodies = context.responses() == null
+                ? List.<String>of()
+                : context.responses().stream().map(HelpdeskTicketContext.TicketResponse::responseBody).toList();
+
+        try {
+            return searchTimer.record(() -> {
+                val query = embeddingService.embed(documentText(context.request().requestBody(), responseBodies));
+
+                lock.readLock().lock();
+                try {
+                    if (index.dimensions() != query.length) {
+                        return List.<HnswIndex.Hit>of();
+                    }
+
+                    return index.search(query, topK + 1, efSearch)
+                            .stream()
+                            .filter(hit -> !Objects.equals(hit.label(), requestId) && hit.score() >= minScore)
+                            .limit(topK)
+                            .toList();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            });
+
+        } catch (RuntimeException ex) {
+            log.warn("Similar-ticket lookup failed for requestId {}; answering without similar tickets", requestId, ex);
+            return List.of();
+        }
+    }
+
+    // Drops a ticket that turned out to be deleted or reopened when it came back as a hit.
+    public void remove(Integer requestId) {
+        remove(List.of(requestId));
+    }
+
+    public void remove(Collection<Integer> requestIds) {
+        lock.writeLock().lock();
+        try {
+            for (val requestId : requestIds) {
+                if (index != null) {
+                    index.remove(requestId);
+                }
+                rewritten.remove(requestId);
+                if (solvedAt.remove(requestId) != null) {
+                    removedSinceSync = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // After commit, so a rolled-back delete or reopen keeps its ticket. A delete selected by a filter or reached
+    // through a cascade does not name its tickets; those are found by the prune at the next sync.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueRequestsChanged(IssueRequestsChangedEvent event) {
+        if (event.change() == Change.WRITTEN) {
+            if (!event.isUnknownIds()) {
+                markRewritten(event.requestIds());
+            }
+            return;
+        }
+
+        if (event.change() != Change.DELETED && event.change() != Change.REOPENED) {
+            return;
+        }
+
+        if (event.isUnknownIds()) {
+            pruneRequested = true;
+        } else {
+            remove(event.requestIds());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isAvailable()) {
+            log.info("Similar-ticket retrieval is off: {}", enabled ? "no embedding provider" : "disabled");
+            return;
+        }
+
+        // A zero interval leaves syncing to explicit sync() calls, as the tests do.
+        if (refreshInterval.isZero()) {
+            log.info("Similar-ticket sync is not scheduled: refresh-interval is 0");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            val thread = new Thread(runnable, "similar-ticket-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Embeds every request solved since the last sync that is not indexed for its current solve time yet.
+    // Public for tests and for a manual catch-up; concurrent calls run one after the other.
+    public synchronized int sync() {
+        if (!isAvailable()) {
+            return 0;
+        }
+
+        if (pruneRequested) {
+            pruneRequested = false;
+            try {
+                prune();
+            } catch (RuntimeException ex) {
+                pruneRequested = true;
+                throw ex;
+            }
+        }
+
+        int indexed = embedRewritten();
+
+        Date cursorSolved = new Date(Math.max(0, watermark - SOLVED_OVERLAP.toMillis()));
+        Integer cursorId = 0;
+        long newest = watermark;
+
+        while (true) {
+            val rows = issueRequestService.findSolvedAfter(cursorSolved, cursorId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            indexed += embed(rows.stream().filter(row -> !isIndexed(row)).toList());
+
+            val last = rows.get(rows.size() - 1);
+            cursorSolved = last.solved();
+            cursorId = last.id();
+            newest = Math.max(newest, last.solved().getTime());
+
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+
+        watermark = newest;
+
+        if (indexed > 0 || removedSinceSync) {
+            removedSinceSync = false;
+            compactIfNeeded();
+            persist();
+            log.info("Similar-ticket index: {} tickets embedded, {} indexed", indexed, size());
+        }
+
+        return indexed;
+    }
+
+    // Removes every label that no longer names a solved request, in one query per PRUNE_CHUNK labels.
+    private void prune() {
+        final List<Integer> labels;
+        lock.readLock().lock();
+        try {
+            labels = List.copyOf(solvedAt.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (int from = 0; from < labels.size(); from += PRUNE_CHUNK) {
+            val chunk = labels.subList(from, Math.min(from + PRUNE_CHUNK, labels.size()));
+            val solved = issueRequestService.findSolvedIds(chunk);
+            remove(chunk.stream().filter(label -> !solved.contains(label)).toList());
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException ex) {
+            // The provider or the database may be down; the next run resumes from the same watermark.
+            log.warn("Similar-ticket sync failed; retrying in {}", refreshInterval, ex);
+        }
+    }
+
+    private void markRewritten(Collection<Integer> requestIds) {
+        lock.readLock().lock();
+        try {
+            requestIds.stream().filter(solvedAt::containsKey).forEach(rewritten::add);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Re-embeds the rewritten labels for the solve time they are indexed for, batch-size at a time. A ticket solved
+    // again meanwhile is embedded by the solve-order walk as well; on failure the rest waits for the next sync.
+    private int embedRewritten() {
+        val ids = List.copyOf(rewritten);
+        rewritten.removeAll(ids);
+
+        int embedded = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            val chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                embedded += embed(indexedRows(chunk));
+            } catch (RuntimeException ex) {
+                rewritten.addAll(ids.subList(from, ids.size()));
+                throw ex;
+            }
+        }
+
+        return embedded;
+    }
+
+    private List<SolvedRequestRow> indexedRows(List<Integer> ids) {
+        lock.readLock().lock();
+        try {
+            return ids.stream()
+                    .filter(solvedAt::containsKey)
+                    .map(id -> new SolvedRequestRow(id, new Date(solvedAt.get(id))))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isIndexed(SolvedRequestRow row) {
+        lock.readLock().lock();
+        try {
+            return Objects.equals(solvedAt.get(row.id()), row.solved().getTime());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int embed(List<SolvedRequestRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        val ids = rows.stream().map(SolvedRequestRow::id).toList();
+        val contexts = issueRequestService.findTicketContexts(ids, MAX_DOCUMENT_RESPONSES).stream()
+                .collect(Collectors.groupingBy(TicketContextRow::getRequestId, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        val labels = new ArrayList<SolvedRequestRow>(rows.size());
+        val texts = new ArrayList<String>(rows.size());
+        for (val row : rows) {
+            val context = contexts.get(row.id());
+            // Deleted or reopened since the solved page was read.
+            if (context == null || !Boolean.TRUE.equals(context.get(0).getIsSolved())) {
+                continue;
+            }
+
+            labels.add(row);
+            texts.add(documentText(context.get(0).getRequestBody(), context.stream()
+                    .map(TicketContextRow::getResponseBody)
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+
+        if (texts.isEmpty()) {
+            return 0;
+        }
+
+        val vectors = embeddingService.embedAll(texts);
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < labels.size(); i++) {
+                val vector = vectors.get(i);
+                if (index == null || index.dimensions() != vector.length) {
+                    // First vector, or the provider now returns another size: start over at the new size.
+                    index = new HnswIndex(vector.length, m, efConstruction);
+                    solvedAt.clear();
+                }
+
+                index.add(labels.get(i).id(), vector);
+                solvedAt.put(labels.get(i).id(), labels.get(i).solved().getTime());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return labels.size();
+    }
+
+    // The request first, then its responses in order, cut at max-document-chars: the request carries the symptom,
+    // the responses the resolution.
+    private String documentText(String requestBody, Collection<String> responseBodies) {
+        val text = new StringBuilder(requestBody == null ? "" : requestBody);
+        for (val responseBody : responseBodies) {
+            if (text.length() >= maxDocumentChars) {
+                break;
+            }
+            text.append('\n').append(responseBody);
+        }
+
+        return text.length() > maxDocumentChars ? text.substring(0, maxDocumentChars) : text.toString();
+    }
+
+    // Re-solved and removed tickets leave tombstones behind; once they outnumber live nodes the graph is rebuilt.
+    private void compactIfNeeded() {
+        lock.writeLock().lock();
+        try {
+            if (index != null && index.tombstones() > index.size()) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        if (indexFile == null || !Files.isReadable(indexFile) || embeddingService == null) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a similar-ticket index file");
+            }
+
+            val model = input.readUTF();
+            if (!model.equals(embeddingService.model())) {
+                log.info("Similar-ticket index {} was built with {}, not {}; rebuilding it",
+                        indexFile, model, embeddingService.model());
+                return;
+            }
+
+            val loadedWatermark = input.readLong();
+            val loadedSolvedAt = new HashMap<Integer, Long>();
+            val count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                loadedSolvedAt.put(input.readInt(), input.readLong());
+            }
+            val loadedIndex = input.readBoolean() ? HnswIndex.read(input) : null;
+
+            watermark = loadedWatermark;
+            solvedAt.putAll(loadedSolvedAt);
+            index = loadedIndex;
+
+            log.info("Loaded {} similar tickets from {}", size(), indexFile);
+        } catch (IOException exception) {
+            log.warn("Ignoring unreadable similar-ticket index file {}", indexFile, exception);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        persist();
+    }
+
+    private void persist() {
+        if (indexFile == null || embeddingService == null) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            val parent = indexFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            // Same write-then-rename as the AI response cache file.
+            val tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(FILE_MAGIC);
+                output.writeUTF(embeddingService.model());
+                output.writeLong(watermark);
+                output.writeInt(solvedAt.size());
+                for (val entry : solvedAt.entrySet()) {
+                    output.writeInt(entry.getKey());
+                    output.writeLong(entry.getValue());
+                }
+                output.writeBoolean(index != null);
+                if (index != null) {
+                    index.write(output);
+                }
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException exception) {
+            log.warn("Could not persist the similar-ticket index to {}", indexFile, exception);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,9 +1,28 @@
 package io.gulay.helpdesk.mcp.tools.assistant;
 
 import io.gulay.helpdesk.mcp.client.AiService;
+import io.gulay.helpdesk.mcp.dto.AssistantBatchToolResponse;
 import io.gulay.helpdesk.mcp.prompt.HelpdeskPromptService;
+import io.gulay.helpdesk.mcp.similar.HnswIndex;
+import io.gulay.helpdesk.mcp.similar.SimilarTicket;
+import io.gulay.helpdesk.mcp.similar.SimilarTicketIndex;
 import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class HelpdeskAssistantFacade {
@@ -11,77 +30,242 @@ public class HelpdeskAssistantFacade {
     private final HelpdeskContextBuilder contextBuilder;
     private final HelpdeskPromptService promptService;
     private final AiService aiService;
+    private final SimilarTicketIndex similarTicketIndex;
+    private final Executor batchExecutor;
+    private final int batchMaxConcurrency;
+    private final int batchMaxSize;
 
     public HelpdeskAssistantFacade(
             HelpdeskContextBuilder contextBuilder,
             HelpdeskPromptService promptService,
-            AiService aiService
+            AiService aiService,
+            SimilarTicketIndex similarTicketIndex,
+            @Qualifier("assistantBatchExecutor") Executor batchExecutor,
+            @Value("${helpdesk.ai.batch.max-concurrency:4}") int batchMaxConcurrency,
+            @Value("${helpdesk.ai.batch.max-size:200}") int batchMaxSize
     ) {
         this.contextBuilder = contextBuilder;
         this.promptService = promptService;
         this.aiService = aiService;
+        this.similarTicketIndex = similarTicketIndex;
+        this.batchExecutor = batchExecutor;
+        this.batchMaxConcurrency = batchMaxConcurrency;
+        this.batchMaxSize = batchMaxSize;
     }
 
     public String summarizeIssueRequest(Integer requestId) {
-        val context = contextBuilder.buildTicketContext(requestId);
+        return ask(requestId, promptService::summarizePrompt);
+    }
 
-        return aiService.chat(
-                promptService.systemPrompt(),
-                promptService.summarizePrompt(context)
-        );
+    public String summarizeIssueRequest(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::summarizePrompt, onChunk);
     }
 
     public String suggestIssueResponse(Integer requestId) {
-        val context = contextBuilder.buildTicketContext(requestId);
+        return ask(requestId, this::suggestResponsePrompt);
+    }
 
-        return aiService.chat(
-                promptService.systemPrompt(),
-                promptService.suggestResponsePrompt(context)
-        );
+    public String suggestIssueResponse(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, this::suggestResponsePrompt, onChunk);
     }
 
     public String classifyIssuePriority(Integer requestId) {
-        val context = contextBuilder.buildTicketContext(requestId);
+        return ask(requestId, promptService::classifyPriorityPrompt);
+    }
 
-        return aiService.chat(
-                promptService.systemPrompt(),
-                promptService.classifyPriorityPrompt(context)
-        );
+    public String classifyIssuePriority(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::classifyPriorityPrompt, onChunk);
     }
 
     public String estimateIssueCategory(Integer requestId) {
-        val context = contextBuilder.buildTicketContext(requestId);
+        return ask(requestId, promptService::estimateCategoryPrompt);
+    }
 
-        return aiService.chat(
-                promptService.systemPrompt(),
-                promptService.estimateCategoryPrompt(context)
-        );
+    public String estimateIssueCategory(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::estimateCategoryPrompt, onChunk);
     }
 
     public String generateIssueTimeline(Integer requestId) {
-        val context = contextBuilder.buildTicketContext(requestId);
+        return ask(requestId, promptService::timelinePrompt);
+    }
 
-        return aiService.chat(
-                promptService.systemPrompt(),
-                promptService.timelinePrompt(context)
-        );
+    public String generateIssueTimeline(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::timelinePrompt, onChunk);
     }
 
     public String createEscalationSummary(Integer requestId) {
+        return ask(requestId, promptService::escalationSummaryPrompt);
+    }
+
+    public String createEscalationSummary(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::escalationSummaryPrompt, onChunk);
+    }
+
+    public String generateKnowledgeBaseArticle(Integer requestId) {
+        return ask(requestId, promptService::knowledgeBaseArticlePrompt);
+    }
+
+    public String generateKnowledgeBaseArticle(Integer requestId, Consumer<String> onChunk) {
+        return askStreaming(requestId, promptService::knowledgeBaseArticlePrompt, onChunk);
+    }
+
+    public List<AssistantBatchToolResponse> summarizeIssueRequests(
+            List<Integer> requestIds, Consumer<AssistantBatchToolResponse> onResult) {
+        return askBatch(requestIds, promptService::summarizePrompt, onResult);
+    }
+
+    public List<AssistantBatchToolResponse> classifyIssuePriorities(
+            List<Integer> requestIds, Consumer<AssistantBatchToolResponse> onResult) {
+        return askBatch(requestIds, promptService::classifyPriorityPrompt, onResult);
+    }
+
+    public List<AssistantBatchToolResponse> estimateIssueCategories(
+            List<Integer> requestIds, Consumer<AssistantBatchToolResponse> onResult) {
+        return askBatch(requestIds, promptService::estimateCategoryPrompt, onResult);
+    }
+
+    // The draft can follow how the nearest solved tickets were resolved. A hit deleted or reopened since it was
+    // indexed is left out here and dropped from the index.
+    private String suggestResponsePrompt(HelpdeskTicketContext context) {
+        val hits = similarTicketIndex.findSimilar(context);
+        if (hits.isEmpty()) {
+            return promptService.suggestResponsePrompt(context);
+        }
+
+        val contexts = contextBuilder.buildTicketContexts(hits.stream().map(HnswIndex.Hit::label).toList());
+        val similarTickets = new ArrayList<SimilarTicket>(hits.size());
+        for (val hit : hits) {
+            val similar = contexts.get(hit.label());
+            if (similar == null || !Boolean.TRUE.equals(similar.request().isSolved())) {
+                similarTicketIndex.remove(hit.label());
+                continue;
+            }
+
+            similarTickets.add(new SimilarTicket(similar, hit.score()));
+        }
+
+        return promptService.suggestResponsePrompt(context, similarTickets);
+    }
+
+    private String ask(Integer requestId, Function<HelpdeskTicketContext, String> userPrompt) {
         val context = contextBuilder.buildTicketContext(requestId);
 
         return aiService.chat(
+                requestId,
+                context.promptText(),
                 promptService.systemPrompt(),
-                promptService.escalationSummaryPrompt(context)
+                userPrompt.apply(context)
         );
     }
 
-    public String generateKnowledgeBaseArticle(Integer requestId) {
+    private String askStreaming(
+            Integer requestId,
+            Function<HelpdeskTicketContext, String> userPrompt,
+            Consumer<String> onChunk
+    ) {
         val context = contextBuilder.buildTicketContext(requestId);
 
-        return aiService.chat(
+        return aiService.chatStream(
+                requestId,
+                context.promptText(),
                 promptService.systemPrompt(),
-                promptService.knowledgeBaseArticlePrompt(context)
+                userPrompt.apply(context),
+                onChunk
         );
     }
+
+    // Contexts are loaded with one query; at most batchMaxConcurrency provider calls of this batch are in flight,
+    // and results are handed to onResult (and returned) in completion order. If the batch ends early (the caller
+    // is interrupted, a call fails, or onResult throws), the calls still running are cancelled so they release their
+    // executor threads and bulkhead permits instead of working for a caller that is gone.
+    private List<AssistantBatchToolResponse> askBatch(
+            List<Integer> requestIds,
+            Function<HelpdeskTicketContext, String> userPrompt,
+            Consumer<AssistantBatchToolResponse> onResult
+    ) {
+        if (requestIds == null || requestIds.isEmpty() || requestIds.size() > batchMaxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "requestIds: between 1 and " + batchMaxSize + " ids are required");
+        }
+
+        val pending = new ArrayDeque<>(new LinkedHashSet<>(requestIds));
+        val contexts = contextBuilder.buildTicketContexts(pending);
+        val completionService = new ExecutorCompletionService<AssistantBatchToolResponse>(batchExecutor);
+        val results = new ArrayList<AssistantBatchToolResponse>(pending.size());
+        val submitted = new ArrayList<Future<AssistantBatchToolResponse>>(pending.size());
+        int inFlight = 0;
+
+        try {
+            while (!pending.isEmpty() || inFlight > 0) {
+                while (inFlight < batchMaxConcurrency && !pending.isEmpty()) {
+                    val requestId = pending.poll();
+                    val context = contexts.get(requestId);
+
+                    if (context == null) {
+                        complete(new AssistantBatchToolResponse(
+                                requestId, null, "requestId:" + requestId + " not found"), results, onResult);
+                        continue;
+                    }
+
+                    submitted.add(completionService.submit(() -> askOne(requestId, context, userPrompt)));
+                    inFlight++;
+                }
+
+                if (inFlight == 0) {
+                    break;
+                }
+
+                try {
+                    complete(completionService.take().get(), results, onResult);
+                    inFlight--;
+
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Batch interrupted", ex);
+
+                } catch (ExecutionException ex) {
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Batch failed",
+                            ex.getCause());
+                }
+            }
+
+            return results;
+
+        } finally {
+            // A no-op for the calls that already completed.
+            submitted.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private AssistantBatchToolResponse askOne(
+            Integer requestId,
+            HelpdeskTicketContext context,
+            Function<HelpdeskTicketContext, String> userPrompt
+    ) {
+        try {
+            val result = aiService.chat(
+                    requestId,
+                    context.promptText(),
+                    promptService.systemPrompt(),
+                    userPrompt.apply(context)
+            );
+
+            return new AssistantBatchToolResponse(requestId, result, null);
+
+        } catch (ResponseStatusException ex) {
+            return new AssistantBatchToolResponse(requestId, null, ex.getReason());
+
+        } catch (Exception ex) {
+            return new AssistantBatchToolResponse(requestId, null, ex.getMessage());
+        }
+    }
+
+    private static void complete(
+            AssistantBatchToolResponse result,
+            List<AssistantBatchToolResponse> results,
+            Consumer<AssistantBatchToolResponse> onResult
+    ) {
+        results.add(result);
+        onResult.accept(result);
+    }
 }
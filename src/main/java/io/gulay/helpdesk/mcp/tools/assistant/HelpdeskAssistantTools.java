@@ -1,10 +1,22 @@
 package io.gulay.helpdesk.mcp.tools.assistant;
 
+import io.gulay.helpdesk.mcp.config.McpToolConfiguration;
+import io.gulay.helpdesk.mcp.dto.AssistantBatchToolResponse;
+import io.modelcontextprotocol.spec.McpSchema;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -14,44 +26,104 @@ public class HelpdeskAssistantTools {
     private final HelpdeskAssistantFacade facade;
 
     @Tool(description = "Summarize an issue request with requester and response history")
-    public String summarizeIssueRequest(Integer requestId) {
+    public String summarizeIssueRequest(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: summarizeIssueRequest >> Request Id: {}", requestId);
-        return facade.summarizeIssueRequest(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.summarizeIssueRequest(requestId, notifier))
+                .orElseGet(() -> facade.summarizeIssueRequest(requestId));
     }
 
     @Tool(description = "Suggest a professional support response for an issue request")
-    public String suggestIssueResponse(Integer requestId) {
+    public String suggestIssueResponse(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: suggestIssueResponse >> Request Id: {}", requestId);
-        return facade.suggestIssueResponse(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.suggestIssueResponse(requestId, notifier))
+                .orElseGet(() -> facade.suggestIssueResponse(requestId));
     }
 
     @Tool(description = "Classify the priority of an issue request as LOW, MEDIUM, HIGH, or CRITICAL")
-    public String classifyIssuePriority(Integer requestId) {
+    public String classifyIssuePriority(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: classifyIssuePriority >> Request Id: {}", requestId);
-        return facade.classifyIssuePriority(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.classifyIssuePriority(requestId, notifier))
+                .orElseGet(() -> facade.classifyIssuePriority(requestId));
     }
 
     @Tool(description = "Estimate the category of an issue request, such as Access, Hardware, Software, Network, Account, Data, or Other")
-    public String estimateIssueCategory(Integer requestId) {
+    public String estimateIssueCategory(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: estimateIssueCategory >> Request Id: {}", requestId);
-        return facade.estimateIssueCategory(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.estimateIssueCategory(requestId, notifier))
+                .orElseGet(() -> facade.estimateIssueCategory(requestId));
     }
 
     @Tool(description = "Generate a chronological timeline for an issue request")
-    public String generateIssueTimeline(Integer requestId) {
+    public String generateIssueTimeline(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: generateIssueTimeline >> Request Id: {}", requestId);
-        return facade.generateIssueTimeline(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.generateIssueTimeline(requestId, notifier))
+                .orElseGet(() -> facade.generateIssueTimeline(requestId));
     }
 
     @Tool(description = "Create an escalation summary for an issue request")
-    public String createEscalationSummary(Integer requestId) {
+    public String createEscalationSummary(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: createEscalationSummary >> Request Id: {}", requestId);
-        return facade.createEscalationSummary(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.createEscalationSummary(requestId, notifier))
+                .orElseGet(() -> facade.createEscalationSummary(requestId));
     }
 
     @Tool(description = "Generate a draft knowledge base article from an issue request")
-    public String generateKnowledgeBaseArticle(Integer requestId) {
+    public String generateKnowledgeBaseArticle(Integer requestId, ToolContext toolContext) {
         log.info("Calling MCP tool: generateKnowledgeBaseArticle >> Request Id: {}", requestId);
-        return facade.generateKnowledgeBaseArticle(requestId);
+        return progressNotifier(toolContext, null)
+                .map(notifier -> facade.generateKnowledgeBaseArticle(requestId, notifier))
+                .orElseGet(() -> facade.generateKnowledgeBaseArticle(requestId));
+    }
+
+    @Tool(description = "Summarize many issue requests in one call; results are returned in completion order")
+    public List<AssistantBatchToolResponse> summarizeIssueRequests(List<Integer> requestIds, ToolContext toolContext) {
+        log.info("Calling MCP tool: summarizeIssueRequests >> Request Ids: {}", requestIds);
+        return facade.summarizeIssueRequests(requestIds, resultNotifier(toolContext, requestIds));
+    }
+
+    @Tool(description = "Classify the priority of many issue requests as LOW, MEDIUM, HIGH, or CRITICAL in one call; results are returned in completion order")
+    public List<AssistantBatchToolResponse> classifyIssuePriorities(List<Integer> requestIds, ToolContext toolContext) {
+        log.info("Calling MCP tool: classifyIssuePriorities >> Request Ids: {}", requestIds);
+        return facade.classifyIssuePriorities(requestIds, resultNotifier(toolContext, requestIds));
+    }
+
+    @Tool(description = "Estimate the category of many issue requests in one call; results are returned in completion order")
+    public List<AssistantBatchToolResponse> estimateIssueCategories(List<Integer> requestIds, ToolContext toolContext) {
+        log.info("Calling MCP tool: estimateIssueCategories >> Request Ids: {}", requestIds);
+        return facade.estimateIssueCategories(requestIds, resultNotifier(toolContext, requestIds));
+    }
+
+    // Over MCP, generated text is pushed to the client as notifications/progress keyed to the progressToken of
+    // the call, so the first tokens arrive long before the final tool result. A client that sent no token asked
+    // for no progress and gets the final result only.
+    private static Optional<Consumer<String>> progressNotifier(ToolContext toolContext, Double total) {
+        val progressToken = toolContext.getContext().get(McpToolConfiguration.PROGRESS_TOKEN_KEY);
+        if (progressToken == null) {
+            return Optional.empty();
+        }
+        return McpToolUtils.getMcpExchange(toolContext).<Consumer<String>>map(exchange -> {
+            val progress = new AtomicInteger();
+            return message -> exchange.progressNotification(new McpSchema.ProgressNotification(
+                    progressToken, (double) progress.incrementAndGet(), total, message));
+        });
+    }
+
+    // Batch results are announced one notification per ticket as soon as each completes, counting towards the
+    // number of distinct requested ids.
+    private static Consumer<AssistantBatchToolResponse> resultNotifier(
+            ToolContext toolContext, List<Integer> requestIds) {
+        val total = requestIds == null ? null : (double) new HashSet<>(requestIds).size();
+        return progressNotifier(toolContext, total)
+                .<Consumer<AssistantBatchToolResponse>>map(notifier -> result -> notifier.accept(result.error() == null
+                        ? "requestId " + result.requestId() + ": " + result.result()
+                        : "requestId " + result.requestId() + " failed: " + result.error()))
+                .orElse(result -> {
+                });
     }
 }
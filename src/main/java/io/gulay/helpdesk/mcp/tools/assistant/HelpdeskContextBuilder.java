@@ -1,62 +1,48 @@
 package io.gulay.helpdesk.mcp.tools.assistant;
 
-import io.gulay.helpdesk.data.model.IssueRequestModel;
-import io.gulay.helpdesk.data.model.IssueRequesterModel;
-import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.projection.TicketContextRow;
 import io.gulay.helpdesk.data.service.IssueRequestService;
-import io.gulay.helpdesk.data.service.IssueRequesterService;
-import io.gulay.helpdesk.data.service.IssueResponseService;
-import io.gulay.helpdesk.data.util.SortDirection;
 import lombok.val;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class HelpdeskContextBuilder {
 
+    static final int MAX_RESPONSES = 100;
+
     private final IssueRequestService issueRequestService;
-    private final IssueRequesterService issueRequesterService;
-    private final IssueResponseService issueResponseService;
-
-    public HelpdeskContextBuilder(
-            IssueRequestService issueRequestService,
-            IssueRequesterService issueRequesterService,
-            IssueResponseService issueResponseService
-    ) {
+    private final CacheManager cacheManager;
+
+    public HelpdeskContextBuilder(IssueRequestService issueRequestService, CacheManager cacheManager) {
         this.issueRequestService = issueRequestService;
-        this.issueRequesterService = issueRequesterService;
-        this.issueResponseService = issueResponseService;
+        this.cacheManager = cacheManager;
     }
 
+    // Assistant tools are often called back to back on the same ticket; they share one immutable context.
+    @Cacheable(cacheNames = CacheConfiguration.TICKET_CONTEXTS, key = "#requestId")
     public HelpdeskTicketContext buildTicketContext(Integer requestId) {
         try {
-            val request = issueRequestService.findById(requestId);
-
-            val requesterId = request.getRequester() == null
-                    ? null
-                    : request.getRequester().getId();
-
-            if (requesterId == null) {
-                throw new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "Requester id is missing for requestId: " + requestId
-                );
-            }
-
-            val requester = findRequesterSafely(requesterId);
-            val responses = findResponsesSafely(requestId);
+            // Loaded newest first so the cap keeps the latest responses; the context lists them oldest first.
+            val rows = new ArrayList<>(issueRequestService.findTicketContext(requestId, MAX_RESPONSES));
+            Collections.reverse(rows);
 
-            return new HelpdeskTicketContext(
-                    toTicketRequest(request, requesterId),
-                    toTicketRequester(requester),
-                    responses.stream()
-                            .map(this::toTicketResponse)
-                            .toList()
-            );
+            return toContext(requestId, rows);
 
         } catch (ResponseStatusException ex) {
             throw ex;
@@ -70,77 +56,106 @@ public class HelpdeskContextBuilder {
         }
     }
 
-    private IssueRequesterModel findRequesterSafely(Integer requesterId) {
+    // Contexts already in the ticketContexts region are reused; the rest are loaded with one query and cached.
+    // Ids that do not exist are absent from the returned map.
+    public Map<Integer, HelpdeskTicketContext> buildTicketContexts(Collection<Integer> requestIds) {
+        val cache = cacheManager.getCache(CacheConfiguration.TICKET_CONTEXTS);
+        val contexts = new LinkedHashMap<Integer, HelpdeskTicketContext>();
+        val missing = new ArrayList<Integer>();
+
+        for (val requestId : new LinkedHashSet<>(requestIds)) {
+            val cached = cache == null ? null : cache.get(requestId, HelpdeskTicketContext.class);
+            if (cached == null) {
+                missing.add(requestId);
+            } else {
+                contexts.put(requestId, cached);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return contexts;
+        }
+
         try {
-            return issueRequesterService.findById(requesterId);
+            val rowsByRequest = issueRequestService.findTicketContexts(missing, MAX_RESPONSES).stream()
+                    .collect(Collectors.groupingBy(TicketContextRow::getRequestId,
+                            LinkedHashMap::new, Collectors.toList()));
+
+            rowsByRequest.forEach((requestId, rows) -> {
+                val context = toContext(requestId, rows);
+                contexts.put(requestId, context);
+
+                if (cache != null) {
+                    cache.put(requestId, context);
+                }
+            });
+
+            return contexts;
 
         } catch (ResponseStatusException ex) {
+            throw ex;
+
+        } catch (Exception ex) {
             throw new ResponseStatusException(
-                    ex.getStatusCode(),
-                    "Could not find requester for requesterId: " + requesterId,
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Could not build helpdesk ticket contexts for requestIds: " + missing,
                     ex
             );
         }
     }
 
-    private Collection<IssueResponseModel> findResponsesSafely(Integer requestId) {
-        try {
-            return issueResponseService
-                    .findAllByRequestId(requestId, 0, 100, "created", SortDirection.Ascending)
-                    .getContent();
-
-        } catch (ResponseStatusException ex) {
-            if (ex.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
-                return List.of();
-            }
+    private HelpdeskTicketContext toContext(Integer requestId, List<TicketContextRow> rows) {
+        val first = rows.get(0);
 
+        if (first.getRequesterId() == null) {
             throw new ResponseStatusException(
-                    ex.getStatusCode(),
-                    "Could not find responses for requestId: " + requestId,
-                    ex
+                    HttpStatus.NOT_FOUND,
+                    "Requester id is missing for requestId: " + requestId
             );
         }
+
+        return new HelpdeskTicketContext(
+                toTicketRequest(first),
+                toTicketRequester(first),
+                rows.stream()
+                        .filter(row -> Objects.nonNull(row.getResponseId()))
+                        .map(this::toTicketResponse)
+                        .toList()
+        );
     }
 
-    private HelpdeskTicketContext.TicketRequest toTicketRequest(
-            IssueRequestModel request,
-            Integer requesterId
-    ) {
+    private HelpdeskTicketContext.TicketRequest toTicketRequest(TicketContextRow row) {
         return new HelpdeskTicketContext.TicketRequest(
-                request.getId(),
-                requesterId,
-                request.getBody(),
-                request.getIsSolved(),
-                request.getCreated() == null ? null : request.getCreated().toInstant().toString(),
-                request.getSolved() == null ? null : request.getSolved().toInstant().toString()
+                row.getRequestId(),
+                row.getRequesterId(),
+                row.getRequestBody(),
+                row.getIsSolved(),
+                toIsoInstant(row.getRequestCreated()),
+                toIsoInstant(row.getRequestSolved())
         );
     }
 
-    private HelpdeskTicketContext.TicketRequester toTicketRequester(IssueRequesterModel requester) {
+    private HelpdeskTicketContext.TicketRequester toTicketRequester(TicketContextRow row) {
         return new HelpdeskTicketContext.TicketRequester(
-                requester.getId(),
-                requester.getFullName(),
-                requester.getEmail(),
-                requester.getIsActive(),
-                requester.getCreated() == null ? null : requester.getCreated().toInstant().toString()
+                row.getRequesterId(),
+                row.getFullName(),
+                row.getEmail(),
+                row.getIsActive(),
+                toIsoInstant(row.getRequesterCreated())
         );
     }
 
-    private HelpdeskTicketContext.TicketResponse toTicketResponse(IssueResponseModel response) {
-        val requestId = response.getRequest() == null
-                ? null
-                : response.getRequest().getId();
-
-        val requesterId = response.getRequester() == null
-                ? null
-                : response.getRequester().getId();
-
+    private HelpdeskTicketContext.TicketResponse toTicketResponse(TicketContextRow row) {
         return new HelpdeskTicketContext.TicketResponse(
-                response.getId(),
-                requestId,
-                requesterId,
-                response.getBody(),
-                response.getCreated() == null ? null : response.getCreated().toInstant().toString()
+                row.getResponseId(),
+                row.getRequestId(),
+                row.getResponseRequesterId(),
+                row.getResponseBody(),
+                toIsoInstant(row.getResponseCreated())
         );
     }
-}
+
+    private static String toIsoInstant(Date date) {
+        return date == null ? null : date.toInstant().toString();
+    }
+}
\ No newline at end of file
@@ -3,19 +3,47 @@ package io.gulay.helpdesk.mcp.tools.assistant;
 import lombok.val;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public record HelpdeskTicketContext(
         TicketRequest request,
         TicketRequester requester,
-        Collection<TicketResponse> responses
+        Collection<TicketResponse> responses,
+        String promptText
 ) {
 
+    // The prompt text is rendered once, so every assistant tool sharing a cached context reuses it.
+    public HelpdeskTicketContext(
+            TicketRequest request,
+            TicketRequester requester,
+            Collection<TicketResponse> responses
+    ) {
+        this(request, requester, responses, render(request, requester, responses));
+    }
+
     public String toPromptText() {
-        val responsesText = responses == null || responses.isEmpty()
+        return promptText;
+    }
+
+    private static String render(
+            TicketRequest request,
+            TicketRequester requester,
+            Collection<TicketResponse> responses
+    ) {
+        return layout(
+                requester.toPromptText(),
+                request.toPromptText(),
+                responses == null ? List.of() : responses.stream().map(TicketResponse::toPromptText).toList()
+        );
+    }
+
+    // Shared with the prompt budget, which renders the same layout from shortened parts.
+    public static String layout(String requesterText, String requestText, List<String> responseTexts) {
+        val responsesText = responseTexts.isEmpty()
                 ? "No responses found."
-                : responses.stream()
-                .map(response -> "- " + response.toPromptText())
+                : responseTexts.stream()
+                .map(responseText -> "- " + responseText)
                 .collect(Collectors.joining(System.lineSeparator()));
 
         return """
@@ -28,8 +56,8 @@ public record HelpdeskTicketContext(
                 Responses:
                 %s
                 """.formatted(
-                requester.toPromptText(),
-                request.toPromptText(),
+                requesterText,
+                requestText,
                 responsesText
         );
     }
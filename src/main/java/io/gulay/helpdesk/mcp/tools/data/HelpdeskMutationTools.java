@@ -1,5 +1,7 @@
 package io.gulay.helpdesk.mcp.tools.data;
 
+import io.gulay.helpdesk.mcp.dto.BulkCountToolResponse;
+import io.gulay.helpdesk.mcp.dto.BulkToolResponse;
 import io.gulay.helpdesk.mcp.dto.IssueRequestToolRequest;
 import io.gulay.helpdesk.mcp.dto.IssueRequestToolResponse;
 import io.gulay.helpdesk.mcp.dto.IssueRequesterToolRequest;
@@ -9,9 +11,12 @@ import io.gulay.helpdesk.mcp.dto.IssueResponseToolResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -33,12 +38,19 @@ public class HelpdeskMutationTools {
         return requesterTools.toggleIssueRequesterActivation(id);
     }
 
-    @Tool(description = "Save or update an issue requester")
+    @Tool(description = "Save or update an issue requester. An update must send the version it read; a stale version fails with 409")
     public IssueRequesterToolResponse saveIssueRequester(IssueRequesterToolRequest request) {
         log.info("Calling MCP tool: saveIssueRequester >> Requester Id: {}", request.id());
         return requesterTools.saveIssueRequester(request);
     }
 
+    @Tool(description = "Save or update many issue requesters in JDBC batches (id 0 or null creates; an update needs the version it read). "
+            + "Returns one result per item, in input order, with status 200 or the item's error status")
+    public BulkToolResponse saveIssueRequesters(List<IssueRequesterToolRequest> requests) {
+        log.info("Calling MCP tool: saveIssueRequesters >> Items: {}", requests.size());
+        return requesterTools.saveIssueRequesters(requests);
+    }
+
     @Tool(description = "Hard delete an issue requester by id")
     public IssueRequesterToolResponse hardDeleteIssueRequester(Integer id) {
         log.info("Calling MCP tool: hardDeleteIssueRequester >> Requester Id: {}", id);
@@ -51,24 +63,66 @@ public class HelpdeskMutationTools {
         return requestTools.solveIssueRequest(id);
     }
 
-    @Tool(description = "Save or update an issue request")
+    @Tool(description = "Save or update an issue request. An update must send the version it read; a stale version fails with 409")
     public IssueRequestToolResponse saveIssueRequest(IssueRequestToolRequest request) {
         log.info("Calling MCP tool: saveIssueRequest >> Request Id: {}", request.id());
         return requestTools.saveIssueRequest(request);
     }
 
+    @Tool(description = "Save or update many issue requests in JDBC batches (id 0 or null creates; an update needs the version it read). "
+            + "Returns one result per item, in input order, with status 200 or the item's error status")
+    public BulkToolResponse saveIssueRequests(List<IssueRequestToolRequest> requests) {
+        log.info("Calling MCP tool: saveIssueRequests >> Items: {}", requests.size());
+        return requestTools.saveIssueRequests(requests);
+    }
+
     @Tool(description = "Hard delete an issue request by id")
     public IssueRequestToolResponse hardDeleteIssueRequest(Integer id) {
         log.info("Calling MCP tool: hardDeleteIssueRequest >> Request Id: {}", id);
         return requestTools.hardDeleteIssueRequest(id);
     }
 
-    @Tool(description = "Save or update an issue response")
+    // Bulk solve and delete only count the selection unless dryRun is explicitly false.
+    @Tool(description = "Mark many issue requests as solved, selected either by ids or by createdBefore "
+            + "(unsolved requests created before an ISO-8601 instant, example: 2026-07-09T00:00:00Z), never both. "
+            + "Only counts the matching requests unless dryRun is false")
+    public BulkCountToolResponse solveIssueRequests(
+            @ToolParam(required = false, description = "Ids of the requests to solve") List<Integer> ids,
+            @ToolParam(required = false, description = "ISO-8601 instant; solves unsolved requests created before it") String createdBefore,
+            @ToolParam(required = false, description = "Defaults to true; set to false to apply the change") Boolean dryRun
+    ) {
+        log.info("Calling MCP tool: solveIssueRequests >> Ids: {}, Created before: {}, Dry run: {}",
+                ids == null ? 0 : ids.size(), createdBefore, dryRun);
+        return requestTools.solveIssueRequests(ids, createdBefore, !Boolean.FALSE.equals(dryRun));
+    }
+
+    @Tool(description = "Hard delete many issue requests and their responses, selected either by ids or by "
+            + "createdBefore (an ISO-8601 instant, example: 2026-07-09T00:00:00Z), never both, optionally narrowed "
+            + "by solved status. Only counts the matching requests unless dryRun is false")
+    public BulkCountToolResponse hardDeleteIssueRequests(
+            @ToolParam(required = false, description = "Ids of the requests to delete") List<Integer> ids,
+            @ToolParam(required = false, description = "ISO-8601 instant; deletes requests created before it") String createdBefore,
+            @ToolParam(required = false, description = "Only delete solved (true) or unsolved (false) requests") Boolean isSolved,
+            @ToolParam(required = false, description = "Defaults to true; set to false to apply the change") Boolean dryRun
+    ) {
+        log.info("Calling MCP tool: hardDeleteIssueRequests >> Ids: {}, Created before: {}, Solved: {}, Dry run: {}",
+                ids == null ? 0 : ids.size(), createdBefore, isSolved, dryRun);
+        return requestTools.hardDeleteIssueRequests(ids, createdBefore, isSolved, !Boolean.FALSE.equals(dryRun));
+    }
+
+    @Tool(description = "Save or update an issue response. An update must send the version it read; a stale version fails with 409")
     public IssueResponseToolResponse saveIssueResponse(IssueResponseToolRequest request) {
         log.info("Calling MCP tool: saveIssueResponse >> Response Id: {}", request.id());
         return responseTools.saveIssueResponse(request);
     }
 
+    @Tool(description = "Save or update many issue responses in JDBC batches (id 0 or null creates; an update needs the version it read). "
+            + "Returns one result per item, in input order, with status 200 or the item's error status")
+    public BulkToolResponse saveIssueResponses(List<IssueResponseToolRequest> requests) {
+        log.info("Calling MCP tool: saveIssueResponses >> Items: {}", requests.size());
+        return responseTools.saveIssueResponses(requests);
+    }
+
     @Tool(description = "Hard delete an issue response by id")
     public IssueResponseToolResponse hardDeleteIssueResponse(Integer id) {
         log.info("Calling MCP tool: hardDeleteIssueResponse >> Response Id: {}", id);
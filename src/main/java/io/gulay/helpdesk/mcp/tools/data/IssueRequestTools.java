@@ -1,20 +1,29 @@
 package io.gulay.helpdesk.mcp.tools.data;
 
 import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequestService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
+import io.gulay.helpdesk.mcp.dto.BulkCountToolResponse;
+import io.gulay.helpdesk.mcp.dto.BulkToolResponse;
 import io.gulay.helpdesk.mcp.dto.IssueRequestToolRequest;
 import io.gulay.helpdesk.mcp.dto.IssueRequestToolResponse;
 import io.gulay.helpdesk.mcp.dto.PagedToolResponse;
+import io.gulay.helpdesk.mcp.dto.TicketSearchToolResponse;
 import io.gulay.helpdesk.mcp.util.McpDateParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,6 +32,7 @@ public class IssueRequestTools {
 
     private final IssueRequestService issueRequestService;
     private final IssueRequesterService issueRequesterService;
+    private final BulkWriteService bulkWriteService;
 
     @Tool(description = "Find issue request by id")
     public IssueRequestToolResponse findIssueRequestById(Integer id) {
@@ -41,10 +51,41 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findAllIssueRequests >> Page: {}, Size: {}", page, size);
-        return toPagedResponse(issueRequestService.findAll(page, size, sortBy, sortDirection));
+        return toPagedResponse(issueRequestService.findAll(page, size, sortBy, sortDirection,
+                !Boolean.FALSE.equals(withTotals)));
+    }
+
+    @Tool(description = "Full-text search over issue request and response bodies, best match first. Each hit names the request (ticket) it belongs to; responseId is null when the request body itself matched. Use it to find similar tickets instead of paging through all of them.")
+    public PagedToolResponse<TicketSearchToolResponse> searchTickets(
+            String query,
+            int page,
+            int size,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
+    ) {
+        log.info("Calling MCP tool: searchTickets >> Query: {}, Page: {}, Size: {}", query, page, size);
+        val model = issueRequestService.searchTickets(query, page, size, !Boolean.FALSE.equals(withTotals));
+        val content = model.getContent()
+                .stream()
+                .map(row -> new TicketSearchToolResponse(
+                        row.getRequestId(),
+                        row.getResponseId(),
+                        row.getBody(),
+                        row.getCreated() == null ? null : row.getCreated().toInstant().toString(),
+                        row.getScore()))
+                .toList();
+
+        return new PagedToolResponse<>(
+                model.getTotalElements(),
+                model.getNumberOfElements(),
+                model.getTotalPages(),
+                content,
+                model.getNextCursor(),
+                model.isHasNext()
+        );
     }
 
     @Tool(description = "Find issue requests created between two dates. Dates must be ISO-8601 instants (example: 2026-07-09T00:00:00Z).")
@@ -54,7 +95,8 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestsByCreatedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequestService.findAllByCreatedBeforeAndCreatedAfter(
@@ -63,7 +105,8 @@ public class IssueRequestTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -75,7 +118,8 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestsByCreatedDateRangeAndSolvedStatus >> Solved: {}, Page: {}, Size: {}", isSolved, page, size);
         return toPagedResponse(issueRequestService.findAllByCreatedBeforeAndCreatedAfterAndIsSolved(
@@ -85,7 +129,8 @@ public class IssueRequestTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -96,7 +141,8 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestsBySolvedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequestService.findAllBySolvedBeforeAndSolvedAfter(
@@ -105,7 +151,8 @@ public class IssueRequestTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -115,7 +162,8 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestsByRequesterId >> Requester Id: {}, Page: {}, Size: {}", requesterId, page, size);
         return toPagedResponse(issueRequestService.findAllByRequesterId(
@@ -123,7 +171,8 @@ public class IssueRequestTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -135,7 +184,8 @@ public class IssueRequestTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestsByRequesterIdAndCreatedDateRange >> Requester Id: {}, Page: {}, Size: {}", requesterId, page, size);
         return toPagedResponse(issueRequestService.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
@@ -145,6 +195,58 @@ public class IssueRequestTools {
                 page,
                 size,
                 sortBy,
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
+        ));
+    }
+
+    @Tool(description = "Scroll all issue requests with keyset pagination. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueRequestToolResponse> scrollAllIssueRequests(
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollAllIssueRequests >> Cursor: {}, Size: {}", cursor, size);
+        return toPagedResponse(issueRequestService.scrollAll(cursor, size, sortBy, sortDirection));
+    }
+
+    @Tool(description = "Scroll issue requests by requester id with keyset pagination. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueRequestToolResponse> scrollIssueRequestsByRequesterId(
+            Integer requesterId,
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollIssueRequestsByRequesterId >> Requester Id: {}, Cursor: {}, Size: {}", requesterId, cursor, size);
+        return toPagedResponse(issueRequestService.scrollAllByRequesterId(
+                requesterId,
+                cursor,
+                size,
+                sortBy,
+                sortDirection
+        ));
+    }
+
+    @Tool(description = "Scroll issue requests created between two dates and filtered by solved status with keyset pagination. Dates must be ISO-8601 instants (example: 2026-07-09T00:00:00Z). Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueRequestToolResponse> scrollIssueRequestsByCreatedDateRangeAndSolvedStatus(
+            String createdBefore,
+            String createdAfter,
+            boolean isSolved,
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollIssueRequestsByCreatedDateRangeAndSolvedStatus >> Solved: {}, Cursor: {}, Size: {}", isSolved, cursor, size);
+        return toPagedResponse(issueRequestService.scrollAllByCreatedBeforeAndCreatedAfterAndIsSolved(
+                McpDateParser.fromIsoInstant(createdBefore),
+                McpDateParser.fromIsoInstant(createdAfter),
+                isSolved,
+                cursor,
+                size,
+                sortBy,
                 sortDirection
         ));
     }
@@ -163,15 +265,47 @@ public class IssueRequestTools {
         return toResponse(issueRequestService.save(toModel(request)));
     }
 
+    // Requesters are passed as id-only references; the bulk service checks them a chunk at a time.
+    public BulkToolResponse saveIssueRequests(List<IssueRequestToolRequest> requests) {
+        return BulkToolResponse.from(bulkWriteService.saveIssueRequests(requests.stream()
+                .map(request -> IssueRequestModel
+                        .builder()
+                        .id(request.id())
+                        .version(request.version())
+                        .requester(request.requesterId() == null
+                                ? null
+                                : IssueRequesterModel.builder().id(request.requesterId()).build())
+                        .body(request.requestBody())
+                        .isSolved(request.isSolved())
+                        .solved(request.solved() == null ? null : McpDateParser.fromIsoInstant(request.solved()))
+                        .build())
+                .toList()));
+    }
+
+    public BulkCountToolResponse solveIssueRequests(List<Integer> ids, String createdBefore, boolean dryRun) {
+        return new BulkCountToolResponse(bulkWriteService.solveIssueRequests(ids,
+                createdBefore == null ? null : McpDateParser.fromIsoInstant(createdBefore), dryRun), dryRun);
+    }
+
+    public BulkCountToolResponse hardDeleteIssueRequests(
+            List<Integer> ids, String createdBefore, Boolean isSolved, boolean dryRun) {
+        return new BulkCountToolResponse(bulkWriteService.deleteIssueRequests(ids,
+                createdBefore == null ? null : McpDateParser.fromIsoInstant(createdBefore), isSolved, dryRun), dryRun);
+    }
+
     public IssueRequestToolResponse hardDeleteIssueRequest(Integer id) {
         return toResponse(issueRequestService.hardDelete(id));
     }
 
     private IssueRequestModel toModel(IssueRequestToolRequest request) {
+        // Read for its 404 on an unknown requester; save() references the row by id.
+        val requester = issueRequesterService.findById(request.requesterId());
+
         return IssueRequestModel
                 .builder()
                 .id(request.id())
-                .requester(issueRequesterService.findById(request.requesterId()))
+                .version(request.version())
+                .requester(IssueRequesterModel.builder().id(requester.id()).build())
                 .body(request.requestBody())
                 .isSolved(request.isSolved())
                 .solved(request.solved() == null ? null : McpDateParser.fromIsoInstant(request.solved()))
@@ -185,12 +319,25 @@ public class IssueRequestTools {
                 model.getBody(),
                 model.getIsSolved(),
                 model.getCreated() == null ? null : model.getCreated().toInstant().toString(),
-                model.getSolved() == null ? null : model.getSolved().toInstant().toString()
+                model.getSolved() == null ? null : model.getSolved().toInstant().toString(),
+                model.getVersion()
+        );
+    }
+
+    private IssueRequestToolResponse toResponse(IssueRequestRow row) {
+        return new IssueRequestToolResponse(
+                row.id(),
+                row.requesterId(),
+                row.body(),
+                row.isSolved(),
+                row.created() == null ? null : row.created().toInstant().toString(),
+                row.solved() == null ? null : row.solved().toInstant().toString(),
+                row.version()
         );
     }
 
     private PagedToolResponse<IssueRequestToolResponse> toPagedResponse(
-            GenericPagedModel<IssueRequestModel> model
+            GenericPagedModel<IssueRequestRow> model
     ) {
         val content = model.getContent()
                 .stream()
@@ -201,7 +348,9 @@ public class IssueRequestTools {
                 model.getTotalElements(),
                 model.getNumberOfElements(),
                 model.getTotalPages(),
-                content
+                content,
+                model.getNextCursor(),
+                model.isHasNext()
         );
     }
 }
@@ -1,9 +1,12 @@
 package io.gulay.helpdesk.mcp.tools.data;
 
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.IssueRequesterRow;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
+import io.gulay.helpdesk.mcp.dto.BulkToolResponse;
 import io.gulay.helpdesk.mcp.dto.IssueRequesterToolRequest;
 import io.gulay.helpdesk.mcp.dto.IssueRequesterToolResponse;
 import io.gulay.helpdesk.mcp.dto.PagedToolResponse;
@@ -12,8 +15,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -21,6 +27,7 @@ import org.springframework.stereotype.Service;
 public class IssueRequesterTools {
 
     private final IssueRequesterService issueRequesterService;
+    private final BulkWriteService bulkWriteService;
 
     @Tool(description = "Find issue requester by id")
     public IssueRequesterToolResponse findIssueRequesterById(Integer id) {
@@ -39,10 +46,26 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findAllIssueRequesters >> Page: {}, Size: {}", page, size);
-        return toPagedResponse(issueRequesterService.findAll(page, size, sortBy, sortDirection));
+        return toPagedResponse(issueRequesterService.findAll(page, size, sortBy, sortDirection,
+                !Boolean.FALSE.equals(withTotals)));
+    }
+
+    @Tool(description = "Quick lookup of issue requesters whose full name or email contains the query, names and emails starting with it first. Returns at most limit requesters without paging; created and version are not included. Use it to resolve a person mentioned by name or email to a requester id.")
+    public List<IssueRequesterToolResponse> lookupIssueRequesters(
+            String query,
+            @ToolParam(required = false, description = "Only active (true) or inactive (false) requesters; omit for both") Boolean isActive,
+            @ToolParam(required = false, description = "Maximum number of requesters to return, 10 when omitted") Integer limit
+    ) {
+        log.info("Calling MCP tool: lookupIssueRequesters >> Query: {}", query);
+        return issueRequesterService.lookup(query, isActive, limit == null ? 10 : limit)
+                .stream()
+                .map(row -> new IssueRequesterToolResponse(row.id(), row.fullName(), row.email(), row.isActive(),
+                        null, null))
+                .toList();
     }
 
     @Tool(description = "Find issue requesters by full name")
@@ -51,7 +74,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByFullName >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequesterService.findAllByFullNameContainingIgnoreCase(
@@ -59,7 +83,8 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -71,7 +96,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByFullNameAndCreatedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequesterService.findAllByFullNameContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
@@ -81,7 +107,8 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -91,7 +118,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByEmail >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequesterService.findAllByEmailContainingIgnoreCase(
@@ -99,7 +127,8 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -111,7 +140,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByEmailAndCreatedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequesterService.findAllByEmailContainingIgnoreCaseAndCreatedBeforeAndCreatedAfter(
@@ -121,7 +151,8 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -133,7 +164,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByCreatedDateRangeAndActiveStatus >> Active: {}, Page: {}, Size: {}", isActive, page, size);
         return toPagedResponse(issueRequesterService.findAllByCreatedBeforeAndCreatedAfterAndIsActive(
@@ -143,7 +175,8 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -154,7 +187,8 @@ public class IssueRequesterTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueRequestersByCreatedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueRequesterService.findAllByCreatedBeforeAndCreatedAfter(
@@ -163,6 +197,40 @@ public class IssueRequesterTools {
                 page,
                 size,
                 sortBy,
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
+        ));
+    }
+
+    @Tool(description = "Scroll all issue requesters with keyset pagination. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueRequesterToolResponse> scrollAllIssueRequesters(
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollAllIssueRequesters >> Cursor: {}, Size: {}", cursor, size);
+        return toPagedResponse(issueRequesterService.scrollAll(cursor, size, sortBy, sortDirection));
+    }
+
+    @Tool(description = "Scroll issue requesters by created date range and active status with keyset pagination. Date format must be ISO-8601 instant, for example 2026-07-09T00:00:00Z. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueRequesterToolResponse> scrollIssueRequestersByCreatedDateRangeAndActiveStatus(
+            String createdBefore,
+            String createdAfter,
+            boolean isActive,
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollIssueRequestersByCreatedDateRangeAndActiveStatus >> Active: {}, Cursor: {}, Size: {}", isActive, cursor, size);
+        return toPagedResponse(issueRequesterService.scrollAllByCreatedBeforeAndCreatedAfterAndIsActive(
+                McpDateParser.fromIsoInstant(createdBefore),
+                McpDateParser.fromIsoInstant(createdAfter),
+                isActive,
+                cursor,
+                size,
+                sortBy,
                 sortDirection
         ));
     }
@@ -181,6 +249,12 @@ public class IssueRequesterTools {
         return toResponse(issueRequesterService.save(toModel(request)));
     }
 
+    public BulkToolResponse saveIssueRequesters(List<IssueRequesterToolRequest> requests) {
+        return BulkToolResponse.from(bulkWriteService.saveIssueRequesters(requests.stream()
+                .map(this::toModel)
+                .toList()));
+    }
+
     public IssueRequesterToolResponse hardDeleteIssueRequester(Integer id) {
         return toResponse(issueRequesterService.hardDelete(id));
     }
@@ -189,6 +263,7 @@ public class IssueRequesterTools {
         return IssueRequesterModel
                 .builder()
                 .id(request.id())
+                .version(request.version())
                 .fullName(request.fullName())
                 .email(request.email())
                 .isActive(request.isActive())
@@ -201,7 +276,19 @@ public class IssueRequesterTools {
                 model.getFullName(),
                 model.getEmail(),
                 model.getIsActive(),
-                model.getCreated() == null ? null : model.getCreated().toInstant().toString()
+                model.getCreated() == null ? null : model.getCreated().toInstant().toString(),
+                model.getVersion()
+        );
+    }
+
+    private IssueRequesterToolResponse toResponse(IssueRequesterRow row) {
+        return new IssueRequesterToolResponse(
+                row.id(),
+                row.fullName(),
+                row.email(),
+                row.isActive(),
+                row.created() == null ? null : row.created().toInstant().toString(),
+                row.version()
         );
     }
 
@@ -217,7 +304,9 @@ public class IssueRequesterTools {
                 model.getTotalElements(),
                 model.getNumberOfElements(),
                 model.getTotalPages(),
-                content
+                content,
+                model.getNextCursor(),
+                model.isHasNext()
         );
     }
 }
@@ -1,11 +1,16 @@
 package io.gulay.helpdesk.mcp.tools.data;
 
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
 import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.service.IssueRequestService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
 import io.gulay.helpdesk.data.service.IssueResponseService;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
+import io.gulay.helpdesk.mcp.dto.BulkToolResponse;
 import io.gulay.helpdesk.mcp.dto.IssueResponseToolRequest;
 import io.gulay.helpdesk.mcp.dto.IssueResponseToolResponse;
 import io.gulay.helpdesk.mcp.dto.PagedToolResponse;
@@ -14,8 +19,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -25,6 +33,7 @@ public class IssueResponseTools {
     private final IssueResponseService issueResponseService;
     private final IssueRequestService issueRequestService;
     private final IssueRequesterService issueRequesterService;
+    private final BulkWriteService bulkWriteService;
 
     @Tool(description = "Find issue response by id")
     public IssueResponseToolResponse findIssueResponseById(Integer id) {
@@ -37,10 +46,12 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findAllIssueResponses >> Page: {}, Size: {}", page, size);
-        return toPagedResponse(issueResponseService.findAll(page, size, sortBy, sortDirection));
+        return toPagedResponse(issueResponseService.findAll(page, size, sortBy, sortDirection,
+                !Boolean.FALSE.equals(withTotals)));
     }
 
     @Tool(description = "Find issue responses created between two dates. Dates must be ISO-8601 instants, for example 2026-07-09T00:00:00Z.")
@@ -50,7 +61,8 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueResponsesByCreatedDateRange >> Page: {}, Size: {}", page, size);
         return toPagedResponse(issueResponseService.findAllByCreatedBeforeAndCreatedAfter(
@@ -59,7 +71,8 @@ public class IssueResponseTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -69,7 +82,8 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueResponsesByRequestId >> Request Id: {}, Page: {}, Size: {}", requestId, page, size);
         return toPagedResponse(issueResponseService.findAllByRequestId(
@@ -77,7 +91,8 @@ public class IssueResponseTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -89,7 +104,8 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueResponsesByRequestIdAndCreatedDateRange >> Request Id: {}, Page: {}, Size: {}", requestId, page, size);
         return toPagedResponse(issueResponseService.findAllByRequestIdAndCreatedBeforeAndCreatedAfter(
@@ -99,7 +115,8 @@ public class IssueResponseTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -109,7 +126,8 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueResponsesByRequesterId >> Requester Id: {}, Page: {}, Size: {}", requesterId, page, size);
         return toPagedResponse(issueResponseService.findAllByRequesterId(
@@ -117,7 +135,8 @@ public class IssueResponseTools {
                 page,
                 size,
                 sortBy,
-                sortDirection
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
         ));
     }
 
@@ -129,7 +148,8 @@ public class IssueResponseTools {
             int page,
             int size,
             String sortBy,
-            SortDirection sortDirection
+            SortDirection sortDirection,
+            @ToolParam(required = false, description = "Set to false to skip the total count query; hasNext is still returned") Boolean withTotals
     ) {
         log.info("Calling MCP tool: findIssueResponsesByRequesterIdAndCreatedDateRange >> Requester Id: {}, Page: {}, Size: {}", requesterId, page, size);
         return toPagedResponse(issueResponseService.findAllByRequesterIdAndCreatedBeforeAndCreatedAfter(
@@ -139,6 +159,36 @@ public class IssueResponseTools {
                 page,
                 size,
                 sortBy,
+                sortDirection,
+                !Boolean.FALSE.equals(withTotals)
+        ));
+    }
+
+    @Tool(description = "Scroll all issue responses with keyset pagination. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueResponseToolResponse> scrollAllIssueResponses(
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollAllIssueResponses >> Cursor: {}, Size: {}", cursor, size);
+        return toPagedResponse(issueResponseService.scrollAll(cursor, size, sortBy, sortDirection));
+    }
+
+    @Tool(description = "Scroll issue responses by request id with keyset pagination. Pass an empty cursor for the first page, then the returned nextCursor; totals are not computed.")
+    public PagedToolResponse<IssueResponseToolResponse> scrollIssueResponsesByRequestId(
+            Integer requestId,
+            String cursor,
+            int size,
+            String sortBy,
+            SortDirection sortDirection
+    ) {
+        log.info("Calling MCP tool: scrollIssueResponsesByRequestId >> Request Id: {}, Cursor: {}, Size: {}", requestId, cursor, size);
+        return toPagedResponse(issueResponseService.scrollAllByRequestId(
+                requestId,
+                cursor,
+                size,
+                sortBy,
                 sortDirection
         ));
     }
@@ -147,16 +197,38 @@ public class IssueResponseTools {
         return toResponse(issueResponseService.save(toModel(request)));
     }
 
+    // Requests and requesters are passed as id-only references; the bulk service checks them a chunk at a time.
+    public BulkToolResponse saveIssueResponses(List<IssueResponseToolRequest> requests) {
+        return BulkToolResponse.from(bulkWriteService.saveIssueResponses(requests.stream()
+                .map(request -> IssueResponseModel
+                        .builder()
+                        .id(request.id())
+                        .version(request.version())
+                        .request(request.requestId() == null
+                                ? null
+                                : IssueRequestModel.builder().id(request.requestId()).build())
+                        .requester(request.requesterId() == null
+                                ? null
+                                : IssueRequesterModel.builder().id(request.requesterId()).build())
+                        .body(request.responseBody())
+                        .build())
+                .toList()));
+    }
+
     public IssueResponseToolResponse hardDeleteIssueResponse(Integer id) {
         return toResponse(issueResponseService.hardDelete(id));
     }
 
     private IssueResponseModel toModel(IssueResponseToolRequest request) {
+        val issueRequest = issueRequestService.findById(request.requestId());
+        val requester = issueRequesterService.findById(request.requesterId());
+
         return IssueResponseModel
                 .builder()
                 .id(request.id())
-                .request(issueRequestService.findById(request.requestId()))
-                .requester(issueRequesterService.findById(request.requesterId()))
+                .version(request.version())
+                .request(IssueRequestModel.builder().id(issueRequest.id()).build())
+                .requester(IssueRequesterModel.builder().id(requester.id()).build())
                 .body(request.responseBody())
                 .build();
     }
@@ -167,12 +239,24 @@ public class IssueResponseTools {
                 model.getRequest().getId(),
                 model.getRequester().getId(),
                 model.getBody(),
-                model.getCreated() == null ? null : model.getCreated().toInstant().toString()
+                model.getCreated() == null ? null : model.getCreated().toInstant().toString(),
+                model.getVersion()
+        );
+    }
+
+    private IssueResponseToolResponse toResponse(IssueResponseRow row) {
+        return new IssueResponseToolResponse(
+                row.id(),
+                row.requestId(),
+                row.requesterId(),
+                row.body(),
+                row.created() == null ? null : row.created().toInstant().toString(),
+                row.version()
         );
     }
 
     private PagedToolResponse<IssueResponseToolResponse> toPagedResponse(
-            GenericPagedModel<IssueResponseModel> model
+            GenericPagedModel<IssueResponseRow> model
     ) {
         val content = model.getContent()
                 .stream()
@@ -183,7 +267,9 @@ public class IssueResponseTools {
                 model.getTotalElements(),
                 model.getNumberOfElements(),
                 model.getTotalPages(),
-                content
+                content,
+                model.getNextCursor(),
+                model.isHasNext()
         );
     }
 }
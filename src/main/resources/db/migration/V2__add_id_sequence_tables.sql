@@ -0,0 +1,23 @@
+-- Table-backed id sequences (MySQL has no native sequences) so Hibernate can assign ids before INSERT
+-- and batch inserts; IDENTITY forces one round trip per row. Ids are handed out in blocks of 50
+-- (pooled-lo), so each table holds the first id of the next unallocated block.
+CREATE TABLE issue_requester_seq
+(
+    next_val BIGINT NOT NULL
+);
+INSERT INTO issue_requester_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM issue_requester;
+
+CREATE TABLE issue_request_seq
+(
+    next_val BIGINT NOT NULL
+);
+INSERT INTO issue_request_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM issue_request;
+
+CREATE TABLE issue_response_seq
+(
+    next_val BIGINT NOT NULL
+);
+INSERT INTO issue_response_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM issue_response;
@@ -0,0 +1,11 @@
+-- Optimistic locking: every UPDATE issued through JPA carries "AND version = ?" and bumps the counter, so a write
+-- based on a stale read affects no row and is rejected instead of silently overwriting a concurrent edit.
+-- Bulk UPDATE statements increment the counter themselves. Existing rows start at 0.
+ALTER TABLE issue_requester
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE issue_request
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE issue_response
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
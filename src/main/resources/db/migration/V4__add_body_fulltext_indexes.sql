@@ -0,0 +1,8 @@
+-- Full-text search over ticket and response bodies. LIKE '%x%' cannot use an index; MATCH ... AGAINST reads these
+-- inverted indexes and returns a relevance score. InnoDB indexes words of innodb_ft_min_token_size (3) characters
+-- and up and skips its default stopword list. Adding the first FULLTEXT index rebuilds the table once.
+ALTER TABLE issue_request
+    ADD FULLTEXT INDEX ft_issue_request_body (request_body);
+
+ALTER TABLE issue_response
+    ADD FULLTEXT INDEX ft_issue_response_body (response_body);
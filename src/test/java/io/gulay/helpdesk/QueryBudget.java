@@ -0,0 +1,38 @@
+package io.gulay.helpdesk;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.Assert.fail;
+
+// Counts the SQL statements Hibernate prepares while a call runs and fails the test once a budget is exceeded,
+// so a lazy association walked per row (N+1) breaks the build instead of slowing production down.
+// Statistics are SessionFactory-wide (generate_statistics is enabled by the test profile): only measure
+// blocking calls, with no other database work running in the background.
+public class QueryBudget {
+    private final Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public <T> T assertWithin(long maxStatements, String description, Supplier<T> call) {
+        statistics.clear();
+
+        val result = call.get();
+
+        val statements = statistics.getPrepareStatementCount();
+        if (statements > maxStatements) {
+            fail(description + " prepared " + statements + " SQL statements, budget is " + maxStatements
+                    + " (entity loads: " + statistics.getEntityLoadCount()
+                    + ", lazy entity fetches: " + statistics.getEntityFetchCount()
+                    + ", lazy collection fetches: " + statistics.getCollectionFetchCount() + ")");
+        }
+
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package io.gulay.helpdesk;
 import io.gulay.helpdesk.data.service.IssueRequestService;
 import io.gulay.helpdesk.data.service.IssueRequesterService;
 import io.gulay.helpdesk.data.service.IssueResponseService;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -47,6 +48,8 @@ public abstract class TestBase {
     @Autowired
     public IssueResponseService issueResponseService;
 
+    protected QueryBudget queryBudget;
+
     static {
         container = new MySQLContainer<>(IMAGE_VERSION)
                 .withUsername("test_user")
@@ -55,6 +58,11 @@ public abstract class TestBase {
         container.start();
     }
 
+    @Autowired
+    public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+        this.queryBudget = new QueryBudget(entityManagerFactory);
+    }
+
     @DynamicPropertySource
     public static void overrideContainerProperties(DynamicPropertyRegistry dynamicPropertyRegistry) {
         dynamicPropertyRegistry.add("spring.datasource.url", container::getJdbcUrl);
@@ -11,19 +11,29 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayInputStream;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class IssueRequestControllerIntegrationTests extends TestBase {
+    @Autowired
+    private JsonMapper jsonMapper;
+
     private static IssueRequesterModel newIssueRequester;
 
     private static IssueRequestModel newIssueRequest1;
@@ -140,6 +150,26 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         assertFalse(body.getIsSolved().getData());
     }
 
+    @Test
+    public void protobuf_messages_inside_jackson_values_are_written_in_place_test() throws Exception {
+        val first = IssueRequest.newBuilder().setId(1).setBody("First \"quoted\" body").build();
+        val second = IssueRequest.newBuilder().setId(2).setBody("Second body").build();
+
+        val json = jsonMapper.writeValueAsString(Map.of("items", List.of(first, second), "count", 2));
+        val items = jsonMapper.readTree(json).get("items");
+
+        assertEquals(2, items.size());
+        assertEquals(2, jsonMapper.readTree(json).get("count").asInt());
+
+        val builder = IssueRequest.newBuilder();
+        JsonFormat.parser().merge(items.get(0).toString(), builder);
+        assertEquals(first, builder.build());
+
+        builder.clear();
+        JsonFormat.parser().merge(items.get(1).toString(), builder);
+        assertEquals(second, builder.build());
+    }
+
     @Test
     public void get_issue_request_by_id_as_binary_protobuf_test() throws Exception {
         insertNewIssueRequester();
@@ -539,6 +569,55 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         assertNotEquals(newIssueRequest1.getIsSolved(), response.getBody().getIsSolved().getData());
     }
 
+    @Test
+    public void get_issue_request_by_id_revalidates_with_etag_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val uri = "/api/v1/issue-requests/" + newIssueRequest1.getId();
+
+        val first = webClient.get()
+                .uri(uri)
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(first);
+        val etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+        assertEquals("no-cache", first.getHeaders().getCacheControl());
+
+        // The row is served from the entity cache and the unchanged ticket is answered without a body.
+        val notModified = queryBudget.assertWithin(0, "conditional GET " + uri, () -> webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .retrieve()
+                .toEntity(byte[].class)
+                .block());
+
+        assertNotNull(notModified);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModified.getStatusCode().value());
+        assertNull(notModified.getBody());
+        assertEquals(etag, notModified.getHeaders().getETag());
+
+        issueRequestService.solveIssue(newIssueRequest1.getId());
+
+        val modified = webClient.get()
+                .uri(uri)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(modified);
+        assertEquals(HttpStatus.OK.value(), modified.getStatusCode().value());
+        assertNotNull(modified.getBody());
+        assertTrue(modified.getBody().getIsSolved().getData());
+        assertNotEquals(etag, modified.getHeaders().getETag());
+    }
+
     @Test
     public void solve_issue_request_with_exception_test() {
         val id = Integer.valueOf(RandomStringUtils.insecure().nextNumeric(5));
@@ -642,8 +721,8 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
 
         assertNotNull(found);
 
-        assertEquals(String.valueOf(response.getBody().getId()), found.getId().toString());
-        assertEquals(response.getBody().getBody(), found.getBody());
+        assertEquals(String.valueOf(response.getBody().getId()), found.id().toString());
+        assertEquals(response.getBody().getBody(), found.body());
     }
 
     @Test
@@ -710,6 +789,7 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         val issueRequestToPost = IssueRequest
                 .newBuilder()
                 .setId(newIssueRequest1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueRequest1.getVersion()))
                 .setRequesterId(newIssueRequester.getId())
                 .setBody("Hebee bidi ekeeke dada")
                 .build();
@@ -733,6 +813,100 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         assertNotEquals(response.getBody().getBody(), newIssueRequest1.getBody());
     }
 
+    @Test
+    public void update_issue_request_with_stale_version_returns_conflict_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val read = webClient.get()
+                .uri("/api/v1/issue-requests/" + newIssueRequest1.getId())
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(read);
+        assertNotNull(read.getBody());
+        assertTrue(read.getBody().getVersion().hasData());
+        assertEquals("W/\"" + read.getBody().getVersion().getData() + "\"", read.getHeaders().getETag());
+
+        val update = read.getBody().toBuilder()
+                .setBody("Updated against the version read above")
+                .build();
+
+        val updated = webClient.post()
+                .uri("/api/v1/issue-requests")
+                .bodyValue(update)
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(updated);
+        assertNotNull(updated.getBody());
+        assertEquals(read.getBody().getVersion().getData() + 1, updated.getBody().getVersion().getData());
+
+        val ex = assertThrows(WebClientResponseException.class, () -> webClient.post()
+                .uri("/api/v1/issue-requests")
+                .bodyValue(update.toBuilder().setBody("Lost update").build())
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block());
+
+        assertEquals(HttpStatus.CONFLICT.value(), ex.getStatusCode().value());
+        assertEquals("Updated against the version read above",
+                issueRequestService.findById(newIssueRequest1.getId()).body());
+    }
+
+    @Test
+    public void update_issue_request_honours_if_match_and_requires_a_version_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val read = webClient.get()
+                .uri("/api/v1/issue-requests/" + newIssueRequest1.getId())
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(read);
+        assertNotNull(read.getBody());
+
+        val unversioned = read.getBody().toBuilder()
+                .clearVersion()
+                .setBody("Updated against the ETag read above")
+                .build();
+
+        val missing = assertThrows(WebClientResponseException.class, () -> webClient.post()
+                .uri("/api/v1/issue-requests")
+                .bodyValue(unversioned)
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block());
+
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED.value(), missing.getStatusCode().value());
+
+        val updated = webClient.post()
+                .uri("/api/v1/issue-requests")
+                .header(HttpHeaders.IF_MATCH, read.getHeaders().getETag())
+                .bodyValue(unversioned)
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block();
+
+        assertNotNull(updated);
+        assertNotNull(updated.getBody());
+        assertEquals("Updated against the ETag read above", updated.getBody().getBody());
+
+        val stale = assertThrows(WebClientResponseException.class, () -> webClient.post()
+                .uri("/api/v1/issue-requests")
+                .header(HttpHeaders.IF_MATCH, read.getHeaders().getETag())
+                .bodyValue(unversioned.toBuilder().setBody("Lost update").build())
+                .retrieve()
+                .toEntity(IssueRequest.class)
+                .block());
+
+        assertEquals(HttpStatus.CONFLICT.value(), stale.getStatusCode().value());
+    }
+
     @Test
     public void update_issue_request_with_exception_test() {
         insertNewIssueRequester();
@@ -741,6 +915,7 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         val issueRequestToPost = IssueRequest
                 .newBuilder()
                 .setId(newIssueRequest1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueRequest1.getVersion()))
                 .setRequesterId(newIssueRequester.getId())
                 .setBody("    ")
                 .build();
@@ -800,6 +975,7 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
         val issueRequestToPost = IssueRequest
                 .newBuilder()
                 .setId(newIssueRequest1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueRequest1.getVersion()))
                 .setRequesterId(id)
                 .setBody("new body hehehe")
                 .build();
@@ -821,4 +997,226 @@ public class IssueRequestControllerIntegrationTests extends TestBase {
             assertThat(ex.getResponseBodyAsString()).contains("true");
         }
     }
+
+    @Test
+    public void export_issue_requests_as_ndjson_test() throws Exception {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+        insertNewIssueRequest2();
+
+        val yesterday = Instant.now().minus(1, ChronoUnit.DAYS).toEpochMilli();
+        val tomorrow = Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli();
+
+        val response = webClient.get()
+                .uri("/api/v1/issue-requests/export?createdBefore={before}&createdAfter={after}", tomorrow, yesterday)
+                .accept(MediaType.parseMediaType("application/x-ndjson"))
+                .retrieve()
+                .toEntity(String.class)
+                .block();
+
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+        assertTrue(MediaType.parseMediaType("application/x-ndjson")
+                .isCompatibleWith(response.getHeaders().getContentType()));
+
+        val lines = response.getBody().strip().split("\n");
+        assertEquals(2, lines.length);
+
+        val ids = new ArrayList<Integer>();
+        for (val line : lines) {
+            val builder = IssueRequest.newBuilder();
+            JsonFormat.parser().merge(line, builder);
+            assertEquals(newIssueRequester.getId().intValue(), builder.getRequesterId());
+            ids.add(builder.getId());
+        }
+
+        // Rows are exported in id order.
+        assertEquals(newIssueRequest1.getId(), ids.get(0));
+        assertEquals(newIssueRequest2.getId(), ids.get(1));
+    }
+
+    @Test
+    public void export_issue_requests_as_delimited_protobuf_test() throws Exception {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+        insertNewIssueRequest2();
+
+        val protobufMediaType = MediaType.parseMediaType("application/x-protobuf");
+        val response = webClient.get()
+                .uri("/api/v1/issue-requests/export")
+                .accept(protobufMediaType)
+                .retrieve()
+                .toEntity(byte[].class)
+                .block();
+
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+        assertTrue(protobufMediaType.isCompatibleWith(response.getHeaders().getContentType()));
+
+        val input = new ByteArrayInputStream(response.getBody());
+        val first = IssueRequest.parseDelimitedFrom(input);
+        val second = IssueRequest.parseDelimitedFrom(input);
+
+        assertEquals(newIssueRequest1.getId().intValue(), first.getId());
+        assertEquals(newIssueRequest1.getBody(), first.getBody());
+        assertEquals(newIssueRequest2.getId().intValue(), second.getId());
+        assertNull(IssueRequest.parseDelimitedFrom(input));
+    }
+
+    @Test
+    public void export_issue_requests_outside_date_range_is_empty_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val twoDaysAgo = Instant.now().minus(2, ChronoUnit.DAYS).toEpochMilli();
+        val yesterday = Instant.now().minus(1, ChronoUnit.DAYS).toEpochMilli();
+
+        val response = webClient.get()
+                .uri("/api/v1/issue-requests/export?createdBefore={before}&createdAfter={after}", yesterday, twoDaysAgo)
+                .retrieve()
+                .toEntity(String.class)
+                .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode().value());
+        assertTrue(StringUtils.isBlank(response.getBody()));
+    }
+
+    @Test
+    public void bulk_save_issue_requests_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val body = IssueRequests.newBuilder()
+                .addIssueRequests(IssueRequest.newBuilder()
+                        .setRequesterId(newIssueRequester.getId())
+                        .setBody("Bulk body")
+                        .setIsSolved(NullableBoolean.newBuilder().setData(false)))
+                .addIssueRequests(IssueRequest.newBuilder()
+                        .setId(newIssueRequest1.getId())
+                        .setVersion(NullableInt64.newBuilder().setData(newIssueRequest1.getVersion()))
+                        .setRequesterId(newIssueRequester.getId())
+                        .setBody("Bulk updated body")
+                        .setIsSolved(NullableBoolean.newBuilder().setData(false)))
+                .addIssueRequests(IssueRequest.newBuilder()
+                        .setRequesterId(Integer.MAX_VALUE)
+                        .setBody("Unknown requester body"))
+                .build();
+
+        val response = webClient.post()
+                .uri("/api/v1/issue-requests/bulk")
+                .bodyValue(body)
+                .retrieve()
+                .toEntity(BulkResult.class)
+                .block();
+
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+
+        val result = response.getBody();
+        assertEquals(2, result.getSaved());
+        assertEquals(1, result.getFailed());
+        assertEquals(HttpStatus.OK.value(), result.getItems(0).getStatus());
+        assertTrue(result.getItems(0).getId() > 0);
+        assertEquals(newIssueRequest1.getId().intValue(), result.getItems(1).getId());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), result.getItems(2).getStatus());
+        assertEquals(2, result.getItems(2).getIndex());
+
+        assertEquals("Bulk updated body", issueRequestService.findById(newIssueRequest1.getId()).body());
+    }
+
+    @Test
+    public void bulk_solve_and_delete_issue_requests_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+        insertNewIssueRequest2();
+
+        val tomorrow = Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli();
+
+        val solved = webClient.post()
+                .uri("/api/v1/issue-requests/bulk/resolution")
+                .bodyValue(BulkSelection.newBuilder().addIds(newIssueRequest1.getId()).build())
+                .retrieve()
+                .toEntity(BulkCount.class)
+                .block();
+
+        assertNotNull(solved);
+        assertNotNull(solved.getBody());
+        assertEquals(1, solved.getBody().getAffected());
+        assertTrue(issueRequestService.findById(newIssueRequest1.getId()).isSolved());
+        assertFalse(issueRequestService.findById(newIssueRequest2.getId()).isSolved());
+
+        val deleted = webClient.post()
+                .uri("/api/v1/issue-requests/bulk/deletion")
+                .bodyValue(BulkSelection.newBuilder()
+                        .setCreatedBefore(NullableInt64.newBuilder().setData(tomorrow))
+                        .setIsSolved(NullableBoolean.newBuilder().setData(true))
+                        .build())
+                .retrieve()
+                .toEntity(BulkCount.class)
+                .block();
+
+        assertNotNull(deleted);
+        assertNotNull(deleted.getBody());
+        assertEquals(1, deleted.getBody().getAffected());
+        assertFalse(issueRequestService.isExists(newIssueRequest1.getId()));
+        assertTrue(issueRequestService.isExists(newIssueRequest2.getId()));
+
+        try {
+            webClient.post()
+                    .uri("/api/v1/issue-requests/bulk/deletion")
+                    .bodyValue(BulkSelection.newBuilder().build())
+                    .retrieve()
+                    .toEntity(BulkCount.class)
+                    .block();
+            fail("Expected a bad-request response");
+        } catch (WebClientResponseException ex) {
+            assertEquals(HttpStatus.BAD_REQUEST.value(), ex.getStatusCode().value());
+        }
+    }
+
+    private void assertQueryBudget(long maxStatements, String uri) {
+        queryBudget.assertWithin(maxStatements, "GET " + uri, () -> webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toBodilessEntity()
+                .block());
+    }
+
+    // Budgets hold for any number of rows: pages are projected in one SELECT, plus a COUNT when totals are on.
+    // pageSize is kept below the row count so Spring Data cannot skip the COUNT on the last page.
+    @Test
+    public void issue_request_routes_stay_within_query_budgets_test() {
+        insertNewIssueRequester();
+        val ids = new ArrayList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .isSolved(false)
+                    .requester(newIssueRequester)
+                    .body("Budget body " + i)
+                    .build()).getId());
+        }
+
+        val range = "&createdBefore=" + Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli()
+                + "&createdAfter=" + Instant.now().minus(1, ChronoUnit.DAYS).toEpochMilli();
+
+        assertQueryBudget(1, "/api/v1/issue-requests/" + ids.get(0));
+        assertQueryBudget(2, "/api/v1/issue-requests?pageSize=2");
+        assertQueryBudget(1, "/api/v1/issue-requests?pageSize=2&withTotals=false");
+        assertQueryBudget(1, "/api/v1/issue-requests?pageSize=2&cursor=");
+        assertQueryBudget(2, "/api/v1/issue-requests?pageSize=2" + range);
+        assertQueryBudget(2, "/v1/issue_requests/find_all/" + newIssueRequester.getId() + "?pageSize=2");
+        assertQueryBudget(1, "/v1/issue_requests/find_all/" + newIssueRequester.getId() + "?pageSize=2&cursor=");
+        assertQueryBudget(2, "/v1/issue_requests/find_all_solved/false?pageSize=2" + range);
+        assertQueryBudget(1, "/api/v1/issue-requests/export");
+
+        queryBudget.assertWithin(1, "POST /api/v1/issue-requests/bulk/resolution", () -> webClient.post()
+                .uri("/api/v1/issue-requests/bulk/resolution")
+                .bodyValue(BulkSelection.newBuilder().addAllIds(ids).build())
+                .retrieve()
+                .toEntity(BulkCount.class)
+                .block());
+    }
 }
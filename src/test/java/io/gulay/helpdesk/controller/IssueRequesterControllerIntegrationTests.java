@@ -642,9 +642,9 @@ public class IssueRequesterControllerIntegrationTests extends TestBase {
 
         assertNotNull(found);
 
-        assertEquals(String.valueOf(response.getBody().getId()), found.getId().toString());
-        assertEquals(response.getBody().getFullName(), found.getFullName());
-        assertEquals(response.getBody().getEmail(), found.getEmail());
+        assertEquals(String.valueOf(response.getBody().getId()), found.id().toString());
+        assertEquals(response.getBody().getFullName(), found.fullName());
+        assertEquals(response.getBody().getEmail(), found.email());
     }
 
     @Test
@@ -707,6 +707,7 @@ public class IssueRequesterControllerIntegrationTests extends TestBase {
         val issueRequesterToPost = IssueRequester
                 .newBuilder()
                 .setId(newIssueRequester1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueRequester1.getVersion()))
                 .setIsActive(NullableBoolean.newBuilder().setData(true).build())
                 .setFullName("Hebee Bidi")
                 .setEmail("hebee@hodo.net")
@@ -738,6 +739,7 @@ public class IssueRequesterControllerIntegrationTests extends TestBase {
         val issueRequesterToPost = IssueRequester
                 .newBuilder()
                 .setId(newIssueRequester1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueRequester1.getVersion()))
                 .setIsActive(NullableBoolean.newBuilder().setData(true).build())
                 .setFullName("Hede Hodo")
                 .setEmail(email)
@@ -759,4 +761,33 @@ public class IssueRequesterControllerIntegrationTests extends TestBase {
             assertThat(body).contains(email);
         }
     }
+
+    private void assertQueryBudget(long maxStatements, String uri) {
+        queryBudget.assertWithin(maxStatements, "GET " + uri, () -> webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toBodilessEntity()
+                .block());
+    }
+
+    @Test
+    public void issue_requester_routes_stay_within_query_budgets_test() {
+        for (int i = 0; i < 5; i++) {
+            issueRequesterService.save(IssueRequesterModel
+                    .builder()
+                    .isActive(true)
+                    .fullName("budget full name " + i)
+                    .email("budget" + i + "@email.com")
+                    .build());
+        }
+        insertNewIssueRequester1();
+
+        assertQueryBudget(1, "/api/v1/issue-requesters/" + newIssueRequester1.getId());
+        assertQueryBudget(2, "/api/v1/issue-requesters?pageSize=2");
+        assertQueryBudget(1, "/api/v1/issue-requesters?pageSize=2&withTotals=false");
+        assertQueryBudget(1, "/api/v1/issue-requesters?pageSize=2&cursor=");
+        assertQueryBudget(2, "/v1/issue_requesters/find_all_by_full_name/budget?pageSize=2");
+        assertQueryBudget(2, "/v1/issue_requesters/find_all_by_email/budget?pageSize=2");
+    }
 }
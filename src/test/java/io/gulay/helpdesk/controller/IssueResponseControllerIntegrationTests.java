@@ -518,11 +518,11 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
 
         assertNotNull(found);
 
-        assertEquals(String.valueOf(response.getBody().getId()), found.getId().toString());
-        assertEquals(response.getBody().getBody(), found.getBody());
-        assertEquals(String.valueOf(found.getRequester().getId()),
+        assertEquals(String.valueOf(response.getBody().getId()), found.id().toString());
+        assertEquals(response.getBody().getBody(), found.body());
+        assertEquals(String.valueOf(found.requesterId()),
                 String.valueOf(response.getBody().getRequesterId()));
-        assertEquals(String.valueOf(found.getRequest().getId()),
+        assertEquals(String.valueOf(found.requestId()),
                 String.valueOf(response.getBody().getRequestId()));
     }
 
@@ -626,6 +626,7 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
         val issueResponseToPost = IssueResponse
                 .newBuilder()
                 .setId(newIssueResponse1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueResponse1.getVersion()))
                 .setBody("Some new response Body")
                 .setRequesterId(newIssueRequester.getId())
                 .setRequestId(newIssueRequest.getId())
@@ -659,6 +660,7 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
         val issueResponseToPost = IssueResponse
                 .newBuilder()
                 .setId(newIssueResponse1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueResponse1.getVersion()))
                 .setBody("    ")
                 .setRequesterId(newIssueRequester.getId())
                 .setRequestId(newIssueRequest.getId())
@@ -692,6 +694,7 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
         val issueResponseToPost = IssueResponse
                 .newBuilder()
                 .setId(newIssueResponse1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueResponse1.getVersion()))
                 .setBody("some body")
                 .setRequesterId(id)
                 .setRequestId(newIssueRequest.getId())
@@ -725,6 +728,7 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
         val issueResponseToPost = IssueResponse
                 .newBuilder()
                 .setId(newIssueResponse1.getId())
+                .setVersion(NullableInt64.newBuilder().setData(newIssueResponse1.getVersion()))
                 .setBody("some body")
                 .setRequesterId(id)
                 .setRequestId(id)
@@ -747,4 +751,34 @@ public class IssueResponseControllerIntegrationTests extends TestBase {
             assertThat(body).contains(String.valueOf(id));
         }
     }
+
+    private void assertQueryBudget(long maxStatements, String uri) {
+        queryBudget.assertWithin(maxStatements, "GET " + uri, () -> webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .toBodilessEntity()
+                .block());
+    }
+
+    // Responses reference their request and requester lazily: a row mapper touching either would cost one
+    // statement per row, so these budgets stay flat only while pages are read as projections.
+    @Test
+    public void issue_response_routes_stay_within_query_budgets_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        for (int i = 0; i < 5; i++) {
+            insertNewIssueResponse1();
+        }
+
+        assertQueryBudget(1, "/api/v1/issue-responses/" + newIssueResponse1.getId());
+        assertQueryBudget(2, "/api/v1/issue-responses?pageSize=2");
+        assertQueryBudget(1, "/api/v1/issue-responses?pageSize=2&withTotals=false");
+        assertQueryBudget(1, "/api/v1/issue-responses?pageSize=2&cursor=");
+        assertQueryBudget(2, "/v1/issue_responses/find_all_by_request/" + newIssueRequest.getId() + "?pageSize=2");
+        assertQueryBudget(1,
+                "/v1/issue_responses/find_all_by_request/" + newIssueRequest.getId() + "?pageSize=2&cursor=");
+        assertQueryBudget(2,
+                "/v1/issue_responses/find_all_by_requester/" + newIssueRequester.getId() + "?pageSize=2");
+    }
 }
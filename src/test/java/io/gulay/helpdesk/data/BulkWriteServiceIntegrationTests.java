@@ -0,0 +1,372 @@
+package io.gulay.helpdesk.data;
+
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.repository.IssueRequestRepository;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
+import io.gulay.helpdesk.data.repository.IssueResponseRepository;
+import io.gulay.helpdesk.data.service.BulkWriteService;
+import io.gulay.helpdesk.data.service.RequesterLookupIndex;
+import io.gulay.helpdesk.data.util.BulkItemResult;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BulkWriteServiceIntegrationTests extends TestBase {
+    private static final int BULK_SIZE = 200;
+
+    @Autowired
+    private BulkWriteService bulkWriteService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IssueRequesterRepository issueRequesterRepository;
+
+    @Autowired
+    private RequesterLookupIndex requesterLookupIndex;
+
+    @Autowired
+    private IssueRequestRepository issueRequestRepository;
+
+    @Autowired
+    private IssueResponseRepository issueResponseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Validator validator;
+
+    private IssueRequesterModel newIssueRequester;
+
+    @Before
+    public void setup() {
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+
+        newIssueRequester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("bulk_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+    }
+
+    private static IssueRequesterModel requester(Integer id, String email) {
+        return IssueRequesterModel
+                .builder()
+                .id(id)
+                .fullName("bulk_requester")
+                .isActive(true)
+                .email(email)
+                .build();
+    }
+
+    private static IssueRequestModel request(Integer id, Integer requesterId, String body) {
+        return IssueRequestModel
+                .builder()
+                .id(id)
+                .isSolved(false)
+                .requester(IssueRequesterModel.builder().id(requesterId).build())
+                .body(body)
+                .build();
+    }
+
+    @Test
+    public void bulk_insert_issue_requests_in_jdbc_batches_test() {
+        val models = new ArrayList<IssueRequestModel>();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            models.add(request(null, newIssueRequester.getId(), "Bulk body " + i));
+        }
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        val results = bulkWriteService.saveIssueRequests(models);
+
+        // Pre-check, sequence blocks and batched INSERTs: a handful of statements instead of two per row.
+        assertTrue("prepared " + statistics.getPrepareStatementCount() + " statements",
+                statistics.getPrepareStatementCount() < 20);
+
+        assertEquals(BULK_SIZE, results.size());
+        assertTrue(results.stream().allMatch(BulkItemResult::isSaved));
+        assertEquals(BULK_SIZE, results.stream().map(BulkItemResult::id).distinct().count());
+
+        val first = issueRequestService.findById(results.get(0).id());
+        assertEquals("Bulk body 0", first.body());
+    }
+
+    @Test
+    public void bulk_save_issue_requesters_reports_each_item_test() {
+        val duplicatedEmail = UUID.randomUUID().toString().concat("@email.com");
+
+        val update = requester(newIssueRequester.getId(), newIssueRequester.getEmail());
+        update.setVersion(newIssueRequester.getVersion());
+
+        val results = bulkWriteService.saveIssueRequesters(List.of(
+                requester(null, duplicatedEmail),
+                requester(null, duplicatedEmail),
+                requester(null, "not-an-email"),
+                requester(null, newIssueRequester.getEmail()),
+                requester(Integer.MAX_VALUE, UUID.randomUUID().toString().concat("@email.com")),
+                update));
+
+        assertEquals(6, results.size());
+        assertEquals(HttpStatus.OK.value(), results.get(0).status());
+        assertNotNull(results.get(0).id());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), results.get(1).status());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(2).status());
+        assertTrue(results.get(2).message().contains("email"));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), results.get(3).status());
+        assertEquals(HttpStatus.NOT_FOUND.value(), results.get(4).status());
+        assertEquals(HttpStatus.OK.value(), results.get(5).status());
+        assertEquals(newIssueRequester.getId(), results.get(5).id());
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+    }
+
+    @Test
+    public void bulk_upsert_issue_requests_test() {
+        val inactiveRequester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("inactive_full_name")
+                .isActive(false)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+        val existing = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Original body")
+                .build());
+
+        val update = request(existing.getId(), newIssueRequester.getId(), "Updated body");
+        update.setVersion(existing.getVersion());
+
+        val results = bulkWriteService.saveIssueRequests(List.of(
+                update,
+                request(null, inactiveRequester.getId(), "Inactive requester body"),
+                request(Integer.MAX_VALUE, newIssueRequester.getId(), "Missing body"),
+                request(null, newIssueRequester.getId(), " "),
+                request(existing.getId(), newIssueRequester.getId(), "Unversioned body")));
+
+        assertEquals(HttpStatus.OK.value(), results.get(0).status());
+        assertEquals(existing.getId(), results.get(0).id());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), results.get(1).status());
+        assertEquals(HttpStatus.NOT_FOUND.value(), results.get(2).status());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(3).status());
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED.value(), results.get(4).status());
+
+        assertEquals("Updated body", issueRequestService.findById(existing.getId()).body());
+    }
+
+    @Test
+    public void bulk_chunk_rejected_by_database_is_retried_item_by_item_test() {
+        val other = issueRequesterService.save(requester(null, UUID.randomUUID().toString().concat("@email.com")));
+        val freshEmail = UUID.randomUUID().toString().concat("@email.com");
+
+        // The update claims another requester's email: only the unique index catches it, at flush time.
+        val update = requester(newIssueRequester.getId(), other.getEmail());
+        update.setVersion(newIssueRequester.getVersion());
+
+        val results = bulkWriteService.saveIssueRequesters(List.of(
+                requester(null, freshEmail),
+                update));
+
+        assertEquals(HttpStatus.OK.value(), results.get(0).status());
+        assertNotNull(results.get(0).id());
+        assertEquals(HttpStatus.CONFLICT.value(), results.get(1).status());
+
+        assertEquals(freshEmail, issueRequesterService.findById(results.get(0).id()).email());
+        assertEquals(newIssueRequester.getEmail(),
+                issueRequesterService.findById(newIssueRequester.getId()).email());
+    }
+
+    @Test
+    public void bulk_save_issue_responses_test() {
+        val request = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Request body")
+                .build());
+
+        val results = bulkWriteService.saveIssueResponses(List.of(
+                IssueResponseModel
+                        .builder()
+                        .requester(IssueRequesterModel.builder().id(newIssueRequester.getId()).build())
+                        .request(IssueRequestModel.builder().id(request.getId()).build())
+                        .body("Response body")
+                        .build(),
+                IssueResponseModel
+                        .builder()
+                        .requester(IssueRequesterModel.builder().id(newIssueRequester.getId()).build())
+                        .request(IssueRequestModel.builder().id(Integer.MAX_VALUE).build())
+                        .body("Orphan response body")
+                        .build()));
+
+        assertEquals(HttpStatus.OK.value(), results.get(0).status());
+        assertEquals("Response body", issueResponseService.findById(results.get(0).id()).body());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE.value(), results.get(1).status());
+    }
+
+    @Test
+    public void bulk_save_clears_the_caches_for_chunks_committed_before_a_failure_test() {
+        val existing = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Original body")
+                .build());
+        assertEquals("Original body", issueRequestService.findById(existing.getId()).body());
+
+        // One item per chunk; checking the second chunk fails the way a lost database connection would.
+        val validations = new AtomicInteger();
+        val failingValidator = (Validator) Proxy.newProxyInstance(Validator.class.getClassLoader(),
+                new Class<?>[]{Validator.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("validate") && validations.incrementAndGet() > 1) {
+                        throw new IllegalStateException("database unavailable");
+                    }
+                    try {
+                        return method.invoke(validator, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+        val chunkedService = new BulkWriteService(issueRequesterRepository, requesterLookupIndex,
+                issueRequestRepository, issueResponseRepository, transactionManager, eventPublisher, cacheManager,
+                failingValidator, 1, 10);
+
+        val update = request(existing.getId(), newIssueRequester.getId(), "Updated body");
+        update.setVersion(existing.getVersion());
+
+        try {
+            chunkedService.saveIssueRequests(List.of(update, request(null, newIssueRequester.getId(), "Body")));
+            fail("Expected the second chunk to fail");
+        } catch (IllegalStateException ex) {
+            assertEquals("database unavailable", ex.getMessage());
+        }
+
+        assertEquals("Updated body", issueRequestService.findById(existing.getId()).body());
+    }
+
+    @Test(expected = ResponseStatusException.class)
+    public void bulk_save_rejects_empty_batch_test() {
+        bulkWriteService.saveIssueRequests(List.of());
+    }
+
+    private List<Integer> insertIssueRequests(int count) {
+        val models = new ArrayList<IssueRequestModel>();
+        for (int i = 0; i < count; i++) {
+            models.add(request(null, newIssueRequester.getId(), "Bulk body " + i));
+        }
+
+        return bulkWriteService.saveIssueRequests(models)
+                .stream()
+                .map(BulkItemResult::id)
+                .toList();
+    }
+
+    @Test
+    public void bulk_solve_issue_requests_by_ids_in_one_statement_per_chunk_test() {
+        val ids = insertIssueRequests(BULK_SIZE);
+        issueRequestService.solveIssue(ids.get(0));
+        val solvedAt = issueRequestService.findById(ids.get(0)).solved();
+
+        assertEquals(BULK_SIZE - 1, bulkWriteService.solveIssueRequests(ids, null, true));
+        assertFalse(issueRequestService.findById(ids.get(1)).isSolved());
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(BULK_SIZE - 1, bulkWriteService.solveIssueRequests(ids, null, false));
+
+        // No row is loaded: a single UPDATE covers the whole chunk.
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        assertTrue(issueRequestService.findById(ids.get(BULK_SIZE - 1)).isSolved());
+        assertNotNull(issueRequestService.findById(ids.get(BULK_SIZE - 1)).solved());
+        // Already solved requests keep their original solved date.
+        assertEquals(solvedAt, issueRequestService.findById(ids.get(0)).solved());
+    }
+
+    @Test
+    public void bulk_solve_and_delete_issue_requests_by_filter_test() {
+        val ids = insertIssueRequests(BULK_SIZE);
+        val tomorrow = Date.from(Instant.now().plus(1, ChronoUnit.DAYS));
+        val yesterday = Date.from(Instant.now().minus(1, ChronoUnit.DAYS));
+
+        assertEquals(0, bulkWriteService.solveIssueRequests(null, yesterday, false));
+        assertEquals(BULK_SIZE, bulkWriteService.solveIssueRequests(null, tomorrow, false));
+        assertEquals(0, bulkWriteService.solveIssueRequests(null, tomorrow, true));
+
+        val unsolved = insertIssueRequests(1).get(0);
+
+        assertEquals(BULK_SIZE, bulkWriteService.deleteIssueRequests(null, tomorrow, true, true));
+        assertEquals(BULK_SIZE, bulkWriteService.deleteIssueRequests(null, tomorrow, true, false));
+
+        assertFalse(issueRequestService.isExists(ids.get(0)));
+        assertTrue(issueRequestService.isExists(unsolved));
+    }
+
+    @Test
+    public void bulk_delete_issue_requests_by_ids_cascades_to_responses_test() {
+        val ids = insertIssueRequests(2);
+        val response = issueResponseService.save(IssueResponseModel
+                .builder()
+                .requester(newIssueRequester)
+                .request(IssueRequestModel.builder().id(ids.get(0)).build())
+                .body("Response body")
+                .build());
+
+        assertEquals(0, bulkWriteService.deleteIssueRequests(ids, null, true, false));
+        assertEquals(2, bulkWriteService.deleteIssueRequests(ids, null, null, false));
+
+        assertFalse(issueRequestService.isExists(ids.get(0)));
+        try {
+            issueResponseService.findById(response.getId());
+            fail("Expected the response to be deleted with its request");
+        } catch (ResponseStatusException ex) {
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        }
+    }
+
+    @Test(expected = ResponseStatusException.class)
+    public void bulk_solve_rejects_ids_and_filter_together_test() {
+        bulkWriteService.solveIssueRequests(List.of(1), new Date(), false);
+    }
+}
@@ -1,23 +1,44 @@
 package io.gulay.helpdesk.data;
 
 import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.config.CacheConfiguration;
 import io.gulay.helpdesk.data.model.IssueRequestModel;
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueRequestRow;
+import io.gulay.helpdesk.data.projection.TicketSearchRow;
+import io.gulay.helpdesk.data.service.BulkWriteService;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.val;
+import org.hibernate.SessionFactory;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
 
 public class IssueRequestServiceIntegrationTests extends TestBase {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BulkWriteService bulkWriteService;
+
     private static IssueRequesterModel newIssueRequester;
 
     private static IssueRequestModel newIssueRequest1;
@@ -50,16 +71,16 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
                 .build());
     }
 
-    public void testCollection(GenericPagedModel<IssueRequestModel> model) {
+    public void testCollection(GenericPagedModel<IssueRequestRow> model) {
         assertFalse(model.getContent().isEmpty());
 
         assertTrue(model.getContent()
                 .stream()
-                .anyMatch(f -> f.getId().equals(newIssueRequest1.getId())));
+                .anyMatch(f -> f.id().equals(newIssueRequest1.getId())));
 
         assertTrue(model.getContent()
                 .stream()
-                .anyMatch(f -> f.getId().equals(newIssueRequest2.getId())));
+                .anyMatch(f -> f.id().equals(newIssueRequest2.getId())));
     }
 
     @Before
@@ -96,6 +117,7 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
                 .builder()
                 .isSolved(newIssueRequest1.getIsSolved())
                 .id(newIssueRequest1.getId())
+                .version(newIssueRequest1.getVersion())
                 .requester(newIssueRequester)
                 .body("some new body")
                 .build());
@@ -104,6 +126,23 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         assertNotEquals(newIssueRequest1.getBody(), updated.getBody());
     }
 
+    @Test
+    public void update_issue_request_without_version_is_rejected_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val ex = assertThrows(ResponseStatusException.class, () -> issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .id(newIssueRequest1.getId())
+                .requester(newIssueRequester)
+                .body("Last write wins")
+                .build()));
+
+        assertEquals(428, ex.getStatusCode().value());
+        assertEquals(newIssueRequest1.getBody(), issueRequestService.findById(newIssueRequest1.getId()).body());
+    }
+
     @Test(expected = ResponseStatusException.class)
     public void update_issue_request_with_exception_test() {
         insertNewIssueRequester();
@@ -112,11 +151,135 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         issueRequestService.save(IssueRequestModel
                 .builder()
                 .id(newIssueRequest1.getId())
+                .version(newIssueRequest1.getVersion())
                 .requester(newIssueRequester)
                 .body("      ")
                 .build());
     }
 
+    @Test
+    public void update_issue_request_with_stale_version_is_rejected_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val readVersion = newIssueRequest1.getVersion();
+        assertEquals(Long.valueOf(0), readVersion);
+
+        val first = issueRequestService.save(IssueRequestModel
+                .builder()
+                .id(newIssueRequest1.getId())
+                .version(readVersion)
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("first writer")
+                .build());
+
+        assertEquals(Long.valueOf(readVersion + 1), first.getVersion());
+
+        // A second writer that read the same version must not overwrite the first one.
+        val ex = assertThrows(ResponseStatusException.class, () -> issueRequestService.save(IssueRequestModel
+                .builder()
+                .id(newIssueRequest1.getId())
+                .version(readVersion)
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("second writer")
+                .build()));
+
+        assertEquals(409, ex.getStatusCode().value());
+        assertEquals("first writer", issueRequestService.findById(newIssueRequest1.getId()).body());
+
+        // Bulk solve bypasses the entity but still moves the version on.
+        bulkWriteService.solveIssueRequests(List.of(newIssueRequest1.getId()), null, false);
+        assertEquals(Long.valueOf(readVersion + 2),
+                issueRequestService.findById(newIssueRequest1.getId()).version());
+    }
+
+    @Test
+    public void search_tickets_ranks_request_and_response_bodies_test() {
+        insertNewIssueRequester();
+
+        // InnoDB weighs a word by how few rows contain it, so the searched word is kept to a minority of the rows.
+        val fillers = List.of("VPN disconnects on the third floor", "Laptop battery is swelling",
+                "Mailbox quota exceeded", "Badge reader rejects my card", "Monitor flickers after docking",
+                "Password reset link expired");
+        IssueRequestModel fillerRequest = null;
+        for (val body : fillers) {
+            fillerRequest = issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .isSolved(false)
+                    .requester(newIssueRequester)
+                    .body(body)
+                    .build());
+        }
+
+        val strongMatch = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Printer jammed again; the printer shows paper jam and the printer queue is stuck")
+                .build());
+        issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Printer offline since Monday")
+                .build());
+
+        IssueResponseModel responseMatch = null;
+        for (val body : List.of("Reset the VPN profile", "Reinstalled the printer driver", "Checked the cable",
+                "Replaced the battery", "Cleared the cached credentials")) {
+            val response = issueResponseService.save(IssueResponseModel
+                    .builder()
+                    .requester(newIssueRequester)
+                    .request(fillerRequest)
+                    .body(body)
+                    .build());
+            if (body.contains("printer")) {
+                responseMatch = response;
+            }
+        }
+        assertNotNull(responseMatch);
+        // A second match inside the strongest ticket: the ticket is still a single hit.
+        issueResponseService.save(IssueResponseModel
+                .builder()
+                .requester(newIssueRequester)
+                .request(strongMatch)
+                .body("Printer restarted")
+                .build());
+
+        val found = issueRequestService.searchTickets("printer", 0, 10, true);
+
+        assertEquals(3, found.getTotalElements());
+        val hits = List.copyOf(found.getContent());
+        assertEquals(3, hits.size());
+        assertEquals(3, hits.stream().map(TicketSearchRow::getRequestId).distinct().count());
+        assertEquals(strongMatch.getId(), hits.get(0).getRequestId());
+        assertNull(hits.get(0).getResponseId());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+        }
+
+        val responseHitId = responseMatch.getId();
+        val responseRequestId = fillerRequest.getId();
+        assertTrue(hits.stream().anyMatch(hit -> responseHitId.equals(hit.getResponseId())
+                && responseRequestId.equals(hit.getRequestId())));
+
+        val firstPage = issueRequestService.searchTickets("printer", 0, 2, false);
+        assertEquals(2, firstPage.getNumberOfElements());
+        assertTrue(firstPage.isHasNext());
+        assertEquals(GenericPagedModel.UNKNOWN_TOTAL, firstPage.getTotalElements());
+
+        val lastPage = issueRequestService.searchTickets("printer", 1, 2, false);
+        assertEquals(1, lastPage.getNumberOfElements());
+        assertFalse(lastPage.isHasNext());
+
+        assertEquals(404, assertThrows(ResponseStatusException.class,
+                () -> issueRequestService.searchTickets("scanner", 0, 10, true)).getStatusCode().value());
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> issueRequestService.searchTickets("  ", 0, 10, true)).getStatusCode().value());
+    }
+
     @Test
     public void find_issue_request_by_id_test() {
         insertNewIssueRequester();
@@ -125,8 +288,8 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         val found = issueRequestService.findById(newIssueRequest1.getId());
 
         assertNotNull(found);
-        assertEquals(newIssueRequest1.getId(), found.getId());
-        assertEquals(newIssueRequest1.getBody(), found.getBody());
+        assertEquals(newIssueRequest1.getId(), found.id());
+        assertEquals(newIssueRequest1.getBody(), found.body());
     }
 
     @Test(expected = ResponseStatusException.class)
@@ -147,6 +310,28 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         testCollection(issueRequestService.findAll(0, 10, "created", SortDirection.Descending));
     }
 
+    @Test
+    public void find_all_issue_requests_reads_rows_without_loading_entities_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+        insertNewIssueRequest2();
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        val model = issueRequestService.findAll(0, 10, "created", SortDirection.Descending);
+
+        // The page query and its COUNT; no entity or requester proxy is materialized.
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+
+        testCollection(model);
+        assertTrue(model.getContent()
+                .stream()
+                .allMatch(row -> row.requesterId().equals(newIssueRequester.getId())));
+    }
+
     @Test(expected = ResponseStatusException.class)
     public void find_all_issue_responses_with_exception_test() {
         testCollection(issueRequestService.findAll(0, 10, "created", SortDirection.Descending));
@@ -188,11 +373,11 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         val found1 = issueRequestService.findById(newIssueRequest1.getId());
         val found2 = issueRequestService.findById(newIssueRequest2.getId());
 
-        assertTrue(found1.getIsSolved());
-        assertTrue(found2.getIsSolved());
+        assertTrue(found1.isSolved());
+        assertTrue(found2.isSolved());
 
-        assertNotNull(found1.getSolved());
-        assertNotNull(found2.getSolved());
+        assertNotNull(found1.solved());
+        assertNotNull(found2.solved());
 
         val yesterday = new Date(Instant.now().minus(1, ChronoUnit.DAYS).toEpochMilli());
         val tomorrow = new Date(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
@@ -224,11 +409,11 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         val found1 = issueRequestService.findById(newIssueRequest1.getId());
         val found2 = issueRequestService.findById(newIssueRequest2.getId());
 
-        assertTrue(found1.getIsSolved());
-        assertTrue(found2.getIsSolved());
+        assertTrue(found1.isSolved());
+        assertTrue(found2.isSolved());
 
-        assertNotNull(found1.getSolved());
-        assertNotNull(found2.getSolved());
+        assertNotNull(found1.solved());
+        assertNotNull(found2.solved());
 
         val yesterday = new Date(Instant.now().minus(1, ChronoUnit.DAYS).toEpochMilli());
         val tomorrow = new Date(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
@@ -294,6 +479,55 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
                         tomorrow, yesterday, 0, 10, "created", SortDirection.Descending));
     }
 
+    @Test
+    public void scroll_all_issue_requests_by_requester_id_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+        insertNewIssueRequest2();
+
+        val first = issueRequestService
+                .scrollAllByRequesterId(newIssueRequester.getId(), "", 1, "created", SortDirection.Descending);
+
+        assertEquals(1, first.getNumberOfElements());
+        assertEquals(GenericPagedModel.UNKNOWN_TOTAL, first.getTotalElements());
+        assertFalse(first.getNextCursor().isEmpty());
+
+        val second = issueRequestService
+                .scrollAllByRequesterId(newIssueRequester.getId(), first.getNextCursor(), 1, "created",
+                        SortDirection.Descending);
+
+        assertEquals(1, second.getNumberOfElements());
+        assertTrue(second.getNextCursor().isEmpty());
+        assertNotEquals(first.getContent().iterator().next().id(), second.getContent().iterator().next().id());
+    }
+
+    @Test(expected = ResponseStatusException.class)
+    public void scroll_all_issue_requests_with_invalid_cursor_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        issueRequestService.scrollAll("not-a-cursor", 10, "created", SortDirection.Descending);
+    }
+
+    @Test
+    public void scroll_all_issue_requests_rejects_malformed_cursors_and_nullable_sort_columns_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        // No id tiebreak, a sort value of the wrong type, and a NULL id: each is a client error, not a 500.
+        for (val keys : List.of("created:d:1719878400000", "created:s:MQ,id:i:1", "created:d:1719878400000,id:n:")) {
+            val cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+            assertEquals(keys, 400, assertThrows(ResponseStatusException.class,
+                    () -> issueRequestService.scrollAll(cursor, 10, "created", SortDirection.Descending))
+                    .getStatusCode().value());
+        }
+
+        // Unsolved requests have no solved date, which would end the walk at the first of them.
+        assertEquals(400, assertThrows(ResponseStatusException.class,
+                () -> issueRequestService.scrollAll("", 10, "solved", SortDirection.Descending))
+                .getStatusCode().value());
+    }
+
     @Test
     public void solve_issue_request_test() {
         insertNewIssueRequester();
@@ -306,11 +540,11 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
         val found1 = issueRequestService.findById(newIssueRequest1.getId());
         val found2 = issueRequestService.findById(newIssueRequest2.getId());
 
-        assertTrue(found1.getIsSolved());
-        assertTrue(found2.getIsSolved());
+        assertTrue(found1.isSolved());
+        assertTrue(found2.isSolved());
 
-        assertNotNull(found1.getSolved());
-        assertNotNull(found2.getSolved());
+        assertNotNull(found1.solved());
+        assertNotNull(found2.solved());
     }
 
     @Test(expected = ResponseStatusException.class)
@@ -323,4 +557,45 @@ public class IssueRequestServiceIntegrationTests extends TestBase {
 
         issueRequesterService.findById(deleted.getId());
     }
+
+    @Test
+    public void find_issue_request_by_id_is_cached_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        val found = issueRequestService.findById(newIssueRequest1.getId());
+        val cache = cacheManager.getCache(CacheConfiguration.ISSUE_REQUESTS);
+
+        assertNotNull(cache);
+        assertNotNull(cache.get(newIssueRequest1.getId()));
+        assertSame(found, issueRequestService.findById(newIssueRequest1.getId()));
+    }
+
+    @Test
+    public void cached_issue_request_is_evicted_on_solve_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest1();
+
+        assertFalse(issueRequestService.findById(newIssueRequest1.getId()).isSolved());
+        assertNotNull(issueRequestService.findById(newIssueRequest1.getId(), false));
+
+        issueRequestService.solveIssue(newIssueRequest1.getId());
+
+        assertTrue(issueRequestService.findById(newIssueRequest1.getId()).isSolved());
+        assertNotNull(issueRequestService.findById(newIssueRequest1.getId(), true));
+    }
+
+    @Test
+    public void insert_issue_request_with_requester_id_only_test() {
+        insertNewIssueRequester();
+
+        val saved = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(IssueRequesterModel.builder().id(newIssueRequester.getId()).build())
+                .body("Body by requester id")
+                .build());
+
+        assertEquals(newIssueRequester.getId(), issueRequestService.findById(saved.getId()).requesterId());
+    }
 }
@@ -2,20 +2,39 @@ package io.gulay.helpdesk.data;
 
 import io.gulay.helpdesk.TestBase;
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.projection.RequesterLookupRow;
+import io.gulay.helpdesk.data.repository.IssueRequesterRepository;
+import io.gulay.helpdesk.data.service.RequesterLookupIndex;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
 import lombok.val;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
 public class IssueRequesterServiceIntegrationTests extends TestBase {
+    @Autowired
+    private RequesterLookupIndex requesterLookupIndex;
+
+    @Autowired
+    private IssueRequesterRepository issueRequesterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private static IssueRequesterModel newIssueRequester1;
 
     private static IssueRequesterModel newIssueRequester2;
@@ -77,6 +96,7 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
         val updated = issueRequesterService.save(IssueRequesterModel
                 .builder()
                 .id(newIssueRequester1.getId())
+                .version(newIssueRequester1.getVersion())
                 .isActive(true)
                 .fullName("new full name")
                 .email("new@email.net")
@@ -94,6 +114,7 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
         issueRequesterService.save(IssueRequesterModel
                 .builder()
                 .id(newIssueRequester1.getId())
+                .version(newIssueRequester1.getVersion())
                 .fullName("   ")
                 .email("new@email.net")
                 .build());
@@ -106,9 +127,9 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
         val found = issueRequesterService.findById(newIssueRequester1.getId());
 
         assertNotNull(found);
-        assertEquals(newIssueRequester1.getId(), found.getId());
-        assertEquals(newIssueRequester1.getFullName(), found.getFullName());
-        assertEquals(newIssueRequester1.getEmail(), found.getEmail());
+        assertEquals(newIssueRequester1.getId(), found.id());
+        assertEquals(newIssueRequester1.getFullName(), found.fullName());
+        assertEquals(newIssueRequester1.getEmail(), found.email());
     }
 
     @Test(expected = ResponseStatusException.class)
@@ -128,6 +149,26 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
                 .findAll(0, 10, "created", SortDirection.Descending));
     }
 
+    @Test
+    public void find_all_issue_requesters_without_totals_test() {
+        insertNewIssueRequester1();
+        insertNewIssueRequester2();
+
+        val first = issueRequesterService
+                .findAll(0, 1, "created", SortDirection.Descending, false);
+
+        assertEquals(GenericPagedModel.UNKNOWN_TOTAL, first.getTotalElements());
+        assertEquals(GenericPagedModel.UNKNOWN_TOTAL, first.getTotalPages());
+        assertEquals(1, first.getNumberOfElements());
+        assertTrue(first.isHasNext());
+
+        val last = issueRequesterService
+                .findAll(1, 1, "created", SortDirection.Descending, false);
+
+        assertEquals(1, last.getNumberOfElements());
+        assertFalse(last.isHasNext());
+    }
+
     @Test(expected = ResponseStatusException.class)
     public void find_all_issue_requesters_with_exception_test() {
         testCollection(issueRequesterService
@@ -279,6 +320,42 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
         assertNotEquals(newIssueRequester1.getIsActive(), toggled.getIsActive());
     }
 
+    @Test
+    public void concurrent_toggle_activation_is_rejected_with_conflict_test() {
+        insertNewIssueRequester1();
+        val id = newIssueRequester1.getId();
+
+        val outer = new TransactionTemplate(transactionManager);
+        val concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        val ex = outer.execute(status -> {
+            // Read at the current version, then let another transaction toggle and commit first.
+            issueRequesterRepository.findById(id);
+            concurrent.executeWithoutResult(inner -> issueRequesterService.toggleActivation(id));
+
+            status.setRollbackOnly();
+            return assertThrows(ResponseStatusException.class, () -> issueRequesterService.toggleActivation(id));
+        });
+
+        assertNotNull(ex);
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertNotEquals(newIssueRequester1.getIsActive(), issueRequesterService.findById(id).isActive());
+    }
+
+    @Test
+    public void cached_issue_requester_is_evicted_on_toggle_activation_test() {
+        insertNewIssueRequester1();
+
+        assertTrue(issueRequesterService.isExistsAndActive(newIssueRequester1.getId(), true));
+        assertTrue(issueRequesterService.findById(newIssueRequester1.getId()).isActive());
+
+        issueRequesterService.toggleActivation(newIssueRequester1.getId());
+
+        assertFalse(issueRequesterService.isExistsAndActive(newIssueRequester1.getId(), true));
+        assertFalse(issueRequesterService.findById(newIssueRequester1.getId()).isActive());
+    }
+
     @Test(expected = ResponseStatusException.class)
     public void delete_issue_requester_test() {
         insertNewIssueRequester1();
@@ -289,4 +366,46 @@ public class IssueRequesterServiceIntegrationTests extends TestBase {
 
         issueRequesterService.findById(deleted.getId());
     }
+
+    @Test
+    public void lookup_issue_requesters_by_name_or_email_test() {
+        insertNewIssueRequester1();
+        insertNewIssueRequester2();
+        val other = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .isActive(true)
+                .fullName("Other Person")
+                .email("someone.test1@email.com")
+                .build());
+
+        requesterLookupIndex.load();
+        assertTrue(requesterLookupIndex.isReady());
+
+        // Prefix matches first, then the rest by id; the database fallback orders the same way.
+        val expected = List.of(newIssueRequester1.getId(), other.getId());
+        assertEquals(expected, ids(issueRequesterService.lookup("TEST1", null, 10)));
+        assertEquals(expected,
+                ids(issueRequesterRepository.lookup("%test1%", "test1%", null, Limit.of(10))));
+
+        assertEquals(3, issueRequesterService.lookup("@", null, 10).size());
+        assertEquals(2, issueRequesterService.lookup("te", null, 2).size());
+        assertTrue(issueRequesterService.lookup("nobody", null, 10).isEmpty());
+
+        // Writes reach the index once committed.
+        issueRequesterService.toggleActivation(newIssueRequester1.getId());
+        assertEquals(List.of(other.getId()), ids(issueRequesterService.lookup("test1", true, 10)));
+        assertEquals(List.of(newIssueRequester1.getId()), ids(issueRequesterService.lookup("test1", false, 10)));
+
+        issueRequesterService.hardDelete(other.getId());
+        assertEquals(List.of(newIssueRequester1.getId()), ids(issueRequesterService.lookup("test1", null, 10)));
+    }
+
+    @Test(expected = ResponseStatusException.class)
+    public void lookup_issue_requesters_with_blank_query_test() {
+        issueRequesterService.lookup(" ", null, 10);
+    }
+
+    private static List<Integer> ids(List<RequesterLookupRow> rows) {
+        return rows.stream().map(RequesterLookupRow::id).toList();
+    }
 }
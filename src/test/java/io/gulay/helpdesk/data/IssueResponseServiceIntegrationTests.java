@@ -4,21 +4,28 @@ import io.gulay.helpdesk.TestBase;
 import io.gulay.helpdesk.data.model.IssueRequestModel;
 import io.gulay.helpdesk.data.model.IssueRequesterModel;
 import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.projection.IssueResponseRow;
 import io.gulay.helpdesk.data.util.GenericPagedModel;
 import io.gulay.helpdesk.data.util.SortDirection;
+import io.gulay.helpdesk.mcp.client.AiResponseCache;
 import lombok.val;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
 public class IssueResponseServiceIntegrationTests extends TestBase {
+    @Autowired
+    private AiResponseCache aiResponseCache;
+
     private static IssueRequesterModel newIssueRequester;
 
     private static IssueRequestModel newIssueRequest;
@@ -62,16 +69,16 @@ public class IssueResponseServiceIntegrationTests extends TestBase {
                 .build());
     }
 
-    public void testCollection(GenericPagedModel<IssueResponseModel> model) {
+    public void testCollection(GenericPagedModel<IssueResponseRow> model) {
         assertFalse(model.getContent().isEmpty());
 
         assertTrue(model.getContent()
                 .stream()
-                .anyMatch(f -> f.getId().equals(newIssueResponse1.getId())));
+                .anyMatch(f -> f.id().equals(newIssueResponse1.getId())));
 
         assertTrue(model.getContent()
                 .stream()
-                .anyMatch(f -> f.getId().equals(newIssueResponse2.getId())));
+                .anyMatch(f -> f.id().equals(newIssueResponse2.getId())));
     }
 
     @Before
@@ -112,6 +119,7 @@ public class IssueResponseServiceIntegrationTests extends TestBase {
         val updated = issueResponseService.save(IssueResponseModel
                 .builder()
                 .id(newIssueResponse1.getId())
+                .version(newIssueResponse1.getVersion())
                 .requester(newIssueRequester)
                 .request(newIssueRequest)
                 .body("some new body")
@@ -130,6 +138,7 @@ public class IssueResponseServiceIntegrationTests extends TestBase {
         issueResponseService.save(IssueResponseModel
                 .builder()
                 .id(newIssueResponse1.getId())
+                .version(newIssueResponse1.getVersion())
                 .requester(newIssueRequester)
                 .request(newIssueRequest)
                 .body("        ")
@@ -145,8 +154,8 @@ public class IssueResponseServiceIntegrationTests extends TestBase {
         val found = issueResponseService.findById(newIssueResponse1.getId());
 
         assertNotNull(found);
-        assertEquals(newIssueResponse1.getId(), found.getId());
-        assertEquals(newIssueResponse1.getBody(), found.getBody());
+        assertEquals(newIssueResponse1.getId(), found.id());
+        assertEquals(newIssueResponse1.getBody(), found.body());
     }
 
     @Test(expected = ResponseStatusException.class)
@@ -301,4 +310,19 @@ public class IssueResponseServiceIntegrationTests extends TestBase {
         issueRequesterService.findById(deleted.getId());
     }
 
+    @Test
+    public void insert_issue_response_evicts_cached_ai_responses_of_its_request_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        val calls = new AtomicInteger();
+
+        aiResponseCache.getOrCompute(newIssueRequest.getId(), "state", "model", "system", "summarize",
+                () -> "summary " + calls.incrementAndGet());
+        insertNewIssueResponse1();
+        aiResponseCache.getOrCompute(newIssueRequest.getId(), "state", "model", "system", "summarize",
+                () -> "summary " + calls.incrementAndGet());
+
+        assertEquals(2, calls.get());
+    }
+
 }
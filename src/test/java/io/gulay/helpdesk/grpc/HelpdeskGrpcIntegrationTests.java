@@ -0,0 +1,150 @@
+package io.gulay.helpdesk.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.protoGen.*;
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HelpdeskGrpcIntegrationTests extends TestBase {
+    @Autowired
+    private Server grpcServer;
+
+    private ManagedChannel channel;
+
+    private IssueRequesterModel newIssueRequester;
+
+    @Before
+    public void setup() {
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcServer.getPort())
+                .usePlaintext()
+                .build();
+
+        newIssueRequester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("grpc_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public void insertNewIssueRequests(int count) {
+        for (int i = 0; i < count; i++) {
+            issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .isSolved(false)
+                    .requester(newIssueRequester)
+                    .body("Body Text " + i)
+                    .build());
+        }
+    }
+
+    @Test
+    public void get_issue_requester_test() {
+        val stub = IssueRequesterApiGrpc.newBlockingStub(channel);
+
+        val requester = stub.getIssueRequester(IdRequest.newBuilder().setId(newIssueRequester.getId()).build());
+
+        assertEquals(newIssueRequester.getId().intValue(), requester.getId());
+        assertEquals(newIssueRequester.getEmail(), requester.getEmail());
+        assertTrue(requester.getIsActive().getData());
+    }
+
+    @Test
+    public void get_issue_requester_not_found_test() {
+        val stub = IssueRequesterApiGrpc.newBlockingStub(channel);
+
+        try {
+            stub.getIssueRequester(IdRequest.newBuilder().setId(-1).build());
+            fail("Expected NOT_FOUND");
+        } catch (StatusRuntimeException exception) {
+            assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        }
+    }
+
+    @Test
+    public void list_issue_requests_by_requester_id_without_totals_test() {
+        insertNewIssueRequests(3);
+        val stub = IssueRequestApiGrpc.newBlockingStub(channel);
+
+        val paged = stub.listIssueRequests(ListIssueRequestsRequest.newBuilder()
+                .setRequesterId(newIssueRequester.getId())
+                .setPage(PageQuery.newBuilder().setPageSize(2).setSkipTotals(true))
+                .build());
+
+        assertEquals(2, paged.getIssueRequests().getIssueRequestsCount());
+        assertEquals(-1, paged.getTotalElements());
+        assertTrue(paged.getHasNext());
+    }
+
+    @Test
+    public void stream_issue_requests_across_keyset_pages_test() {
+        insertNewIssueRequests(5);
+        val stub = IssueRequestApiGrpc.newBlockingStub(channel);
+
+        val streamed = new ArrayList<IssueRequest>();
+        stub.streamIssueRequests(ListIssueRequestsRequest.newBuilder()
+                        .setRequesterId(newIssueRequester.getId())
+                        .setPage(PageQuery.newBuilder().setPageSize(2).setSortBy("id").setSortDir("asc"))
+                        .build())
+                .forEachRemaining(streamed::add);
+
+        assertEquals(5, streamed.size());
+        for (int i = 1; i < streamed.size(); i++) {
+            assertTrue(streamed.get(i - 1).getId() < streamed.get(i).getId());
+        }
+    }
+
+    @Test
+    public void stream_issue_requests_with_no_rows_completes_empty_test() {
+        val stub = IssueRequestApiGrpc.newBlockingStub(channel);
+
+        val streamed = new ArrayList<IssueRequest>();
+        stub.streamIssueRequests(ListIssueRequestsRequest.newBuilder()
+                        .setRequesterId(newIssueRequester.getId())
+                        .build())
+                .forEachRemaining(streamed::add);
+
+        assertTrue(streamed.isEmpty());
+    }
+
+    @Test
+    public void save_issue_request_for_inactive_requester_test() {
+        issueRequesterService.toggleActivation(newIssueRequester.getId());
+        val stub = IssueRequestApiGrpc.newBlockingStub(channel);
+
+        try {
+            stub.saveIssueRequest(IssueRequest.newBuilder()
+                    .setRequesterId(newIssueRequester.getId())
+                    .setBody("Body Text")
+                    .setIsSolved(NullableBoolean.newBuilder().setData(false))
+                    .build());
+            fail("Expected INVALID_ARGUMENT");
+        } catch (StatusRuntimeException exception) {
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.gulay.helpdesk.http;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.google.protobuf.util.JsonFormat;
+import io.gulay.helpdesk.RestConfiguration;
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.http.util.ContentCoding;
+import io.gulay.helpdesk.protoGen.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class ResponseCompressionIntegrationTests extends TestBase {
+    private static final int ROWS = 30;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private IssueRequestModel firstIssueRequest;
+
+    @Before
+    public void setup() {
+        this.webClient = this.webClientBuilder
+                .baseUrl(RestConfiguration.LOCALHOST + port)
+                .build();
+
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+
+        val requester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("compression_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+
+        for (int i = 0; i < ROWS; i++) {
+            val request = issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .isSolved(false)
+                    .requester(requester)
+                    .body("The VPN client disconnects every few minutes on the third floor, ticket " + i)
+                    .build());
+            if (i == 0) {
+                firstIssueRequest = request;
+            }
+        }
+    }
+
+    private ResponseEntity<byte[]> get(String uri, MediaType accept, String acceptEncoding) {
+        return webClient.get()
+                .uri(uri)
+                .accept(accept)
+                .headers(headers -> {
+                    if (acceptEncoding != null) {
+                        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+                    }
+                })
+                .retrieve()
+                .toEntity(byte[].class)
+                .block();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static PagedData parseJson(byte[] body) throws IOException {
+        val builder = PagedData.newBuilder();
+        JsonFormat.parser().merge(new String(body, StandardCharsets.UTF_8), builder);
+
+        return builder.build();
+    }
+
+    @Test
+    public void large_json_page_is_gzipped_and_counted_test() throws IOException {
+        val response = get("/api/v1/issue-requests?pageSize=" + ROWS, MediaType.APPLICATION_JSON, "gzip");
+
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+
+        val json = gunzip(response.getBody());
+        assertTrue(json.length > response.getBody().length);
+        assertEquals(ROWS, parseJson(json).getIssueRequests().getIssueRequestsCount());
+
+        val saved = meterRegistry.find("helpdesk.http.compression.saved.bytes")
+                .tags("endpoint", "rest", "encoding", "gzip")
+                .counter();
+        assertNotNull(saved);
+        assertTrue(saved.count() > 0);
+    }
+
+    @Test
+    public void zstd_is_negotiated_by_weight_for_binary_protobuf_test() throws IOException {
+        Assume.assumeTrue("zstd native library is not available", ContentCoding.ZSTD.isAvailable());
+
+        val response = get("/api/v1/issue-requests?pageSize=" + ROWS,
+                MediaType.parseMediaType("application/x-protobuf"), "gzip;q=0.5, zstd");
+
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+        assertEquals("zstd", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        try (ZstdInputStream in = new ZstdInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertEquals(ROWS, PagedData.parseFrom(in).getIssueRequests().getIssueRequestsCount());
+        }
+
+        val gzipOnly = get("/api/v1/issue-requests?pageSize=" + ROWS,
+                MediaType.parseMediaType("application/x-protobuf"), "zstd;q=0, gzip");
+
+        assertNotNull(gzipOnly);
+        assertEquals("gzip", gzipOnly.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void small_or_unnegotiated_responses_are_sent_unchanged_test() throws IOException {
+        val small = get("/api/v1/issue-requests/" + firstIssueRequest.getId(), MediaType.APPLICATION_JSON, "gzip");
+
+        assertNotNull(small);
+        assertNotNull(small.getBody());
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        val builder = IssueRequest.newBuilder();
+        JsonFormat.parser().merge(new String(small.getBody(), StandardCharsets.UTF_8), builder);
+        assertEquals(firstIssueRequest.getId().intValue(), builder.getId());
+
+        val plain = get("/api/v1/issue-requests?pageSize=" + ROWS, MediaType.APPLICATION_JSON, null);
+
+        assertNotNull(plain);
+        assertNotNull(plain.getBody());
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(ROWS, parseJson(plain.getBody()).getIssueRequests().getIssueRequestsCount());
+    }
+
+    @Test
+    public void mcp_event_stream_is_gzipped_test() throws IOException {
+        val initialize = postMcp(null, """
+                {
+                  "jsonrpc": "2.0",
+                  "id": 1,
+                  "method": "initialize",
+                  "params": {
+                    "protocolVersion": "2025-03-26",
+                    "capabilities": {},
+                    "clientInfo": { "name": "helpdesk-compression-test", "version": "1.0.0" }
+                  }
+                }
+                """);
+        val sessionId = initialize.getHeaders().getFirst("Mcp-Session-Id");
+        assertNotNull(sessionId);
+
+        postMcp(sessionId, """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "notifications/initialized",
+                  "params": {}
+                }
+                """);
+
+        val tools = postMcp(sessionId, """
+                {
+                  "jsonrpc": "2.0",
+                  "id": 2,
+                  "method": "tools/list",
+                  "params": {}
+                }
+                """);
+
+        assertNotNull(tools.getBody());
+        assertEquals("gzip", tools.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(new String(gunzip(tools.getBody()), StandardCharsets.UTF_8).contains("findIssueRequesterById"));
+
+        val saved = meterRegistry.find("helpdesk.http.compression.saved.bytes")
+                .tags("endpoint", "mcp", "encoding", "gzip")
+                .counter();
+        assertNotNull(saved);
+        assertTrue(saved.count() > 0);
+    }
+
+    private ResponseEntity<byte[]> postMcp(String sessionId, String payload) {
+        val response = webClient.post()
+                .uri("/mcp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                    if (sessionId != null) {
+                        headers.set("Mcp-Session-Id", sessionId);
+                    }
+                })
+                .bodyValue(payload)
+                .retrieve()
+                .toEntity(byte[].class)
+                .block();
+
+        assertNotNull(response);
+        assertTrue(List.of(200, 202).contains(response.getStatusCode().value()));
+
+        return response;
+    }
+}
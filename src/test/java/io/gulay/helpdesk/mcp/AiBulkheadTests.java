@@ -0,0 +1,68 @@
+package io.gulay.helpdesk.mcp;
+
+import io.gulay.helpdesk.mcp.client.AiBulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AiBulkheadTests {
+    private SimpleMeterRegistry meterRegistry;
+
+    private AiBulkhead bulkhead;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new AiBulkhead("test", 1, Duration.ofMillis(200), meterRegistry);
+    }
+
+    @Test
+    public void bulkhead_rejects_with_service_unavailable_when_saturated_test() throws InterruptedException {
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> bulkhead.execute(() -> {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1.0, meterRegistry.get("helpdesk.ai.bulkhead.in.flight").gauge().value(), 0.0);
+
+            try {
+                bulkhead.execute(() -> "never runs");
+                fail("Expected the saturated bulkhead to reject the call");
+            } catch (ResponseStatusException exception) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+            }
+
+            assertEquals(1.0, meterRegistry.get("helpdesk.ai.bulkhead.rejections").counter().count(), 0.0);
+            assertEquals(0.0, meterRegistry.get("helpdesk.ai.bulkhead.queue.depth").gauge().value(), 0.0);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals("ok", bulkhead.execute(() -> "ok"));
+        assertEquals(3, meterRegistry.get("helpdesk.ai.bulkhead.wait").timer().count());
+    }
+}
@@ -0,0 +1,136 @@
+package io.gulay.helpdesk.mcp;
+
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent;
+import io.gulay.helpdesk.data.event.IssueRequestsChangedEvent.Change;
+import io.gulay.helpdesk.mcp.client.AiResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AiResponseCacheTests {
+    private AiResponseCache responseCache;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        responseCache = newCache("");
+    }
+
+    @Test
+    public void identical_prompts_call_the_provider_once_test() {
+        val calls = new AtomicInteger();
+
+        val first = responseCache.getOrCompute("model", "system", "user",
+                () -> "answer " + calls.incrementAndGet());
+        val second = responseCache.getOrCompute("model", "system", "user",
+                () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void different_model_or_prompt_is_a_cache_miss_test() {
+        val calls = new AtomicInteger();
+
+        responseCache.getOrCompute("model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        responseCache.getOrCompute("other-model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        responseCache.getOrCompute("model", "system", "other user", () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void changed_ticket_state_drops_previous_responses_test() {
+        val calls = new AtomicInteger();
+
+        responseCache.getOrCompute(1, "state 1", "model", "system", "summarize",
+                () -> "summary " + calls.incrementAndGet());
+        responseCache.getOrCompute(1, "state 1", "model", "system", "classify",
+                () -> "priority " + calls.incrementAndGet());
+
+        // A new ticket state invalidates both answers cached for the previous one.
+        responseCache.getOrCompute(1, "state 2", "model", "system", "timeline",
+                () -> "timeline " + calls.incrementAndGet());
+        val summary = responseCache.getOrCompute(1, "state 2", "model", "system", "summarize",
+                () -> "summary " + calls.incrementAndGet());
+
+        assertEquals(4, calls.get());
+        assertEquals("summary 4", summary);
+    }
+
+    @Test
+    public void persisted_responses_survive_a_restart_test() throws IOException {
+        val file = folder.getRoot().toPath().resolve("ai-responses.bin").toString();
+        val calls = new AtomicInteger();
+
+        val first = newCache(file);
+        first.getOrCompute("model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        first.persist();
+
+        val reloaded = newCache(file);
+        val answer = reloaded.getOrCompute("model", "system", "user", () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+        assertEquals("answer 1", answer);
+    }
+
+    @Test
+    public void serialized_java_objects_in_the_file_are_ignored_test() throws IOException {
+        val path = folder.getRoot().toPath().resolve("ai-responses.ser");
+        try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(path))) {
+            output.writeObject(new HashMap<>());
+        }
+
+        val calls = new AtomicInteger();
+        newCache(path.toString())
+                .getOrCompute("model", "system", "user", () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void evict_ticket_drops_its_responses_test() {
+        val calls = new AtomicInteger();
+
+        responseCache.getOrCompute(2, "state", "model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        responseCache.evictTicket(2);
+        responseCache.getOrCompute(2, "state", "model", "system", "user", () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void write_with_unknown_ids_drops_only_ticket_responses_test() {
+        val calls = new AtomicInteger();
+
+        responseCache.getOrCompute(3, "state", "model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        responseCache.getOrCompute("model", "system", "free", () -> "answer " + calls.incrementAndGet());
+        responseCache.onIssueRequestsChanged(IssueRequestsChangedEvent.unknownIds(Change.DELETED));
+        responseCache.getOrCompute(3, "state", "model", "system", "user", () -> "answer " + calls.incrementAndGet());
+        responseCache.getOrCompute("model", "system", "free", () -> "answer " + calls.incrementAndGet());
+
+        assertEquals(3, calls.get());
+    }
+
+    // An empty persistence file keeps the cache in memory only.
+    private static AiResponseCache newCache(String file) {
+        return new AiResponseCache(true, 100, Duration.ofHours(1), file,
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+}
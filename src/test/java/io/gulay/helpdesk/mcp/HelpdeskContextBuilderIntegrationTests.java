@@ -0,0 +1,256 @@
+package io.gulay.helpdesk.mcp;
+
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.config.CacheConfiguration;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.mcp.prompt.HelpdeskPromptService;
+import io.gulay.helpdesk.mcp.prompt.TicketContextAssembler;
+import io.gulay.helpdesk.mcp.prompt.TokenEstimator;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskContextBuilder;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskTicketContext;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class HelpdeskContextBuilderIntegrationTests extends TestBase {
+    @Autowired
+    private HelpdeskContextBuilder contextBuilder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static IssueRequesterModel newIssueRequester;
+
+    private static IssueRequestModel newIssueRequest;
+
+    public void insertNewIssueRequester() {
+        newIssueRequester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("test1_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+    }
+
+    public void insertNewIssueRequest() {
+        newIssueRequest = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Body Text 1")
+                .build());
+    }
+
+    public void insertNewIssueResponse(String body) {
+        issueResponseService.save(IssueResponseModel
+                .builder()
+                .requester(newIssueRequester)
+                .request(newIssueRequest)
+                .body(body)
+                .build());
+    }
+
+    @Before
+    public void setup() {
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+    }
+
+    @Test
+    public void build_ticket_context_in_single_statement_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        insertNewIssueResponse("Response body 1");
+        insertNewIssueResponse("Response body 2");
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        val context = contextBuilder.buildTicketContext(newIssueRequest.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(newIssueRequest.getId(), context.request().id());
+        assertEquals(newIssueRequester.getId(), context.request().requesterId());
+        assertEquals(newIssueRequester.getEmail(), context.requester().email());
+        assertEquals(2, context.responses().size());
+        assertEquals("Response body 1", context.responses().iterator().next().responseBody());
+    }
+
+    @Test
+    public void build_ticket_context_without_responses_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+
+        val context = contextBuilder.buildTicketContext(newIssueRequest.getId());
+
+        assertEquals(newIssueRequest.getId(), context.request().id());
+        assertTrue(context.responses().isEmpty());
+    }
+
+    @Test
+    public void ticket_context_is_cached_until_a_response_is_written_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        insertNewIssueResponse("Response body 1");
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        val first = contextBuilder.buildTicketContext(newIssueRequest.getId());
+        statistics.clear();
+
+        assertSame(first, contextBuilder.buildTicketContext(newIssueRequest.getId()));
+        assertSame(first.toPromptText(), contextBuilder.buildTicketContext(newIssueRequest.getId()).toPromptText());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        insertNewIssueResponse("Response body 2");
+
+        val refreshed = contextBuilder.buildTicketContext(newIssueRequest.getId());
+
+        assertNotSame(first, refreshed);
+        assertEquals(2, refreshed.responses().size());
+        assertTrue(refreshed.toPromptText().contains("Response body 2"));
+    }
+
+    @Test
+    public void moving_a_response_evicts_both_ticket_contexts_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        val response = issueResponseService.save(IssueResponseModel
+                .builder()
+                .requester(newIssueRequester)
+                .request(newIssueRequest)
+                .body("Response body 1")
+                .build());
+        val firstRequest = newIssueRequest;
+        insertNewIssueRequest();
+
+        assertEquals(1, contextBuilder.buildTicketContext(firstRequest.getId()).responses().size());
+        assertTrue(contextBuilder.buildTicketContext(newIssueRequest.getId()).responses().isEmpty());
+
+        issueResponseService.save(IssueResponseModel
+                .builder()
+                .id(response.getId())
+                .version(response.getVersion())
+                .requester(newIssueRequester)
+                .request(newIssueRequest)
+                .body("Response body 1")
+                .build());
+
+        assertTrue(contextBuilder.buildTicketContext(firstRequest.getId()).responses().isEmpty());
+        assertEquals(1, contextBuilder.buildTicketContext(newIssueRequest.getId()).responses().size());
+    }
+
+    @Test
+    public void build_ticket_contexts_in_single_statement_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        insertNewIssueResponse("Response body 1");
+        val firstRequest = newIssueRequest;
+        insertNewIssueRequest();
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        val contexts = contextBuilder.buildTicketContexts(List.of(firstRequest.getId(), newIssueRequest.getId(), -1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, contexts.size());
+        assertFalse(contexts.containsKey(-1));
+        assertEquals(1, contexts.get(firstRequest.getId()).responses().size());
+        assertTrue(contexts.get(newIssueRequest.getId()).responses().isEmpty());
+
+        // Both contexts are now cached, so the single-ticket lookup and a repeated batch skip the database.
+        statistics.clear();
+
+        assertSame(contexts.get(firstRequest.getId()), contextBuilder.buildTicketContext(firstRequest.getId()));
+        contextBuilder.buildTicketContexts(List.of(firstRequest.getId(), newIssueRequest.getId()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void ticket_context_keeps_the_newest_responses_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        for (int i = 1; i <= 105; i++) {
+            insertNewIssueResponse("Response body " + i);
+        }
+
+        val single = contextBuilder.buildTicketContext(newIssueRequest.getId());
+        cacheManager.getCache(CacheConfiguration.TICKET_CONTEXTS).evict(newIssueRequest.getId());
+        val batch = contextBuilder.buildTicketContexts(List.of(newIssueRequest.getId())).get(newIssueRequest.getId());
+
+        for (val context : List.of(single, batch)) {
+            val bodies = context.responses().stream().map(HelpdeskTicketContext.TicketResponse::responseBody).toList();
+            assertEquals(100, bodies.size());
+            assertEquals("Response body 6", bodies.get(0));
+            assertEquals("Response body 105", bodies.get(99));
+        }
+    }
+
+    @Test
+    public void long_thread_is_cut_to_the_tool_budget_test() {
+        insertNewIssueRequester();
+        newIssueRequest = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(newIssueRequester)
+                .body("Outlook keeps asking for the mailbox password after the certificate renewal")
+                .build());
+
+        insertNewIssueResponse("Checked the mailbox: the certificate renewal left a stale password prompt in Outlook");
+        for (int i = 1; i <= 40; i++) {
+            insertNewIssueResponse("Status update " + i + ". " + "Still waiting on the vendor. ".repeat(10));
+        }
+        insertNewIssueResponse("Latest update: the vendor shipped a fix");
+
+        val context = contextBuilder.buildTicketContext(newIssueRequest.getId());
+        val environment = new MockEnvironment()
+                .withProperty("helpdesk.ai.prompt.context-tokens.timeline", "100000");
+        val promptService = new HelpdeskPromptService(800, 1000, environment);
+
+        val summary = promptService.summarizePrompt(context);
+        assertTrue(TokenEstimator.estimate(summary) < 1100);
+        assertTrue(summary.contains("Latest update: the vendor shipped a fix"));
+        assertTrue(summary.contains("stale password prompt"));
+        assertTrue(summary.contains("responses omitted to fit the prompt budget"));
+        assertTrue(summary.contains("Outlook keeps asking for the mailbox password"));
+
+        // The timeline budget is raised for this tool only, so its prompt carries the whole thread unchanged.
+        assertTrue(promptService.timelinePrompt(context).contains(context.toPromptText()));
+    }
+
+    @Test
+    public void short_ticket_prompt_is_unchanged_by_the_budget_test() {
+        insertNewIssueRequester();
+        insertNewIssueRequest();
+        insertNewIssueResponse("Response body 1");
+
+        val context = contextBuilder.buildTicketContext(newIssueRequest.getId());
+        val promptService = new HelpdeskPromptService(800, 1000, new MockEnvironment());
+
+        assertTrue(promptService.summarizePrompt(context).contains(context.toPromptText()));
+        assertEquals(context.toPromptText(), TicketContextAssembler.render(context, 1000));
+    }
+
+    @Test(expected = ResponseStatusException.class)
+    public void build_ticket_context_with_exception_test() {
+        contextBuilder.buildTicketContext(-1);
+    }
+}
\ No newline at end of file
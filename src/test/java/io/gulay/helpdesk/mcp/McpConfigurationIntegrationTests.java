@@ -55,6 +55,8 @@ public class McpConfigurationIntegrationTests extends TestBase {
         assertTrue(toolNames.contains("findIssueRequesterById"));
         assertTrue(toolNames.contains("findIssueRequestById"));
         assertTrue(toolNames.contains("findIssueResponseById"));
+        assertTrue(toolNames.contains("searchTickets"));
+        assertTrue(toolNames.contains("lookupIssueRequesters"));
 
         assertFalse(toolNames.contains("saveIssueRequester"));
         assertFalse(toolNames.contains("hardDeleteIssueRequester"));
@@ -63,6 +65,11 @@ public class McpConfigurationIntegrationTests extends TestBase {
         assertFalse(toolNames.contains("hardDeleteIssueRequest"));
         assertFalse(toolNames.contains("saveIssueResponse"));
         assertFalse(toolNames.contains("hardDeleteIssueResponse"));
+        assertFalse(toolNames.contains("saveIssueRequesters"));
+        assertFalse(toolNames.contains("saveIssueRequests"));
+        assertFalse(toolNames.contains("saveIssueResponses"));
+        assertFalse(toolNames.contains("solveIssueRequests"));
+        assertFalse(toolNames.contains("hardDeleteIssueRequests"));
     }
 
     @Test
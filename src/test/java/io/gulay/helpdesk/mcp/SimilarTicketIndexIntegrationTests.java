@@ -0,0 +1,265 @@
+package io.gulay.helpdesk.mcp;
+
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.data.model.IssueResponseModel;
+import io.gulay.helpdesk.data.service.BulkWriteService;
+import io.gulay.helpdesk.mcp.prompt.HelpdeskPromptService;
+import io.gulay.helpdesk.mcp.similar.HnswIndex;
+import io.gulay.helpdesk.mcp.similar.SimilarTicket;
+import io.gulay.helpdesk.mcp.similar.SimilarTicketIndex;
+import io.gulay.helpdesk.mcp.tools.assistant.HelpdeskContextBuilder;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class SimilarTicketIndexIntegrationTests extends TestBase {
+    @Autowired
+    private SimilarTicketIndex similarTicketIndex;
+
+    @Autowired
+    private HelpdeskContextBuilder contextBuilder;
+
+    @Autowired
+    private HelpdeskPromptService promptService;
+
+    @Autowired
+    private BulkWriteService bulkWriteService;
+
+    private IssueRequesterModel requester;
+
+    @Before
+    public void setup() {
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+
+        requester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("similar_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+    }
+
+    private IssueRequestModel insertTicket(String body, String response, boolean solved) {
+        val request = issueRequestService.save(IssueRequestModel
+                .builder()
+                .isSolved(false)
+                .requester(requester)
+                .body(body)
+                .build());
+
+        if (response != null) {
+            issueResponseService.save(IssueResponseModel
+                    .builder()
+                    .requester(requester)
+                    .request(request)
+                    .body(response)
+                    .build());
+        }
+
+        return solved ? issueRequestService.solveIssue(request.getId()) : request;
+    }
+
+    @Test
+    public void solved_ticket_with_the_same_issue_is_retrieved_test() {
+        val vpn = insertTicket("The VPN client disconnects every few minutes when working from home",
+                "Reinstalled the VPN client and reset the tunnel profile; the connection is stable now", true);
+        val printer = insertTicket("The printer on the second floor jams on every print job",
+                "Replaced the worn pickup roller", true);
+        val password = insertTicket("The password reset email never arrives",
+                "The address was on the spam filter's block list; removed it", true);
+        val unsolved = insertTicket("The VPN client disconnects every few minutes in the office", null, false);
+        val current = insertTicket("My VPN client disconnects every few minutes", null, false);
+
+        similarTicketIndex.sync();
+        assertTrue(similarTicketIndex.size() >= 3);
+
+        val hits = similarTicketIndex.findSimilar(contextBuilder.buildTicketContext(current.getId()));
+        // Only this test's tickets: the sync pruned those of earlier tests, deleted by setup().
+        val liveHits = hits.stream()
+                .filter(hit -> List.of(vpn.getId(), printer.getId(), password.getId()).contains(hit.label()))
+                .toList();
+
+        assertFalse(liveHits.isEmpty());
+        assertEquals(vpn.getId().intValue(), liveHits.get(0).label());
+        assertTrue(hits.stream().noneMatch(hit -> hit.label() == current.getId()));
+        assertTrue(hits.stream().noneMatch(hit -> hit.label() == unsolved.getId()));
+
+        val prompt = promptService.suggestResponsePrompt(contextBuilder.buildTicketContext(current.getId()),
+                List.of(new SimilarTicket(contextBuilder.buildTicketContext(vpn.getId()), liveHits.get(0).score())));
+
+        assertTrue(prompt.contains("Reinstalled the VPN client and reset the tunnel profile"));
+        assertTrue(prompt.contains("Ticket " + vpn.getId()));
+    }
+
+    @Test
+    public void response_added_after_solve_changes_the_hit_test() {
+        val laptop = insertTicket("The laptop fan is loud", null, true);
+        insertTicket("The password reset email never arrives", "Removed the address from the block list", true);
+        val current = insertTicket("The laptop fan is loud: replaced the thermal paste and cleaned the heatsink",
+                null, false);
+
+        similarTicketIndex.sync();
+        val before = scoreOf(laptop.getId(), current.getId());
+
+        // The resolution arrives after the solve, as a response on the solved ticket.
+        issueResponseService.save(IssueResponseModel
+                .builder()
+                .requester(requester)
+                .request(laptop)
+                .body("Replaced the thermal paste and cleaned the heatsink")
+                .build());
+
+        assertEquals(1, similarTicketIndex.sync());
+
+        val after = scoreOf(laptop.getId(), current.getId());
+        assertTrue("score went from " + before + " to " + after, after > before);
+    }
+
+    // The score of the given solved ticket as a hit for the current one, or 0 when it is not a hit.
+    private float scoreOf(Integer solvedId, Integer currentId) {
+        return similarTicketIndex.findSimilar(contextBuilder.buildTicketContext(currentId))
+                .stream()
+                .filter(hit -> hit.label() == solvedId)
+                .map(HnswIndex.Hit::score)
+                .findFirst()
+                .orElse(0f);
+    }
+
+    @Test
+    public void deleted_and_reopened_tickets_leave_the_index_test() {
+        val deleted = insertTicket("The VPN client disconnects every few minutes", "Reset the tunnel profile", true);
+        val reopened = insertTicket("The printer jams on every print job", "Replaced the pickup roller", true);
+        insertTicket("The password reset email never arrives", "Removed the address from the block list", true);
+
+        similarTicketIndex.sync();
+        assertEquals(3, similarTicketIndex.size());
+
+        issueRequestService.hardDelete(deleted.getId());
+        issueRequestService.save(IssueRequestModel
+                .builder()
+                .id(reopened.getId())
+                .version(reopened.getVersion())
+                .isSolved(false)
+                .requester(requester)
+                .body(reopened.getBody())
+                .build());
+
+        assertEquals(1, similarTicketIndex.size());
+
+        // A delete by filter names no tickets; the next sync looks the indexed ones up.
+        val tomorrow = new Date(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
+        bulkWriteService.deleteIssueRequests(null, tomorrow, true, false);
+        similarTicketIndex.sync();
+
+        assertEquals(0, similarTicketIndex.size());
+    }
+
+    @Test
+    public void similar_tickets_are_cut_to_the_prompt_budget_test() {
+        val vpn = insertTicket("The VPN client disconnects every few minutes",
+                "Reset the tunnel profile. ".repeat(200), true);
+        val current = insertTicket("My VPN client disconnects every few minutes", null, false);
+        val context = contextBuilder.buildTicketContext(current.getId());
+        val similar = List.of(new SimilarTicket(contextBuilder.buildTicketContext(vpn.getId()), 0.9f));
+
+        val budgeted = new HelpdeskPromptService(100, 3000, new MockEnvironment())
+                .suggestResponsePrompt(context, similar);
+        val unlimited = new HelpdeskPromptService(100_000, 3000, new MockEnvironment())
+                .suggestResponsePrompt(context, similar);
+
+        assertTrue(budgeted.contains("[...]"));
+        assertTrue(budgeted.length() < unlimited.length());
+        assertEquals(promptService.suggestResponsePrompt(context),
+                new HelpdeskPromptService(100, 3000, new MockEnvironment()).suggestResponsePrompt(context, List.of()));
+    }
+
+    @Test
+    public void hnsw_search_matches_exact_search_test() throws IOException {
+        val random = new Random(7);
+        val dimensions = 64;
+        val vectors = IntStream.range(0, 2000)
+                .mapToObj(i -> randomVector(random, dimensions))
+                .toList();
+
+        val index = new HnswIndex(dimensions, 16, 200);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add(i, vectors.get(i));
+        }
+
+        int found = 0;
+        val queries = 50;
+        val k = 10;
+        for (int q = 0; q < queries; q++) {
+            val query = randomVector(random, dimensions);
+            val exact = IntStream.range(0, vectors.size())
+                    .boxed()
+                    .sorted(Comparator.comparingDouble((Integer i) -> -cosine(query, vectors.get(i))))
+                    .limit(k)
+                    .toList();
+
+            for (val hit : index.search(query, k, 64)) {
+                if (exact.contains(hit.label())) {
+                    found++;
+                }
+            }
+        }
+
+        assertTrue("recall@10 was " + (double) found / (queries * k), found >= 0.9 * queries * k);
+
+        // A removed label is never returned, and the graph survives a write/read round trip.
+        val query = vectors.get(123);
+        assertEquals(123, index.search(query, 1, 64).get(0).label());
+        index.remove(123);
+        assertNotEquals(123, index.search(query, 1, 64).get(0).label());
+
+        val bytes = new ByteArrayOutputStream();
+        index.write(new DataOutputStream(bytes));
+        val reloaded = HnswIndex.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(index.size(), reloaded.size());
+        assertEquals(index.search(vectors.get(7), k, 64), reloaded.search(vectors.get(7), k, 64));
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        val vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+
+        return vector;
+    }
+
+    private static double cosine(float[] left, float[] right) {
+        double dot = 0;
+        double leftNorm = 0;
+        double rightNorm = 0;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+            leftNorm += left[i] * left[i];
+            rightNorm += right[i] * right[i];
+        }
+
+        return dot / Math.sqrt(leftNorm * rightNorm);
+    }
+}
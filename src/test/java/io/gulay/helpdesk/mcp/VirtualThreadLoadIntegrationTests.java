@@ -0,0 +1,180 @@
+package io.gulay.helpdesk.mcp;
+
+import io.gulay.helpdesk.TestBase;
+import io.gulay.helpdesk.data.model.IssueRequestModel;
+import io.gulay.helpdesk.data.model.IssueRequesterModel;
+import io.gulay.helpdesk.mcp.client.AiService;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+// With virtual threads, a Tomcat pool and a connection pool both far smaller than the number of in-flight AI calls
+// must not delay CRUD requests: a waiting tool call holds neither a worker nor a JDBC connection.
+@Import(VirtualThreadLoadIntegrationTests.SlowAiConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=4",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+public class VirtualThreadLoadIntegrationTests extends TestBase {
+    private static final long SLOW_CALL_MILLIS = 3000;
+    private static final int CONCURRENT_AI_CALLS = 16;
+
+    private IssueRequesterModel newIssueRequester;
+
+    @TestConfiguration
+    static class SlowAiConfiguration {
+        @Bean
+        @Primary
+        AiService slowAiService() {
+            return (systemPrompt, userPrompt) -> {
+                try {
+                    Thread.sleep(SLOW_CALL_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow answer";
+            };
+        }
+    }
+
+    @Before
+    public void setup() {
+        issueRequestService.hardDeleteAll();
+        issueRequesterService.hardDeleteAll();
+
+        newIssueRequester = issueRequesterService.save(IssueRequesterModel
+                .builder()
+                .fullName("load_test_full_name")
+                .isActive(true)
+                .email(UUID.randomUUID().toString().concat("@email.com"))
+                .build());
+    }
+
+    @Test
+    public void crud_latency_stays_flat_while_ai_calls_are_in_flight_test() throws InterruptedException {
+        val requestIds = new ArrayList<Integer>();
+        for (int i = 0; i < CONCURRENT_AI_CALLS; i++) {
+            requestIds.add(issueRequestService.save(IssueRequestModel
+                    .builder()
+                    .isSolved(false)
+                    .requester(newIssueRequester)
+                    .body("Load test body " + i)
+                    .build()).getId());
+        }
+
+        val sessionId = initializeMcpSession();
+        val baseline = maxCrudLatencyMillis();
+
+        val aiCalls = new ArrayList<Mono<String>>();
+        for (int i = 0; i < requestIds.size(); i++) {
+            aiCalls.add(postMcp(sessionId, """
+                    {
+                      "jsonrpc": "2.0",
+                      "id": %d,
+                      "method": "tools/call",
+                      "params": {
+                        "name": "summarizeIssueRequest",
+                        "arguments": { "requestId": %d }
+                      }
+                    }
+                    """.formatted(100 + i, requestIds.get(i))).cache());
+        }
+        aiCalls.forEach(Mono::subscribe);
+
+        // Let every AI call reach the (sleeping) provider before measuring.
+        Thread.sleep(SLOW_CALL_MILLIS / 3);
+        val underLoad = maxCrudLatencyMillis();
+
+        val answers = Mono.zip(aiCalls, results -> results.length).block(Duration.ofMillis(SLOW_CALL_MILLIS * 4));
+
+        assertNotNull(answers);
+        assertEquals(CONCURRENT_AI_CALLS, answers.intValue());
+        assertTrue("CRUD latency under load was " + underLoad + "ms (baseline " + baseline + "ms)",
+                underLoad < baseline + SLOW_CALL_MILLIS / 3);
+    }
+
+    private long maxCrudLatencyMillis() {
+        long max = 0;
+        for (int i = 0; i < 10; i++) {
+            val started = System.nanoTime();
+            val status = webClientBuilder.baseUrl("http://localhost:" + port)
+                    .build()
+                    .get()
+                    .uri("/api/v1/issue-requesters?page=0&size=10")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                    .block();
+
+            assertNotNull(status);
+            assertEquals(200, status.intValue());
+            max = Math.max(max, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        }
+
+        return max;
+    }
+
+    private String initializeMcpSession() {
+        val sessionId = webClientBuilder.baseUrl("http://localhost:" + port)
+                .build()
+                .post()
+                .uri("/mcp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+                .bodyValue("""
+                        {
+                          "jsonrpc": "2.0",
+                          "id": 1,
+                          "method": "initialize",
+                          "params": {
+                            "protocolVersion": "2025-03-26",
+                            "capabilities": {},
+                            "clientInfo": { "name": "helpdesk-load-test", "version": "1.0.0" }
+                          }
+                        }
+                        """)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.headers().asHttpHeaders().getFirst("Mcp-Session-Id")))
+                .block();
+
+        assertNotNull(sessionId);
+        postMcp(sessionId, """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "notifications/initialized",
+                  "params": {}
+                }
+                """).block();
+
+        return sessionId;
+    }
+
+    private Mono<String> postMcp(String sessionId, String payload) {
+        return webClientBuilder.baseUrl("http://localhost:" + port)
+                .build()
+                .post()
+                .uri("/mcp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+                .header("Mcp-Session-Id", sessionId)
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(String.class)
+                .defaultIfEmpty("");
+    }
+}